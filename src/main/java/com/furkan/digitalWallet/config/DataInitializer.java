@@ -4,6 +4,7 @@ import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Wallet;
 import com.furkan.digitalWallet.enums.Currency;
 import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.money.Money;
 import com.furkan.digitalWallet.repository.CustomerRepository;
 import com.furkan.digitalWallet.repository.WalletRepository;
 import jakarta.annotation.PostConstruct;
@@ -12,7 +13,6 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @ConditionalOnProperty("data.init")
@@ -25,6 +25,10 @@ public class DataInitializer {
 
     @PostConstruct
     public void init() {
+        // Kalıcı veritabanında örnek veri yalnızca ilk açılışta eklenir
+        if (customerRepository.count() > 0) {
+            return;
+        }
         Customer employee = new Customer();
         employee.setName("Ayşe");
         employee.setSurname("Yılmaz");
@@ -80,8 +84,8 @@ public class DataInitializer {
         tryWallet4.setCurrency(Currency.TRY);
         tryWallet4.setActiveForShopping(true);
         tryWallet4.setActiveForWithdraw(true);
-        tryWallet4.setBalance(new BigDecimal("5000.00"));
-        tryWallet4.setUsableBalance(new BigDecimal("5000.00"));
+        tryWallet4.setBalance(Money.ofMajor(5000));
+        tryWallet4.setUsableBalance(Money.ofMajor(5000));
         tryWallet4.setCreatedAt(LocalDateTime.now());
         walletRepository.save(tryWallet4);
 
@@ -94,8 +98,8 @@ public class DataInitializer {
         tryWallet.setCurrency(Currency.TRY);
         tryWallet.setActiveForShopping(true);
         tryWallet.setActiveForWithdraw(true);
-        tryWallet.setBalance(new BigDecimal("10000.00"));
-        tryWallet.setUsableBalance(new BigDecimal("10000.00"));
+        tryWallet.setBalance(Money.ofMajor(10000));
+        tryWallet.setUsableBalance(Money.ofMajor(10000));
         tryWallet.setCreatedAt(LocalDateTime.now());
         walletRepository.save(tryWallet);
 
@@ -105,8 +109,8 @@ public class DataInitializer {
         usdWallet.setCurrency(Currency.USD);
         usdWallet.setActiveForShopping(true);
         usdWallet.setActiveForWithdraw(true);
-        usdWallet.setBalance(new BigDecimal("1000.00"));
-        usdWallet.setUsableBalance(new BigDecimal("1000.00"));
+        usdWallet.setBalance(Money.ofMajor(1000));
+        usdWallet.setUsableBalance(Money.ofMajor(1000));
         usdWallet.setCreatedAt(LocalDateTime.now());
         walletRepository.save(usdWallet);
 
@@ -116,8 +120,8 @@ public class DataInitializer {
         eurWallet.setCurrency(Currency.EUR);
         eurWallet.setActiveForShopping(true);
         eurWallet.setActiveForWithdraw(true);
-        eurWallet.setBalance(new BigDecimal("800.00"));
-        eurWallet.setUsableBalance(new BigDecimal("800.00"));
+        eurWallet.setBalance(Money.ofMajor(800));
+        eurWallet.setUsableBalance(Money.ofMajor(800));
         eurWallet.setCreatedAt(LocalDateTime.now());
         walletRepository.save(eurWallet);
     }
@@ -0,0 +1,32 @@
+package com.furkan.digitalWallet.config;
+
+import com.furkan.digitalWallet.journal.TransactionJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Value("${journal.directory:./data/journal}")
+    private String directory;
+
+    @Value("${journal.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${journal.fsync-interval-ms:2}")
+    private long fsyncIntervalMs;
+
+    @Value("${journal.sync-wait:true}")
+    private boolean syncWait;
+
+    @Bean(destroyMethod = "close")
+    public TransactionJournal transactionJournal() throws IOException {
+        return new TransactionJournal(Path.of(directory), segmentSize, fsyncIntervalMs, syncWait);
+    }
+}
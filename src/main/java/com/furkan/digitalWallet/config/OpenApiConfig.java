@@ -1,10 +1,12 @@
 package com.furkan.digitalWallet.config;
 
+import com.furkan.digitalWallet.security.CustomerPrincipal;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +15,11 @@ public class OpenApiConfig {
 
     public static final String SECURITY_SCHEME_NAME = "bearerAuth";
 
+    static {
+        // Controller'lara SecurityContext'ten verilir, istek parametresi değildir
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(CustomerPrincipal.class);
+    }
+
     @Bean
     public OpenAPI walletOpenAPI() {
         return new OpenAPI()
@@ -0,0 +1,25 @@
+package com.furkan.digitalWallet.config;
+
+import com.furkan.digitalWallet.diagnostics.QueryCountingInspector;
+import com.furkan.digitalWallet.diagnostics.QueryTimingListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL sayımı ve süre ölçümü için Hibernate'e statement inspector ve session olay dinleyicisi ekler.
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.query-guard.enabled", havingValue = "true")
+public class QueryGuardConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryGuardHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+        };
+    }
+}
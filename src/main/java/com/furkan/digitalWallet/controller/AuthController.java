@@ -1,34 +1,50 @@
 package com.furkan.digitalWallet.controller;
 
 import com.furkan.digitalWallet.request.AuthRequest;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.security.CustomerPrincipalCache;
 import com.furkan.digitalWallet.security.JwtService;
-import com.furkan.digitalWallet.entity.Customer;
-import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.furkan.digitalWallet.security.LoginService;
+import com.furkan.digitalWallet.security.TokenRevocationRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
     private final JwtService jwtService;
-    private final CustomerRepository customerRepository;
+    private final CustomerPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocations;
 
+    /**
+     * Şifre doğrulaması login havuzunda yapılır; bu sırada Tomcat worker'ı serbest kalır.
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        Customer c = customerRepository.findByUsername(request.getUsername()).orElseThrow();
-        String token = jwtService.generateToken(c.getUsername(), c.getRole().name());
-        return ResponseEntity.ok(Map.of("token", token, "role", c.getRole().name(), "username", c.getUsername()));
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody AuthRequest request) {
+        return loginService.authenticate(request.getUsername(), request.getPassword()).thenApply(principal -> {
+            // Yeni giriş, cache'teki eski rol/id bilgisini tazeler
+            principalCache.put(principal);
+            String token = jwtService.generateToken(principal, revocations.currentVersion(principal.id()));
+            return ResponseEntity.ok(Map.of("token", token, "role", principal.role().name(),
+                    "username", principal.username()));
+        });
+    }
+
+    /**
+     * Kullanıcının o ana kadar aldığı tüm token'ları iptal eder.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(CustomerPrincipal acting) {
+        revocations.revokeAll(acting.id());
+        principalCache.invalidate(acting.username());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,12 +1,21 @@
 package com.furkan.digitalWallet.controller;
 
-import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.PendingSort;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.request.BatchTransactionRequest;
+import com.furkan.digitalWallet.request.BulkDecisionRequest;
 import com.furkan.digitalWallet.request.DepositRequest;
 import com.furkan.digitalWallet.request.TransactionDecisionRequest;
 import com.furkan.digitalWallet.request.WithdrawRequest;
-import com.furkan.digitalWallet.security.SecurityUtil;
-import com.furkan.digitalWallet.service.CustomerService;
+import com.furkan.digitalWallet.response.BatchTransactionResponse;
+import com.furkan.digitalWallet.response.BulkDecisionResponse;
+import com.furkan.digitalWallet.response.TransactionPage;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.service.BulkDecisionService;
+import com.furkan.digitalWallet.service.IdempotencyService;
+import com.furkan.digitalWallet.service.LedgerOperations;
 import com.furkan.digitalWallet.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,33 +23,74 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+
 @RestController
 @RequestMapping("/transactions")
 @RequiredArgsConstructor
 public class TransactionController {
 
+    private final LedgerOperations ledgerOperations;
+    private final BulkDecisionService bulkDecisionService;
+    private final IdempotencyService idempotencyService;
     private final TransactionService transactionService;
-    private final CustomerService customerService;
 
     @PostMapping("/deposit")
-    public ResponseEntity<Transaction> deposit(@Valid @RequestBody DepositRequest req) {
-        Customer acting = customerService.getByUsername(SecurityUtil.currentUsername());
-        Transaction t = transactionService.deposit(req, acting);
+    public ResponseEntity<Transaction> deposit(@Valid @RequestBody DepositRequest req,
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false)
+                                               String idempotencyKey,
+                                               CustomerPrincipal acting) {
+        String requestHash = idempotencyKey == null ? null : IdempotencyService.requestHash(req.getWalletId(),
+                req.getAmount(), req.getOppositePartyType(), req.getSource());
+        Transaction t = idempotencyService.execute(acting.id(), idempotencyKey, TransactionType.DEPOSIT, requestHash,
+                reservationId -> ledgerOperations.deposit(req, acting, reservationId));
         return ResponseEntity.ok(t);
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<Transaction> withdraw(@Valid @RequestBody WithdrawRequest req) {
-        Customer acting = customerService.getByUsername(SecurityUtil.currentUsername());
-        Transaction t = transactionService.withdraw(req, acting);
+    public ResponseEntity<Transaction> withdraw(@Valid @RequestBody WithdrawRequest req,
+                                                @RequestHeader(value = IdempotencyService.HEADER, required = false)
+                                                String idempotencyKey,
+                                                CustomerPrincipal acting) {
+        String requestHash = idempotencyKey == null ? null : IdempotencyService.requestHash(req.getWalletId(),
+                req.getAmount(), req.getOppositePartyType(), req.getDestination());
+        Transaction t = idempotencyService.execute(acting.id(), idempotencyKey, TransactionType.WITHDRAW, requestHash,
+                reservationId -> ledgerOperations.withdraw(req, acting, reservationId));
         return ResponseEntity.ok(t);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponse> batch(@Valid @RequestBody BatchTransactionRequest req,
+                                                          CustomerPrincipal acting) {
+        return ResponseEntity.ok(BatchTransactionResponse.of(ledgerOperations.batch(req.getItems(), acting)));
+    }
+
     @PreAuthorize("hasRole('EMPLOYEE')")
     @PostMapping("/{transactionId}/decision")
     public ResponseEntity<Transaction> decide(@PathVariable Long transactionId,
                                               @Valid @RequestBody TransactionDecisionRequest req) {
-        Transaction t = transactionService.decide(transactionId, req);
+        Transaction t = ledgerOperations.decide(transactionId, req);
         return ResponseEntity.ok(t);
     }
+
+    /**
+     * Onay bekleyen işlemler; sort=AGE en eskiden, sort=AMOUNT en büyük tutardan başlar.
+     * Tutar filtresi ve sort=AMOUNT currency ister.
+     */
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @GetMapping("/pending")
+    public ResponseEntity<TransactionPage> pending(@RequestParam(required = false) Currency currency,
+                                                   @RequestParam(required = false) BigDecimal minAmount,
+                                                   @RequestParam(required = false) BigDecimal maxAmount,
+                                                   @RequestParam(defaultValue = "AGE") PendingSort sort,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(transactionService.listPending(currency, minAmount, maxAmount, sort, cursor, limit));
+    }
+
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @PostMapping("/decisions")
+    public ResponseEntity<BulkDecisionResponse> decideAll(@Valid @RequestBody BulkDecisionRequest req) {
+        return ResponseEntity.ok(bulkDecisionService.decide(req));
+    }
 }
@@ -1,20 +1,26 @@
 package com.furkan.digitalWallet.controller;
 
-import com.furkan.digitalWallet.entity.Customer;
-import com.furkan.digitalWallet.entity.Transaction;
 import com.furkan.digitalWallet.entity.Wallet;
 import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.ExportFormat;
 import com.furkan.digitalWallet.request.WalletCreateRequest;
-import com.furkan.digitalWallet.security.SecurityUtil;
-import com.furkan.digitalWallet.service.CustomerService;
+import com.furkan.digitalWallet.response.TransactionPage;
+import com.furkan.digitalWallet.response.WalletView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.service.TransactionExportService;
 import com.furkan.digitalWallet.service.TransactionService;
 import com.furkan.digitalWallet.service.WalletService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/wallets")
@@ -22,28 +28,59 @@ import java.util.List;
 public class WalletController {
 
     private final WalletService walletService;
-    private final CustomerService customerService;
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
 
     @PostMapping
-    public ResponseEntity<Wallet> create(@Valid @RequestBody WalletCreateRequest req) {
-        Customer acting = customerService.getByUsername(SecurityUtil.currentUsername());
+    public ResponseEntity<Wallet> create(@Valid @RequestBody WalletCreateRequest req, CustomerPrincipal acting) {
         Wallet w = walletService.createWallet(req, acting);
         return ResponseEntity.ok(w);
     }
 
     @GetMapping
-    public ResponseEntity<List<Wallet>> list(@RequestParam(required = false) Long customerId,
-                                             @RequestParam(required = false) Currency currency) {
-        Customer acting = customerService.getByUsername(SecurityUtil.currentUsername());
-        List<Wallet> wallets = walletService.listWallets(customerId, currency, acting);
+    public ResponseEntity<List<WalletView>> list(@RequestParam(required = false) Long customerId,
+                                             @RequestParam(required = false) Currency currency,
+                                             CustomerPrincipal acting) {
+        List<WalletView> wallets = walletService.listWallets(customerId, currency, acting);
         return ResponseEntity.ok(wallets);
     }
 
     @GetMapping("/{walletId}/transactions")
-    public ResponseEntity<List<Transaction>> listTransactions(@PathVariable Long walletId) {
-        Customer acting = customerService.getByUsername(SecurityUtil.currentUsername());
-        List<Transaction> txs = transactionService.listTransactions(walletId, acting);
-        return ResponseEntity.ok(txs);
+    public ResponseEntity<TransactionPage> listTransactions(@PathVariable Long walletId,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "50") int limit,
+                                                            CustomerPrincipal acting) {
+        TransactionPage page = transactionService.listTransactions(walletId, cursor, limit, acting);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Cüzdanın tüm geçmişini eskiden yeniye akış olarak döner; gzip=true ile sıkıştırılır.
+     */
+    @GetMapping("/{walletId}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable Long walletId,
+                                                                    @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip,
+                                                                    CustomerPrincipal acting) {
+        walletService.getWalletForAccess(walletId, acting);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                transactionExportService.export(walletId, format, gzipOut);
+                gzipOut.finish();
+            } else {
+                transactionExportService.export(walletId, format, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("wallet-" + walletId + "-transactions." + format.getExtension())
+                        .build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 }
@@ -0,0 +1,17 @@
+package com.furkan.digitalWallet.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Metodun açtığı read-only transaction'ı replica havuzuna yönlendirir (datasource.replica.enabled=true iken).
+ * Yalnızca gecikmeli veri görmesi kabul edilebilir geçmiş okumalarında kullanılır; bakiye kararı veren
+ * ya da az önce yazılanı okuması gereken akışlar primary'de kalmalıdır. Metot zaten açık bir transaction'a
+ * katılırsa o transaction'ın bağlantısını kullanır.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {
+}
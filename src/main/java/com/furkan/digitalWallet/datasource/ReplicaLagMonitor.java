@@ -0,0 +1,110 @@
+package com.furkan.digitalWallet.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replica gecikmesini heartbeat satırıyla ölçer: her aralıkta primary'ye o anın zamanı yazılır ve
+ * replica'dan okunur; gecikme okunan değerin yaşıdır. Gecikme maxStalenessMs'i aşarsa ya da replica
+ * okunamazsa replica kullanılmaz, bir sonraki başarılı ölçümde tekrar devreye girer.
+ * Ölçüm aralığı tolerans süresinden kısa tutulmalıdır.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    private static final String WRITE_BEAT = "MERGE INTO replica_heartbeat KEY (id) VALUES (1, ?)";
+    private static final String READ_BEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxStalenessMs;
+    private final long intervalMs;
+
+    private volatile boolean usable;
+    private volatile long lagMs = -1;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxStalenessMs, long intervalMs,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxStalenessMs = maxStalenessMs;
+        this.intervalMs = intervalMs;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagMs < 0 ? Double.NaN : m.lagMs)
+                .baseUnit("milliseconds")
+                .description("Replica'nın primary'nin gerisinde kaldığı süre")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Heartbeat tablosunu oluşturur, ilk ölçümü yapar ve periyodik ölçümü başlatır.
+     */
+    public void start() {
+        primary.execute(CREATE_TABLE);
+        check();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-lag-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::check, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public long lagMs() {
+        return lagMs;
+    }
+
+    /**
+     * Replica'dan bağlantı alınamadığında çağrılır; bir sonraki ölçüme kadar primary kullanılır.
+     */
+    public void markUnavailable() {
+        update(false, -1);
+    }
+
+    void check() {
+        try {
+            primary.update(WRITE_BEAT, System.currentTimeMillis());
+            Long beat = replica.queryForObject(READ_BEAT, Long.class);
+            long lag = beat == null ? -1 : Math.max(0, System.currentTimeMillis() - beat);
+            update(lag >= 0 && lag <= maxStalenessMs, lag);
+        } catch (DataAccessException e) {
+            if (usable) {
+                log.warn("Replica gecikmesi ölçülemedi: {}", e.getMessage());
+            }
+            update(false, -1);
+        }
+    }
+
+    private void update(boolean nowUsable, long lag) {
+        lagMs = lag;
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Replica okumaları açıldı, gecikme {} ms", lag);
+            } else {
+                log.warn("Replica okumaları primary'ye yönlendiriliyor, gecikme {} ms (tolerans {} ms)", lag, maxStalenessMs);
+            }
+            usable = nowUsable;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.furkan.digitalWallet.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ReadFromReplica} ile işaretli metotlar süresince bağlantıların replica'dan alınmasını ister.
+ * Transaction advice'ından önce çalışır, böylece transaction'ın ilk bağlantısı da yönlendirilir.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaReadAspect {
+
+    @Around("@annotation(com.furkan.digitalWallet.datasource.ReadFromReplica)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.exitReplicaRead(previous);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.furkan.digitalWallet.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Bağlantıları primary ya da replica havuzundan verir. Replica yalnızca {@link ReadFromReplica}
+ * kapsamında ve {@link ReplicaLagMonitor} gecikmeyi tolerans içinde gördüğünde kullanılır;
+ * replica gecikmeli ya da erişilemezse bağlantı primary'den alınır.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+    private final Counter replicaReads;
+    private final Counter primaryFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.replicaReads = meterRegistry.counter("datasource.replica.reads", "target", "replica");
+        this.primaryFallbacks = meterRegistry.counter("datasource.replica.reads", "target", "primary");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(username, password);
+    }
+
+    /**
+     * @return önceki durum; {@link #exitReplicaRead(boolean)} ile geri yüklenir
+     */
+    static boolean enterReplicaRead() {
+        boolean previous = Boolean.TRUE.equals(REPLICA_READ.get());
+        REPLICA_READ.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void exitReplicaRead(boolean previous) {
+        if (previous) {
+            REPLICA_READ.set(Boolean.TRUE);
+        } else {
+            REPLICA_READ.remove();
+        }
+    }
+
+    private Connection connect(String username, String password) throws SQLException {
+        if (!Boolean.TRUE.equals(REPLICA_READ.get())) {
+            return open(primary, username, password);
+        }
+        if (monitor.isUsable()) {
+            try {
+                Connection connection = open(replica, username, password);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica bağlantısı alınamadı, primary kullanılıyor: {}", e.getMessage());
+                monitor.markUnavailable();
+            }
+        }
+        primaryFallbacks.increment();
+        return open(primary, username, password);
+    }
+
+    private static Connection open(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+}
@@ -0,0 +1,15 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate'in hazırladığı her SQL'i açık {@link QueryStats} kapsamlarına yazar; SQL'i değiştirmez.
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats.prepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,72 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Her istek için bir {@link QueryStats} kapsamı açar ve istek bitince uç noktayı şu durumlarda loglar:
+ * SQL sayısı max-statements'ı aşarsa, aynı SELECT n-plus-one-threshold kez tekrarlanırsa (N+1) ya da
+ * bir ifade slow-query-ms'den uzun sürerse. Güvenlik filtrelerinin sorguları da sayılsın diye en önde çalışır.
+ * Ledger motoru partition thread'lerinde ve async export thread'lerinde çalışan sorgular isteğe yazılmaz.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "diagnostics.query-guard.enabled", havingValue = "true")
+public class QueryGuardFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryGuardFilter.class);
+
+    @Value("${diagnostics.query-guard.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${diagnostics.query-guard.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Value("${diagnostics.query-guard.slow-query-ms:200}")
+    private long slowQueryMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin(slowQueryMs);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.close();
+            report(endpointOf(request), stats);
+        }
+    }
+
+    void report(String endpoint, QueryStats stats) {
+        if (stats.statements() > maxStatements) {
+            log.warn("Sorgu sınırı aşıldı: {} {} SQL çalıştırdı (sınır {}, JDBC {} ms)",
+                    endpoint, stats.statements(), maxStatements, stats.jdbcMillis());
+        }
+        stats.repeatedSelects(nPlusOneThreshold).forEach((sql, count) ->
+                log.warn("N+1 şüphesi: {} aynı sorguyu {} kez çalıştırdı: {}", endpoint, count, sql));
+        for (QueryStats.SlowStatement s : stats.slowStatements()) {
+            log.warn("Yavaş sorgu: {} {} ms: {}", endpoint, s.millis(), s.sql());
+        }
+    }
+
+    /**
+     * Eşleşen controller şablonu (ör. /transactions/{id}/decision); eşleşme yoksa istek yolu.
+     */
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
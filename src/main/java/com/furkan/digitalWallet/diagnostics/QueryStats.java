@@ -0,0 +1,113 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Thread'e bağlı SQL sayacı. {@link #begin} ile açılan kapsam kapatılana kadar Hibernate'in hazırladığı
+ * her ifade {@link QueryCountingInspector} üzerinden sayılır ve çalışma süresi {@link QueryTimingListener}
+ * ile eklenir. Kapsamlar iç içe açılabilir; bir ifade açık olan tüm kapsamlara yazılır.
+ * Kapsam yokken çağrılar yalnızca bir ThreadLocal okumasıdır.
+ */
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private final long slowThresholdNanos;
+    private final Map<String, Integer> bySql = new HashMap<>();
+    private final List<SlowStatement> slow = new ArrayList<>();
+    private int statements;
+    private long jdbcNanos;
+    private String lastSql;
+
+    private QueryStats(QueryStats parent, long slowThresholdNanos) {
+        this.parent = parent;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    /**
+     * Yavaş sorgu kaydı tutmayan bir kapsam açar.
+     */
+    public static QueryStats begin() {
+        return begin(Long.MAX_VALUE);
+    }
+
+    public static QueryStats begin(long slowThresholdMs) {
+        long threshold = slowThresholdMs == Long.MAX_VALUE ? Long.MAX_VALUE : slowThresholdMs * 1_000_000;
+        QueryStats stats = new QueryStats(CURRENT.get(), threshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void prepared(String sql) {
+        for (QueryStats s = CURRENT.get(); s != null; s = s.parent) {
+            s.statements++;
+            s.bySql.merge(sql, 1, Integer::sum);
+            s.lastSql = sql;
+        }
+    }
+
+    static void executed(long nanos) {
+        for (QueryStats s = CURRENT.get(); s != null; s = s.parent) {
+            s.jdbcNanos += nanos;
+            if (nanos >= s.slowThresholdNanos) {
+                s.slow.add(new SlowStatement(s.lastSql, nanos / 1_000_000));
+            }
+        }
+    }
+
+    /**
+     * @return hazırlanan SQL ifadesi sayısı; JDBC batch'i tek ifade sayılır
+     */
+    public int statements() {
+        return statements;
+    }
+
+    /**
+     * @return SQL -> hazırlanma sayısı
+     */
+    public Map<String, Integer> statementsBySql() {
+        return Collections.unmodifiableMap(bySql);
+    }
+
+    public long jdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    /**
+     * Aynı SELECT'in en az threshold kez çalıştığı ifadeler; N+1 belirtisi.
+     *
+     * @return SQL -> çalışma sayısı, sayıya göre azalan sırada
+     */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        bySql.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .filter(e -> e.getKey().stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
+    public List<SlowStatement> slowStatements() {
+        return Collections.unmodifiableList(slow);
+    }
+
+    public record SlowStatement(String sql, long millis) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Session başına Hibernate tarafından oluşturulur (hibernate.session.events.auto); ifade ve batch
+ * çalışma sürelerini açık {@link QueryStats} kapsamlarına ekler. Session tek thread'de kullanıldığı için
+ * başlangıç zamanı alan olarak tutulur.
+ */
+public class QueryTimingListener extends BaseSessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats.executed(System.nanoTime() - started);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryStats.executed(System.nanoTime() - started);
+    }
+}
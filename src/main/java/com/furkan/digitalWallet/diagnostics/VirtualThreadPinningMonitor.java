@@ -0,0 +1,128 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sanal thread'lerin taşıyıcı thread'e sabitlendiği (pinning) anları JFR jdk.VirtualThreadPinned
+ * olaylarından izler. Her olay jvm.threads.virtual.pinned timer'ına yazılır ve uygulama kodundaki
+ * en üst çerçeveye göre gruplanır; bir nokta ilk kez görüldüğünde loglanır.
+ * Olay Java 21 ile geldiği için daha eski JVM'lerde izleme başlatılmaz.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-thread-pinning.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.furkan.digitalWallet.";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${diagnostics.virtual-thread-pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private Timer pinned;
+    private RecordingStream stream;
+
+    @PostConstruct
+    void start() {
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Sanal thread'in taşıyıcı thread'e sabitlendiği süreler")
+                .register(meterRegistry);
+        if (Runtime.version().feature() < 21) {
+            log.warn("Sanal thread pinning izlemesi Java 21 gerektirir, çalışan sürüm: {}", Runtime.version());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Sanal thread pinning izlemesi başladı, eşik {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * @return pinning noktaları, olay sayısına göre azalan sırada
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(e -> result.put(e.getKey(), e.getValue().sum()));
+        return result;
+    }
+
+    void record(String site, Duration duration) {
+        pinned.record(duration);
+        LongAdder count = sites.get(site);
+        if (count == null) {
+            LongAdder created = new LongAdder();
+            count = sites.putIfAbsent(site, created);
+            if (count == null) {
+                count = created;
+                log.warn("Sanal thread pinning: {} ({} ms)", site, duration.toMillis());
+            }
+        }
+        count.increment();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        record(siteOf(event.getStackTrace()), event.getDuration());
+    }
+
+    /**
+     * Uygulama paketindeki ilk çerçeve; yoksa JDK dışındaki ilk çerçeve, o da yoksa en üst çerçeve.
+     */
+    static String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "bilinmiyor";
+        }
+        RecordedFrame site = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                site = frame;
+                break;
+            }
+            if (site == null && !isJdk(type)) {
+                site = frame;
+            }
+        }
+        if (site == null) {
+            site = stackTrace.getFrames().get(0);
+        }
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
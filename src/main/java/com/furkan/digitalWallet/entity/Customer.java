@@ -3,7 +3,9 @@ package com.furkan.digitalWallet.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -16,7 +18,9 @@ import com.furkan.digitalWallet.enums.Role;
 @AllArgsConstructor
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq",
+            allocationSize = IdGeneration.DEFAULT_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -38,7 +42,16 @@ public class Customer {
     @Column(nullable = false)
     private Role role = Role.CUSTOMER;
 
+    /**
+     * Kabul edilen en düşük token versiyonu; TokenRevocationRegistry.revokeAll ile artar.
+     */
     @JsonIgnore
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Wallet> wallets;
 }
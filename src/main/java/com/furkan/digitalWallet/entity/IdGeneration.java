@@ -0,0 +1,17 @@
+package com.furkan.digitalWallet.entity;
+
+/**
+ * Entity kimliklerinin sequence ayarları.
+ */
+final class IdGeneration {
+
+    /**
+     * Yalnızca eşleme için varsayılan değerdir. Gerçek blok boyu veritabanındaki sequence artışıdır:
+     * ID_ALLOCATION_SIZE (spring.flyway.placeholders.id_allocation_size) R__id_allocation_size.sql ile sequence'lara
+     * yazılır ve increment_size_mismatch_strategy: fix sayesinde Hibernate bu değeri değil onu kullanır.
+     */
+    static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.furkan.digitalWallet.entity;
+
+import com.furkan.digitalWallet.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Müşteri başına Idempotency-Key kaydı. transactionId null ise işlem hâlâ devam ediyordur; işlem satırıyla
+ * aynı DB transaction'ında doldurulur. requestHash isteğin özetidir (cüzdan, tutar, karşı taraf); anahtar
+ * farklı bir istekle tekrar kullanılırsa ilk işlem dönülmez.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_customer_key",
+                columnNames = {"customer_id", "idempotency_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_seq")
+    @SequenceGenerator(name = "idempotency_keys_seq", sequenceName = "idempotency_keys_seq",
+            allocationSize = IdGeneration.DEFAULT_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
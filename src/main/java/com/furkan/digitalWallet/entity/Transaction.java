@@ -3,32 +3,45 @@ package com.furkan.digitalWallet.entity;
 import com.furkan.digitalWallet.enums.OppositePartyType;
 import com.furkan.digitalWallet.enums.TransactionStatus;
 import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Azalan sırada: geçmiş sayfaları yeniden eskiye okunur, export aynı index'i ters yönde tarar
+        @Index(name = "idx_transactions_wallet_created_id", columnList = "wallet_id desc, created_at desc, id desc"),
+        @Index(name = "idx_transactions_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_transactions_status_amount", columnList = "status desc, amount desc, id desc")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq",
+            allocationSize = IdGeneration.DEFAULT_ALLOCATION_SIZE)
     private Long id;
 
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "wallet_id", nullable = false)
     private Wallet wallet;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -49,4 +62,8 @@ public class Transaction {
     private LocalDateTime createdAt = LocalDateTime.now();
 
     private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Version
+    private Long version;
 }
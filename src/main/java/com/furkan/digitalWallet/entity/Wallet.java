@@ -1,27 +1,41 @@
 package com.furkan.digitalWallet.entity;
 
 import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.money.MoneyConverter;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "wallets")
+@Table(name = "wallets",
+        indexes = @Index(name = "idx_wallets_customer_currency", columnList = "customer_id, currency"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_wallets_customer_name",
+                columnNames = {"customer_id", "wallet_name_normalized"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Wallet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallets_seq")
+    @SequenceGenerator(name = "wallets_seq", sequenceName = "wallets_seq",
+            allocationSize = IdGeneration.DEFAULT_ALLOCATION_SIZE)
     private Long id;
 
+    // Lazy ilişkiler toString/equals/hashCode'a girmez; aksi halde loglama ya da koleksiyona ekleme ek sorgu çalıştırır
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
@@ -29,6 +43,14 @@ public class Wallet {
     @Column(nullable = false)
     private String walletName;
 
+    /**
+     * Büyük/küçük harf duyarsız isim kontrolü için walletName'in küçük harfli hali; setWalletName ile güncellenir.
+     */
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "wallet_name_normalized", nullable = false)
+    private String walletNameNormalized;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Currency currency;
@@ -39,16 +61,33 @@ public class Wallet {
     @Column(nullable = false)
     private Boolean activeForWithdraw = true;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Money balance = Money.ZERO;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal usableBalance = BigDecimal.ZERO;
+    private Money usableBalance = Money.ZERO;
 
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @JsonIgnore
+    @Version
+    private Long version;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "wallet", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transaction> transactions;
+
+    public void setWalletName(String walletName) {
+        this.walletName = walletName;
+        this.walletNameNormalized = normalizeName(walletName);
+    }
+
+    public static String normalizeName(String walletName) {
+        return walletName != null ? walletName.toLowerCase(Locale.ROOT) : null;
+    }
 }
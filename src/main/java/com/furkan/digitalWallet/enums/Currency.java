@@ -1,5 +1,19 @@
 package com.furkan.digitalWallet.enums;
 
 public enum Currency {
-    TRY, USD, EUR
+    TRY(2), USD(2), EUR(2);
+
+    private final int fractionDigits;
+
+    Currency(int fractionDigits) {
+        this.fractionDigits = fractionDigits;
+    }
+
+    /**
+     * Para biriminin alt birim (kuruş, cent) basamak sayısı. Money sabit ölçekle çalıştığı için
+     * Money.SCALE ile aynı olmalıdır.
+     */
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
 }
@@ -0,0 +1,9 @@
+package com.furkan.digitalWallet.enums;
+
+/**
+ * Bekleyen işlem kuyruğunun sıralaması: AGE en eskiden, AMOUNT en büyük tutardan başlar.
+ */
+public enum PendingSort {
+    AGE,
+    AMOUNT
+}
@@ -0,0 +1,9 @@
+package com.furkan.digitalWallet.event;
+
+import com.furkan.digitalWallet.money.Money;
+
+/**
+ * Bir cüzdanın bakiyelerine uygulanan fark. Farklar toplanabilir olduğu için commit sırasından bağımsızdır.
+ */
+public record BalanceChangedEvent(Long walletId, Money balanceChange, Money usableBalanceChange) {
+}
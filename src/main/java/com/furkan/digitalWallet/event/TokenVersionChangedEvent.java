@@ -0,0 +1,7 @@
+package com.furkan.digitalWallet.event;
+
+/**
+ * Müşterinin token'ları iptal edildi; tokenVersion bundan sonra kabul edilen en düşük versiyondur.
+ */
+public record TokenVersionChangedEvent(Long customerId, long tokenVersion) {
+}
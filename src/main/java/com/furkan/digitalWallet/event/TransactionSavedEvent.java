@@ -0,0 +1,9 @@
+package com.furkan.digitalWallet.event;
+
+import com.furkan.digitalWallet.entity.Transaction;
+
+/**
+ * Oluşturulan ya da durumu değişen işlem satırının son hali.
+ */
+public record TransactionSavedEvent(Transaction transaction) {
+}
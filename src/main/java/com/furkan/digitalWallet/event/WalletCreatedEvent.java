@@ -0,0 +1,6 @@
+package com.furkan.digitalWallet.event;
+
+import com.furkan.digitalWallet.entity.Wallet;
+
+public record WalletCreatedEvent(Wallet wallet) {
+}
@@ -1,6 +1,22 @@
 package com.furkan.digitalWallet.exception;
 
 public class BadRequestException extends RuntimeException {
-    public BadRequestException(String message) { super(message); }
-}
+    private final RejectionReason reason;
+
+    public BadRequestException(String message) {
+        super(message);
+        this.reason = null;
+    }
 
+    public BadRequestException(RejectionReason reason) {
+        super(reason.message());
+        this.reason = reason;
+    }
+
+    /**
+     * @return ret sebebi; sebebi sınıflandırılmamış hatalarda null
+     */
+    public RejectionReason getReason() {
+        return reason;
+    }
+}
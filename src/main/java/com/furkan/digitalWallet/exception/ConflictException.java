@@ -0,0 +1,5 @@
+package com.furkan.digitalWallet.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) { super(message); }
+}
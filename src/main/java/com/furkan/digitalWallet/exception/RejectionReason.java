@@ -0,0 +1,20 @@
+package com.furkan.digitalWallet.exception;
+
+/**
+ * İş kuralı nedeniyle reddedilen bakiye işlemlerinin sebepleri; metriklerde reason etiketi olarak kullanılır.
+ */
+public enum RejectionReason {
+    INSUFFICIENT_BALANCE("Yetersiz kullanılabilir bakiye"),
+    SHOPPING_CLOSED("Cüzdan alışverişe kapalı"),
+    WITHDRAW_CLOSED("Cüzdan çekime kapalı");
+
+    private final String message;
+
+    RejectionReason(String message) {
+        this.message = message;
+    }
+
+    public String message() {
+        return message;
+    }
+}
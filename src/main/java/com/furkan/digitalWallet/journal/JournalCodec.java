@@ -0,0 +1,133 @@
+package com.furkan.digitalWallet.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JournalRecord ile ikili payload arasındaki dönüşüm. İlk byte kayıt tipidir; birim (UNIT) girdi sayısı ve
+ * her biri kendi tip byte'ıyla başlayan girdilerden oluşur.
+ */
+final class JournalCodec {
+
+    private static final byte WALLET_CREATED = 1;
+    private static final byte BALANCE_CHANGED = 2;
+    private static final byte TRANSACTION_SAVED = 3;
+    private static final byte CUSTOMER_CREATED = 4;
+    private static final byte UNIT = 5;
+    private static final byte TOKEN_VERSION_CHANGED = 6;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(JournalRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (record instanceof JournalRecord.Unit u) {
+                out.writeByte(UNIT);
+                out.writeInt(u.entries().size());
+                for (JournalRecord entry : u.entries()) {
+                    write(out, entry);
+                }
+            } else {
+                write(out, record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static JournalRecord decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte type = in.readByte();
+            if (type != UNIT) {
+                return read(in, type);
+            }
+            int count = in.readInt();
+            List<JournalRecord> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(read(in, in.readByte()));
+            }
+            return new JournalRecord.Unit(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(DataOutputStream out, JournalRecord record) throws IOException {
+        if (record instanceof JournalRecord.CustomerCreated c) {
+            out.writeByte(CUSTOMER_CREATED);
+            out.writeLong(c.customerId());
+            out.writeUTF(c.name());
+            out.writeUTF(c.surname());
+            out.writeUTF(c.tckn());
+            out.writeUTF(c.username());
+            out.writeUTF(c.password());
+            out.writeUTF(c.role());
+        } else if (record instanceof JournalRecord.TokenVersionChanged v) {
+            out.writeByte(TOKEN_VERSION_CHANGED);
+            out.writeLong(v.customerId());
+            out.writeLong(v.tokenVersion());
+        } else if (record instanceof JournalRecord.WalletCreated w) {
+            out.writeByte(WALLET_CREATED);
+            out.writeLong(w.walletId());
+            out.writeLong(w.customerId());
+            out.writeUTF(w.walletName());
+            out.writeUTF(w.currency());
+            out.writeBoolean(w.activeForShopping());
+            out.writeBoolean(w.activeForWithdraw());
+            out.writeLong(w.balance());
+            out.writeLong(w.usableBalance());
+            out.writeUTF(w.createdAt());
+        } else if (record instanceof JournalRecord.BalanceChanged b) {
+            out.writeByte(BALANCE_CHANGED);
+            out.writeLong(b.walletId());
+            out.writeLong(b.balanceChange());
+            out.writeLong(b.usableBalanceChange());
+        } else if (record instanceof JournalRecord.TransactionSaved t) {
+            out.writeByte(TRANSACTION_SAVED);
+            out.writeLong(t.transactionId());
+            out.writeLong(t.walletId());
+            out.writeLong(t.amount());
+            out.writeUTF(t.type());
+            out.writeUTF(t.oppositePartyType());
+            out.writeUTF(t.oppositeParty());
+            out.writeUTF(t.status());
+            out.writeUTF(t.createdAt());
+            writeNullable(out, t.updatedAt());
+        } else {
+            throw new IllegalArgumentException("Journal birimleri iç içe yazılamaz");
+        }
+    }
+
+    private static JournalRecord read(DataInputStream in, byte type) throws IOException {
+        return switch (type) {
+            case CUSTOMER_CREATED -> new JournalRecord.CustomerCreated(in.readLong(), in.readUTF(), in.readUTF(),
+                    in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+            case TOKEN_VERSION_CHANGED -> new JournalRecord.TokenVersionChanged(in.readLong(), in.readLong());
+            case WALLET_CREATED -> new JournalRecord.WalletCreated(in.readLong(), in.readLong(), in.readUTF(),
+                    in.readUTF(), in.readBoolean(), in.readBoolean(), in.readLong(), in.readLong(), in.readUTF());
+            case BALANCE_CHANGED -> new JournalRecord.BalanceChanged(in.readLong(), in.readLong(), in.readLong());
+            case TRANSACTION_SAVED -> new JournalRecord.TransactionSaved(in.readLong(), in.readLong(), in.readLong(),
+                    in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), readNullable(in));
+            default -> throw new IllegalStateException("Bilinmeyen journal kayıt tipi: " + type);
+        };
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.furkan.digitalWallet.journal;
+
+import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.event.BalanceChangedEvent;
+import com.furkan.digitalWallet.event.TokenVersionChangedEvent;
+import com.furkan.digitalWallet.event.TransactionSavedEvent;
+import com.furkan.digitalWallet.event.WalletCreatedEvent;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bir veritabanı transaction'ında yayınlanan değişiklikleri tek bir journal birimi ({@link JournalRecord.Unit})
+ * olarak toplar ve commit'ten önce yazar: bekleyen SQL flush edilir, birim journal'a eklenir ve journal.sync-wait
+ * açıkken diske zorlanır, ardından commit yapılır. Append başarısız olursa transaction geri alınır; journal'a yazılmış
+ * bir birim commit edilmiş sayılır. Cüzdan oluşturma birimi cüzdanın müşterisini de taşır, böylece replay müşteriler
+ * için tohum veriye ihtiyaç duymaz. Transaction dışında yayınlanan olay kendi biriminde hemen yazılır.
+ */
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JournalEventListener {
+
+    private final TransactionJournal journal;
+    private final EntityManager entityManager;
+
+    @EventListener
+    public void onWalletCreated(WalletCreatedEvent event) {
+        Wallet w = event.wallet();
+        Customer c = w.getCustomer();
+        JournalRecord.CustomerCreated customer = new JournalRecord.CustomerCreated(c.getId(), c.getName(),
+                c.getSurname(), c.getTckn(), c.getUsername(), c.getPassword(), c.getRole().name());
+        JournalRecord.WalletCreated wallet = new JournalRecord.WalletCreated(w.getId(), c.getId(), w.getWalletName(),
+                w.getCurrency().name(), Boolean.TRUE.equals(w.getActiveForShopping()),
+                Boolean.TRUE.equals(w.getActiveForWithdraw()), w.getBalance().minorUnits(),
+                w.getUsableBalance().minorUnits(), w.getCreatedAt().toString());
+        collect(unit -> {
+            unit.created.add(customer);
+            unit.created.add(wallet);
+        });
+    }
+
+    @EventListener
+    public void onTokenVersionChanged(TokenVersionChangedEvent event) {
+        collect(unit -> unit.tokenVersions.merge(event.customerId(), event.tokenVersion(), Math::max));
+    }
+
+    @EventListener
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        long balanceChange = event.balanceChange().minorUnits();
+        long usableChange = event.usableBalanceChange().minorUnits();
+        if (balanceChange == 0 && usableChange == 0) {
+            return;
+        }
+        collect(unit -> {
+            long[] total = unit.balanceChanges.computeIfAbsent(event.walletId(), id -> new long[2]);
+            total[0] += balanceChange;
+            total[1] += usableChange;
+        });
+    }
+
+    @EventListener
+    public void onTransactionSaved(TransactionSavedEvent event) {
+        Transaction t = event.transaction();
+        collect(unit -> unit.transactions.put(t.getId(), t));
+    }
+
+    /**
+     * Değişikliği etkin transaction'ın birimine ekler; birim transaction'a ilk değişiklikte bağlanır.
+     */
+    private void collect(Consumer<PendingUnit> change) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            PendingUnit unit = new PendingUnit();
+            change.accept(unit);
+            append(unit);
+            return;
+        }
+        PendingUnit unit = (PendingUnit) TransactionSynchronizationManager.getResource(this);
+        if (unit == null) {
+            unit = new PendingUnit();
+            TransactionSynchronizationManager.bindResource(this, unit);
+            TransactionSynchronizationManager.registerSynchronization(new UnitSynchronization(unit));
+        }
+        change.accept(unit);
+    }
+
+    private void append(PendingUnit unit) {
+        JournalRecord.Unit record = unit.toRecord();
+        if (!record.entries().isEmpty()) {
+            journal.append(record);
+        }
+    }
+
+    private final class UnitSynchronization implements TransactionSynchronization {
+
+        private final PendingUnit unit;
+
+        UnitSynchronization(PendingUnit unit) {
+            this.unit = unit;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(JournalEventListener.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(JournalEventListener.this, unit);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Kısıt ihlali gibi flush hataları birim journal'a yazılmadan ortaya çıkmalı
+            entityManager.flush();
+            append(unit);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JournalEventListener.this);
+        }
+    }
+
+    /**
+     * Transaction boyunca biriken değişiklikler. İşlem satırları commit anındaki halleriyle yazılır;
+     * aynı cüzdanın bakiye farkları, aynı müşterinin token versiyonları tek girdide toplanır.
+     */
+    static final class PendingUnit {
+        private final List<JournalRecord> created = new ArrayList<>();
+        private final Map<Long, Long> tokenVersions = new LinkedHashMap<>();
+        private final Map<Long, long[]> balanceChanges = new LinkedHashMap<>();
+        private final Map<Long, Transaction> transactions = new LinkedHashMap<>();
+
+        JournalRecord.Unit toRecord() {
+            List<JournalRecord> entries = new ArrayList<>(created);
+            tokenVersions.forEach((customerId, version) ->
+                    entries.add(new JournalRecord.TokenVersionChanged(customerId, version)));
+            balanceChanges.forEach((walletId, total) -> {
+                if (total[0] != 0 || total[1] != 0) {
+                    entries.add(new JournalRecord.BalanceChanged(walletId, total[0], total[1]));
+                }
+            });
+            for (Transaction t : transactions.values()) {
+                entries.add(new JournalRecord.TransactionSaved(t.getId(), t.getWallet().getId(),
+                        t.getAmount().minorUnits(), t.getType().name(), t.getOppositePartyType().name(),
+                        t.getOppositeParty(), t.getStatus().name(), t.getCreatedAt().toString(),
+                        toText(t.getUpdatedAt())));
+            }
+            return new JournalRecord.Unit(entries);
+        }
+    }
+
+    private static String toText(LocalDateTime value) {
+        return value == null ? null : value.toString();
+    }
+}
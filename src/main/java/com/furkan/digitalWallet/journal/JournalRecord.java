@@ -0,0 +1,53 @@
+package com.furkan.digitalWallet.journal;
+
+import java.util.List;
+
+/**
+ * Journal'a yazılan kayıt tipleri. Tutarlar kuruş (long), zamanlar ISO-8601 metin olarak tutulur.
+ * JournalEventListener her veritabanı transaction'ını tek bir {@link Unit} olarak yazar; diğer tipler
+ * birimin girdileridir (eski sürümlerin tek başına yazdığı kayıtlar da okunabilir).
+ */
+public sealed interface JournalRecord {
+
+    /**
+     * Cüzdan oluşturma birimine, cüzdanın müşterisi olarak eklenir; parola BCrypt özetidir.
+     */
+    record CustomerCreated(long customerId, String name, String surname, String tckn, String username,
+                           String password, String role) implements JournalRecord {
+    }
+
+    /**
+     * Müşterinin token'ları iptal edildi; replay versiyonu yalnızca büyütür.
+     */
+    record TokenVersionChanged(long customerId, long tokenVersion) implements JournalRecord {
+    }
+
+    record WalletCreated(long walletId, long customerId, String walletName, String currency,
+                         boolean activeForShopping, boolean activeForWithdraw,
+                         long balance, long usableBalance, String createdAt) implements JournalRecord {
+    }
+
+    /**
+     * Bakiye farkı; farklar toplanabilir olduğu için replay sırası commit sırasına bağlı değildir.
+     */
+    record BalanceChanged(long walletId, long balanceChange, long usableBalanceChange) implements JournalRecord {
+    }
+
+    /**
+     * İşlem satırının son hali; replay sırasında satır bu değerlerle yazılır.
+     */
+    record TransactionSaved(long transactionId, long walletId, long amount, String type,
+                            String oppositePartyType, String oppositeParty, String status,
+                            String createdAt, String updatedAt) implements JournalRecord {
+    }
+
+    /**
+     * Tek bir veritabanı transaction'ının tüm değişiklikleri. Tek çerçevede yazılır; yarım kalan birim
+     * CRC kontrolünden geçemez ve tamamen atlanır. Birimler iç içe olamaz.
+     */
+    record Unit(List<JournalRecord> entries) implements JournalRecord {
+        public Unit {
+            entries = List.copyOf(entries);
+        }
+    }
+}
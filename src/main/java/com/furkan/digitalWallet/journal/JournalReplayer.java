@@ -0,0 +1,223 @@
+package com.furkan.digitalWallet.journal;
+
+import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Uygulama açılırken journal'ı okuyup customers (token versiyonları dahil), wallets ve transactions tablolarını
+ * yeniden kurar.
+ * Tüm singleton'lar (DataInitializer dahil) oluşturulduktan sonra, web sunucusu istek almadan önce çalışır.
+ * In-memory veritabanı için tasarlanmıştır: müşteri, cüzdan ve işlem satırları id ile MERGE edilir,
+ * bakiye farkları mevcut bakiyenin üzerine eklenir. Her birim kendi transaction'ında uygulanır; uygulanamayan
+ * birim tamamen geri alınıp atlanır, yarım yazılmış birim zaten okunmaz.
+ * Müşterisi ne birimde ne veritabanında bulunan bir cüzdan kaydında (müşteri taşımayan eski kayıtlar) replay durur
+ * ve uygulama açılmaz, böylece cüzdan ve işlemleri sessizce atlanmaz.
+ */
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class JournalReplayer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReplayer.class);
+
+    private static final String MERGE_CUSTOMER = """
+            MERGE INTO customers (id, name, surname, tckn, username, password, role)
+            KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String RAISE_TOKEN_VERSION = """
+            UPDATE customers SET token_version = GREATEST(token_version, ?) WHERE id = ?
+            """;
+
+    private static final String MERGE_WALLET = """
+            MERGE INTO wallets (id, customer_id, wallet_name, wallet_name_normalized, currency, active_for_shopping,
+                                active_for_withdraw, balance, usable_balance, created_at, version)
+            KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final String ADJUST_BALANCES = """
+            UPDATE wallets SET balance = balance + ?, usable_balance = usable_balance + ?, version = version + 1
+            WHERE id = ?
+            """;
+
+    private static final String MERGE_TRANSACTION = """
+            MERGE INTO transactions (id, wallet_id, amount, type, opposite_party_type, opposite_party, status,
+                                     created_at, updated_at, version)
+            KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final TransactionJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final Set<Long> knownCustomers = new HashSet<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long[] skipped = {0};
+        long total;
+        try {
+            total = journal.replay(record -> {
+                try {
+                    if (!tx.execute(status -> applyUnit(record, status))) {
+                        skipped[0]++;
+                    }
+                } catch (DataAccessException e) {
+                    log.warn("Journal birimi uygulanamadı, geri alındı: {}", record, e);
+                    skipped[0]++;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (total > 0) {
+            realignIds("customers", Customer.class);
+            realignIds("wallets", Wallet.class);
+            realignIds("transactions", Transaction.class);
+        }
+        log.info("Journal replay tamamlandı: {} birim okundu, {} birim atlandı", total, skipped[0]);
+    }
+
+    /**
+     * Birimin tüm girdilerini uygular; bir girdi atlanırsa (cüzdanı olmayan bakiye farkı, müşterisi olmayan
+     * token iptali) birim geri alınır.
+     */
+    private boolean applyUnit(JournalRecord record, TransactionStatus status) {
+        List<JournalRecord> entries = record instanceof JournalRecord.Unit u ? u.entries() : List.of(record);
+        for (JournalRecord entry : entries) {
+            if (!apply(entry)) {
+                status.setRollbackOnly();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean apply(JournalRecord record) {
+        if (record instanceof JournalRecord.CustomerCreated c) {
+            jdbcTemplate.update(MERGE_CUSTOMER, c.customerId(), c.name(), c.surname(), c.tckn(), c.username(),
+                    c.password(), c.role());
+            knownCustomers.add(c.customerId());
+            return true;
+        }
+        if (record instanceof JournalRecord.TokenVersionChanged v) {
+            int updated = jdbcTemplate.update(RAISE_TOKEN_VERSION, v.tokenVersion(), v.customerId());
+            if (updated == 0) {
+                log.warn("Journal token iptal kaydı atlandı, müşteri bulunamadı: {}", v.customerId());
+            }
+            return updated > 0;
+        }
+        if (record instanceof JournalRecord.WalletCreated w) {
+            requireCustomer(w);
+            jdbcTemplate.update(MERGE_WALLET, w.walletId(), w.customerId(), w.walletName(),
+                    Wallet.normalizeName(w.walletName()), w.currency(),
+                    w.activeForShopping(), w.activeForWithdraw(), fromMinor(w.balance()), fromMinor(w.usableBalance()),
+                    LocalDateTime.parse(w.createdAt()));
+            return true;
+        }
+        if (record instanceof JournalRecord.BalanceChanged b) {
+            int updated = jdbcTemplate.update(ADJUST_BALANCES, fromMinor(b.balanceChange()),
+                    fromMinor(b.usableBalanceChange()), b.walletId());
+            if (updated == 0) {
+                log.warn("Journal bakiye kaydı atlandı, cüzdan bulunamadı: {}", b.walletId());
+            }
+            return updated > 0;
+        }
+        if (record instanceof JournalRecord.TransactionSaved t) {
+            // Bekleyen kayıt, sonradan yazılmış bir onay/ret kaydını ezmemelidir
+            if ("PENDING".equals(t.status()) && exists(t.transactionId())) {
+                return true;
+            }
+            jdbcTemplate.update(MERGE_TRANSACTION, t.transactionId(), t.walletId(), fromMinor(t.amount()), t.type(),
+                    t.oppositePartyType(), t.oppositeParty(), t.status(), LocalDateTime.parse(t.createdAt()),
+                    t.updatedAt() != null ? LocalDateTime.parse(t.updatedAt()) : null);
+            return true;
+        }
+        return false;
+    }
+
+    private void requireCustomer(JournalRecord.WalletCreated w) {
+        if (knownCustomers.contains(w.customerId())) {
+            return;
+        }
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE id = ?",
+                Integer.class, w.customerId());
+        if (count == null || count == 0) {
+            throw new IllegalStateException("Journal replay durduruldu: cüzdan " + w.walletId() + " için müşteri "
+                    + w.customerId() + " bulunamadı (müşteri taşımayan eski kayıt, data.init açık olmalı)");
+        }
+        knownCustomers.add(w.customerId());
+    }
+
+    private boolean exists(long transactionId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE id = ?",
+                Integer.class, transactionId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Replay edilen satırlar kimliklerini journal'dan getirir; sequence ve Hibernate'in bellekte tuttuğu blok
+     * (DataInitializer'ın açtığı) bu kimliklerin gerisinde kalabilir. Sequence, en büyük kimliği aşan ilk
+     * blok başından yeniden başlatılır ve bellekteki bloğun kalan kimlikleri harcanır.
+     */
+    private void realignIds(String table, Class<?> entity) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Map<String, Object> sequence = jdbcTemplate.queryForMap(
+                "SELECT BASE_VALUE, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                (table + "_seq").toUpperCase(Locale.ROOT));
+        long increment = ((Number) sequence.get("INCREMENT")).longValue();
+        long next = Math.max((max + increment - 1) / increment * increment + 1,
+                ((Number) sequence.get("BASE_VALUE")).longValue());
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+        skipAllocatedIds(entity, max);
+    }
+
+    private void skipAllocatedIds(Class<?> entity, long replayedMax) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Generator generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+        if (!(generator instanceof IdentifierGenerator identifierGenerator)) {
+            return;
+        }
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.getTransaction().begin();
+            long id;
+            do {
+                id = ((Number) identifierGenerator.generate((SharedSessionContractImplementor) session, null)).longValue();
+            } while (id <= replayedMax);
+            session.getTransaction().commit();
+        }
+    }
+
+    private static BigDecimal fromMinor(long value) {
+        return BigDecimal.valueOf(value, 2);
+    }
+}
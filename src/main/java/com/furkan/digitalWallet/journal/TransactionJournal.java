@@ -0,0 +1,289 @@
+package com.furkan.digitalWallet.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal. Kayıtlar önceden boyutlandırılmış, memory-mapped segment dosyalarına
+ * [uzunluk][payload][crc32] çerçeveleri olarak yazılır; uzunluğu 0 olan çerçeve segmentin sonudur.
+ * Diske zorlama (force) her append'de değil, flusher thread'i tarafından fsync aralığında toplu yapılır.
+ * syncWait açıkken append, kaydı içeren force tamamlanana kadar bekler; force başarısız olursa ya da bekleme
+ * kesilirse append hata fırlatır, böylece çağıran transaction geri alınabilir.
+ * Kilitler ReentrantLock'tur; force ve bekleme sırasında sanal thread'ler taşıyıcı thread'e sabitlenmez (pinning).
+ */
+public class TransactionJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    static final int FRAME_OVERHEAD = 8;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalMs;
+    private final boolean syncWait;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableAdvanced = durableLock.newCondition();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long appendedSequence;
+    private volatile long durableSequence;
+    private volatile RuntimeException flushFailure;
+    private volatile boolean closed;
+    private final Thread flusher;
+
+    public TransactionJournal(Path directory, int segmentSize, long fsyncIntervalMs, boolean syncWait) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+        this.syncWait = syncWait;
+
+        Files.createDirectories(directory);
+        List<Path> existing = segments();
+        openSegment(existing.isEmpty() ? 0 : indexOf(existing.get(existing.size() - 1)));
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Kaydı journal'a ekler ve sıra numarasını döner.
+     */
+    public long append(JournalRecord record) {
+        byte[] payload = JournalCodec.encode(record);
+        int frameSize = payload.length + FRAME_OVERHEAD;
+        if (frameSize > segmentSize) {
+            throw new IllegalArgumentException("Journal kaydı segment boyutunu aşıyor");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long sequence;
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal kapalı");
+            }
+            if (segment.remaining() < frameSize) {
+                roll();
+            }
+            segment.putInt(payload.length).put(payload).putInt((int) crc.getValue());
+            sequence = ++appendedSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        if (syncWait) {
+            awaitDurable(sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Tüm segmentlerdeki geçerli kayıtları yazılma sırasıyla okur.
+     *
+     * @return okunan kayıt sayısı
+     */
+    public long replay(Consumer<JournalRecord> consumer) throws IOException {
+        long[] count = {0};
+        for (Path path : segments()) {
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                scan(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), record -> {
+                    consumer.accept(record);
+                    count[0]++;
+                });
+            }
+        }
+        return count[0];
+    }
+
+    /**
+     * Bekleyen kayıtları diske zorlar.
+     */
+    public void flush() {
+        MappedByteBuffer target;
+        long sequence;
+        appendLock.lock();
+        try {
+            if (appendedSequence == durableSequence) {
+                return;
+            }
+            target = segment;
+            sequence = appendedSequence;
+        } finally {
+            appendLock.unlock();
+        }
+        target.force();
+        flushFailure = null;
+        markDurable(sequence);
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        flusher.interrupt();
+        try {
+            flusher.join(fsyncIntervalMs * 10 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            segment.force();
+            markDurable(appendedSequence);
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            try {
+                Thread.sleep(fsyncIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Journal flush başarısız", e);
+                flushFailure = e;
+                markDurable(durableSequence);
+            }
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        durableLock.lock();
+        try {
+            while (durableSequence < sequence && !closed) {
+                if (flushFailure != null) {
+                    throw new IllegalStateException("Journal kaydı diske zorlanamadı", flushFailure);
+                }
+                try {
+                    durableAdvanced.await(fsyncIntervalMs * 10 + 1000, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Journal kaydının diske zorlanması beklenirken kesildi");
+                }
+            }
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void markDurable(long sequence) {
+        durableLock.lock();
+        try {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+            }
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void roll() {
+        segment.force();
+        markDurable(appendedSequence);
+        try {
+            channel.close();
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Segmenti açar ve yazma konumunu son geçerli çerçevenin sonuna taşır.
+     * Yarım kalmış (torn) bir çerçeve bulunursa segmentin geri kalanı sıfırlanır.
+     */
+    private void openSegment(int index) throws IOException {
+        Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), segmentSize);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segmentIndex = index;
+
+        int end = scan(segment.duplicate(), record -> { });
+        if (end + Integer.BYTES <= segment.limit() && segment.getInt(end) != 0) {
+            log.warn("Journal segmenti {} içinde {} konumunda yarım kayıt bulundu, kuyruk temizleniyor", path, end);
+            for (int i = end; i < segment.limit(); i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.force();
+        }
+        segment.position(end);
+    }
+
+    /**
+     * Buffer başından itibaren geçerli çerçeveleri okur ve ilk geçersiz çerçevenin konumunu döner.
+     */
+    static int scan(ByteBuffer buffer, Consumer<JournalRecord> consumer) {
+        int position = 0;
+        while (position + FRAME_OVERHEAD <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.limit() - position - FRAME_OVERHEAD) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + Integer.BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES + length)) {
+                break;
+            }
+            consumer.accept(JournalCodec.decode(payload));
+            position += length + FRAME_OVERHEAD;
+        }
+        return position;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int indexOf(Path segmentPath) {
+        String name = segmentPath.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.furkan.digitalWallet.ledger;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Partition kuyruğuna giren komutlar. Yetki bilgisi (actingCustomerId, employee) çağıran
+ * thread'de SecurityContext'ten okunur; partition thread'inde SecurityContext yoktur.
+ * Tutarlar istekteki haliyle taşınır; cüzdanın para birimini bilen partition'da doğrulanıp kuruşa çevrilir.
+ */
+sealed interface LedgerCommand {
+
+    long walletId();
+
+    CompletableFuture<Transaction> result();
+
+    /**
+     * İşlem satırıyla aynı batch transaction'ında tamamlanacak Idempotency-Key rezervasyonu; yoksa null.
+     */
+    default Long idempotencyRecordId() {
+        return null;
+    }
+
+    record Deposit(long walletId, BigDecimal amount, OppositePartyType oppositePartyType, String source,
+                   Long actingCustomerId, boolean employee, Long idempotencyRecordId,
+                   CompletableFuture<Transaction> result) implements LedgerCommand {
+    }
+
+    record Withdraw(long walletId, BigDecimal amount, OppositePartyType oppositePartyType, String destination,
+                    Long actingCustomerId, boolean employee, Long idempotencyRecordId,
+                    CompletableFuture<Transaction> result) implements LedgerCommand {
+    }
+
+    record Decide(long walletId, long transactionId, TransactionStatus status,
+                  CompletableFuture<Transaction> result) implements LedgerCommand {
+    }
+}
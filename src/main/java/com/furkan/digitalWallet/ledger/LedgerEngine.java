@@ -0,0 +1,208 @@
+package com.furkan.digitalWallet.ledger;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
+import com.furkan.digitalWallet.request.BatchTransactionItem;
+import com.furkan.digitalWallet.request.DepositRequest;
+import com.furkan.digitalWallet.request.TransactionDecisionRequest;
+import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.response.BatchItemResult;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.security.SecurityUtil;
+import com.furkan.digitalWallet.service.LedgerOperations;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tek yazıcılı ledger motoru (ledger.mode=engine). Her cüzdan id'si sabit bir partition thread'ine
+ * aittir; bakiye kontrolü ve değişikliği o thread'de bellek içi kuruş değerleri üzerinde yapılır,
+ * işlem satırları ve net bakiye farkları batch halinde tek transaction ile yazılır.
+ * Cevap batch commit edildikten sonra döner, bu yüzden REST sözleşmesi JPA yolu ile aynıdır.
+ * Bu modda bakiyeleri değiştiren tüm işlemler motordan geçmelidir.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "ledger.mode", havingValue = "engine")
+@RequiredArgsConstructor
+public class LedgerEngine implements LedgerOperations {
+
+    private final LedgerStore store;
+
+    @Value("${ledger.partitions:4}")
+    private int partitionCount;
+
+    @Value("${ledger.queue-capacity:8192}")
+    private int queueCapacity;
+
+    @Value("${ledger.batch-size:256}")
+    private int batchSize;
+
+    @Value("${ledger.max-cached-wallets:10000}")
+    private int maxCachedWallets;
+
+    @Value("${ledger.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private LedgerPartition[] partitions;
+    private Thread[] threads;
+
+    @PostConstruct
+    public void start() {
+        partitions = new LedgerPartition[partitionCount];
+        threads = new Thread[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new LedgerPartition(store, queueCapacity, batchSize, maxCachedWallets);
+            threads[i] = new Thread(partitions[i], "ledger-partition-" + i);
+            threads[i].start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (LedgerPartition p : partitions) {
+            p.stop();
+        }
+        for (Thread t : threads) {
+            t.join(timeoutMs);
+        }
+    }
+
+    @Override
+    public Transaction deposit(DepositRequest req, CustomerPrincipal actingUser, Long idempotencyRecordId) {
+        CompletableFuture<Transaction> result = new CompletableFuture<>();
+        submit(new LedgerCommand.Deposit(req.getWalletId(), req.getAmount(), req.getOppositePartyType(),
+                req.getSource(), actingUser.id(), SecurityUtil.hasRole("EMPLOYEE"), idempotencyRecordId, result));
+        return await(result);
+    }
+
+    @Override
+    public Transaction withdraw(WithdrawRequest req, CustomerPrincipal actingUser, Long idempotencyRecordId) {
+        CompletableFuture<Transaction> result = new CompletableFuture<>();
+        submit(new LedgerCommand.Withdraw(req.getWalletId(), req.getAmount(), req.getOppositePartyType(),
+                req.getDestination(), actingUser.id(), SecurityUtil.hasRole("EMPLOYEE"), idempotencyRecordId,
+                result));
+        return await(result);
+    }
+
+    @Override
+    public Transaction decide(Long transactionId, TransactionDecisionRequest req) {
+        long walletId = store.walletIdOf(transactionId);
+        CompletableFuture<Transaction> result = new CompletableFuture<>();
+        submit(new LedgerCommand.Decide(walletId, transactionId, req.getStatus(), result));
+        return await(result);
+    }
+
+    /**
+     * Kararlar tek tek kuyruğa bırakılır; cüzdan id'leri tek sorguda çözülür.
+     */
+    @Override
+    public Map<Long, String> decideAll(List<Long> transactionIds, TransactionStatus status) {
+        Map<Long, Long> walletIds = store.walletIdsOf(transactionIds);
+        Map<Long, CompletableFuture<Transaction>> futures = new LinkedHashMap<>();
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (Long transactionId : transactionIds) {
+            Long walletId = walletIds.get(transactionId);
+            if (walletId == null) {
+                failures.put(transactionId, "İşlem bulunamadı");
+                continue;
+            }
+            CompletableFuture<Transaction> result = new CompletableFuture<>();
+            futures.put(transactionId, result);
+            try {
+                submit(new LedgerCommand.Decide(walletId, transactionId, status, result));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        futures.forEach((transactionId, result) -> {
+            try {
+                await(result);
+            } catch (BadRequestException | NotFoundException | ServiceUnavailableException e) {
+                failures.put(transactionId, e.getMessage());
+            } catch (RuntimeException e) {
+                failures.put(transactionId, "Beklenmeyen hata");
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * Kalemler tek tek kuyruğa bırakılır ve partition'lar tarafından batch halinde yazılır;
+     * sonuçlar tüm kalemler gönderildikten sonra toplanır.
+     */
+    @Override
+    public List<BatchItemResult> batch(List<BatchTransactionItem> items, CustomerPrincipal actingUser) {
+        boolean employee = SecurityUtil.hasRole("EMPLOYEE");
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>(items.size());
+        for (BatchTransactionItem item : items) {
+            CompletableFuture<Transaction> result = new CompletableFuture<>();
+            futures.add(result);
+            try {
+                submit(item.getType() == TransactionType.DEPOSIT
+                        ? new LedgerCommand.Deposit(item.getWalletId(), item.getAmount(), item.getOppositePartyType(),
+                        item.getOppositeParty(), actingUser.id(), employee, null, result)
+                        : new LedgerCommand.Withdraw(item.getWalletId(), item.getAmount(), item.getOppositePartyType(),
+                        item.getOppositeParty(), actingUser.id(), employee, null, result));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(BatchItemResult.succeeded(i, await(futures.get(i))));
+            } catch (BadRequestException | NotFoundException | ServiceUnavailableException e) {
+                results.add(BatchItemResult.failed(i, e.getMessage()));
+            } catch (RuntimeException e) {
+                results.add(BatchItemResult.failed(i, "Beklenmeyen hata"));
+            }
+        }
+        return results;
+    }
+
+    private void submit(LedgerCommand command) {
+        LedgerPartition partition = partitions[(int) Math.floorMod(command.walletId(), (long) partitions.length)];
+        if (!partition.offer(command)) {
+            throw new ServiceUnavailableException("Ledger kuyruğu dolu, lütfen tekrar deneyin");
+        }
+    }
+
+    /**
+     * Zaman aşımında komut kuyrukta kalmışsa daha sonra yine uygulanabilir; istemci 503 alır.
+     */
+    private Transaction await(CompletableFuture<Transaction> result) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Ledger işlemi zaman aşımına uğradı");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Ledger işlemi kesildi");
+        }
+    }
+}
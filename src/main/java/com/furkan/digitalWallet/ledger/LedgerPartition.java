@@ -0,0 +1,252 @@
+package com.furkan.digitalWallet.ledger;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.RejectionReason;
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
+import com.furkan.digitalWallet.money.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bir grup cüzdanın tek yazıcısı. Kuyruktan alınan komutlar batch halinde bellek içi durum
+ * üzerinde uygulanır, ardından batch tek bir veritabanı transaction'ı ile yazılır (group commit).
+ * Yazma başarısız olursa etkilenen cüzdanların bellek durumu atılır ve bir sonraki komutta
+ * veritabanından yeniden yüklenir. Bellekte en fazla maxWallets cüzdan tutulur; sınır aşılınca en uzun
+ * süredir kullanılmayanlar batch yazıldıktan sonra atılır (durumları veritabanındakiyle aynıdır).
+ */
+class LedgerPartition implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPartition.class);
+
+    static final long PENDING_THRESHOLD = Money.ofMajor(1000).minorUnits();
+
+    record Applied(LedgerCommand command, Transaction transaction) {
+    }
+
+    private final LedgerStore store;
+    private final BlockingQueue<LedgerCommand> queue;
+    private final int batchSize;
+    private final int maxWallets;
+    // Erişim sıralı: ilk girdiler en uzun süredir kullanılmayan cüzdanlardır
+    private final Map<Long, WalletState> wallets = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile boolean running = true;
+
+    LedgerPartition(LedgerStore store, int queueCapacity, int batchSize, int maxWallets) {
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxWallets = maxWallets;
+    }
+
+    boolean offer(LedgerCommand command) {
+        return running && queue.offer(command);
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        List<LedgerCommand> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LedgerCommand first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Ledger batch işlenemedi", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        List<LedgerCommand> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(c -> c.result().completeExceptionally(new ServiceUnavailableException("Ledger motoru kapatılıyor")));
+    }
+
+    void process(List<LedgerCommand> batch) {
+        try {
+            applyAndWrite(batch);
+        } finally {
+            evictIdleWallets();
+        }
+    }
+
+    private void applyAndWrite(List<LedgerCommand> batch) {
+        Map<Long, Transaction> decisionTargets = loadDecisionTargets(batch);
+        Map<Long, long[]> deltas = new HashMap<>();
+        List<Applied> applied = new ArrayList<>(batch.size());
+
+        for (LedgerCommand command : batch) {
+            try {
+                WalletState wallet = wallets.get(command.walletId());
+                if (wallet == null) {
+                    wallet = store.loadWallet(command.walletId());
+                    wallets.put(command.walletId(), wallet);
+                }
+                long[] delta = new long[2];
+                Transaction t = apply(command, wallet, delta, decisionTargets);
+                long[] total = deltas.computeIfAbsent(command.walletId(), id -> new long[2]);
+                total[0] += delta[0];
+                total[1] += delta[1];
+                applied.add(new Applied(command, t));
+            } catch (RuntimeException e) {
+                command.result().completeExceptionally(e);
+            }
+        }
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        try {
+            store.write(deltas, applied);
+        } catch (RuntimeException e) {
+            log.error("Ledger batch yazılamadı, {} cüzdan yeniden yüklenecek", deltas.size(), e);
+            deltas.keySet().forEach(wallets::remove);
+            applied.forEach(a -> a.command().result().completeExceptionally(e));
+            return;
+        }
+        applied.forEach(a -> a.command().result().complete(a.transaction()));
+    }
+
+    /**
+     * Batch ortasında atılan bir cüzdan, yazılmamış farkları olmadan yeniden yüklenirdi; bu yüzden
+     * sınır yalnızca batch yazıldıktan (ya da durumu atıldıktan) sonra uygulanır.
+     */
+    private void evictIdleWallets() {
+        Iterator<Long> eldest = wallets.keySet().iterator();
+        while (wallets.size() > maxWallets && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    int cachedWallets() {
+        return wallets.size();
+    }
+
+    private Map<Long, Transaction> loadDecisionTargets(List<LedgerCommand> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (LedgerCommand command : batch) {
+            if (command instanceof LedgerCommand.Decide d) {
+                ids.add(d.transactionId());
+            }
+        }
+        return ids.isEmpty() ? Map.of() : store.loadTransactions(ids);
+    }
+
+    private Transaction apply(LedgerCommand command, WalletState wallet, long[] delta,
+                              Map<Long, Transaction> decisionTargets) {
+        if (command instanceof LedgerCommand.Deposit d) {
+            checkAccess(wallet, d.actingCustomerId(), d.employee());
+            long amount = Money.of(d.amount(), wallet.currency).minorUnits();
+            boolean pending = amount > PENDING_THRESHOLD;
+            // Pending deposit: sadece balance'a ekle, approved: ikisine de
+            wallet.balance += amount;
+            delta[0] += amount;
+            if (!pending) {
+                wallet.usableBalance += amount;
+                delta[1] += amount;
+            }
+            return newTransaction(amount, TransactionType.DEPOSIT, d.oppositePartyType(), d.source(), pending);
+        }
+        if (command instanceof LedgerCommand.Withdraw w) {
+            checkAccess(wallet, w.actingCustomerId(), w.employee());
+            if (w.oppositePartyType() == OppositePartyType.PAYMENT && !wallet.activeForShopping) {
+                throw new BadRequestException(RejectionReason.SHOPPING_CLOSED);
+            }
+            if (w.oppositePartyType() == OppositePartyType.IBAN && !wallet.activeForWithdraw) {
+                throw new BadRequestException(RejectionReason.WITHDRAW_CLOSED);
+            }
+            long amount = Money.of(w.amount(), wallet.currency).minorUnits();
+            if (wallet.usableBalance < amount) {
+                throw new BadRequestException(RejectionReason.INSUFFICIENT_BALANCE);
+            }
+            boolean pending = amount > PENDING_THRESHOLD;
+            // Pending withdraw: sadece usableBalance'dan düş, approved: ikisinden de
+            wallet.usableBalance -= amount;
+            delta[1] -= amount;
+            if (!pending) {
+                wallet.balance -= amount;
+                delta[0] -= amount;
+            }
+            return newTransaction(amount, TransactionType.WITHDRAW, w.oppositePartyType(), w.destination(), pending);
+        }
+        LedgerCommand.Decide d = (LedgerCommand.Decide) command;
+        Transaction t = decisionTargets.get(d.transactionId());
+        if (t == null) {
+            throw new NotFoundException("İşlem bulunamadı");
+        }
+        if (t.getStatus() != TransactionStatus.PENDING) {
+            throw new BadRequestException("Sadece bekleyen işlemler onay/ret edilebilir");
+        }
+        if (d.status() != TransactionStatus.APPROVED && d.status() != TransactionStatus.DENIED) {
+            throw new BadRequestException("Geçersiz durum");
+        }
+        long amount = t.getAmount().minorUnits();
+        if (d.status() == TransactionStatus.APPROVED) {
+            if (t.getType() == TransactionType.DEPOSIT) {
+                wallet.usableBalance += amount;
+                delta[1] += amount;
+            } else {
+                wallet.balance -= amount;
+                delta[0] -= amount;
+            }
+        } else {
+            if (t.getType() == TransactionType.DEPOSIT) {
+                wallet.balance -= amount;
+                delta[0] -= amount;
+            } else {
+                wallet.usableBalance += amount;
+                delta[1] += amount;
+            }
+        }
+        t.setStatus(d.status());
+        t.setUpdatedAt(LocalDateTime.now());
+        return t;
+    }
+
+    private void checkAccess(WalletState wallet, Long actingCustomerId, boolean employee) {
+        if (!employee && (actingCustomerId == null || wallet.customerId != actingCustomerId)) {
+            throw new BadRequestException("Bu cüzdana erişim yetkiniz yok");
+        }
+    }
+
+    private Transaction newTransaction(long amount, TransactionType type, OppositePartyType oppositePartyType,
+                                       String oppositeParty, boolean pending) {
+        Transaction t = new Transaction();
+        t.setAmount(Money.ofMinor(amount));
+        t.setType(type);
+        t.setOppositePartyType(oppositePartyType);
+        t.setOppositeParty(oppositeParty);
+        t.setStatus(pending ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+        t.setCreatedAt(LocalDateTime.now());
+        return t;
+    }
+}
@@ -0,0 +1,111 @@
+package com.furkan.digitalWallet.ledger;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.event.BalanceChangedEvent;
+import com.furkan.digitalWallet.event.TransactionSavedEvent;
+import com.furkan.digitalWallet.exception.ConflictException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ledger motorunun veritabanı erişimi: cüzdan durumunu ilk kullanımda yükler ve
+ * bir partition batch'ini tek transaction'da yazar.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.mode", havingValue = "engine")
+@RequiredArgsConstructor
+class LedgerStore {
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    WalletState loadWallet(long walletId) {
+        Wallet w = walletRepository.findById(walletId)
+                .orElseThrow(() -> new NotFoundException("Cüzdan bulunamadı"));
+        return new WalletState(w.getCustomer().getId(), w.getCurrency(),
+                Boolean.TRUE.equals(w.getActiveForShopping()),
+                Boolean.TRUE.equals(w.getActiveForWithdraw()),
+                w.getBalance().minorUnits(),
+                w.getUsableBalance().minorUnits());
+    }
+
+    @Transactional(readOnly = true)
+    long walletIdOf(Long transactionId) {
+        return transactionRepository.findWalletIdById(transactionId)
+                .orElseThrow(() -> new NotFoundException("İşlem bulunamadı"));
+    }
+
+    @Transactional(readOnly = true)
+    Map<Long, Long> walletIdsOf(Collection<Long> transactionIds) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Object[] row : transactionRepository.findWalletIdsByIdIn(transactionIds)) {
+            result.put((Long) row[0], (Long) row[1]);
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    Map<Long, Transaction> loadTransactions(Collection<Long> transactionIds) {
+        Map<Long, Transaction> result = new HashMap<>();
+        for (Transaction t : transactionRepository.findAllById(transactionIds)) {
+            result.put(t.getId(), t);
+        }
+        return result;
+    }
+
+    /**
+     * Batch'in net bakiye farklarını cüzdan başına tek UPDATE ile uygular, işlem satırlarını kaydeder ve
+     * komutların Idempotency-Key rezervasyonlarını aynı transaction'da tamamlar. Devredilmiş bir rezervasyon
+     * tüm batch'i geri alır; aksi halde aynı anahtarla iki işlem oluşurdu.
+     *
+     * @param balanceDeltas cüzdan id -> {balance farkı, usableBalance farkı} (kuruş)
+     */
+    @Transactional(
+            isolation = Isolation.READ_COMMITTED,
+            rollbackFor = Exception.class
+    )
+    void write(Map<Long, long[]> balanceDeltas, List<LedgerPartition.Applied> applied) {
+        balanceDeltas.forEach((walletId, delta) -> {
+            Money balanceChange = Money.ofMinor(delta[0]);
+            Money usableChange = Money.ofMinor(delta[1]);
+            walletRepository.adjustBalances(walletId, balanceChange, usableChange);
+            eventPublisher.publishEvent(new BalanceChangedEvent(walletId, balanceChange, usableChange));
+        });
+
+        List<Transaction> rows = new ArrayList<>(applied.size());
+        for (LedgerPartition.Applied a : applied) {
+            if (a.transaction().getId() == null) {
+                a.transaction().setWallet(walletRepository.getReferenceById(a.command().walletId()));
+            }
+            rows.add(a.transaction());
+        }
+        List<Transaction> saved = transactionRepository.saveAll(rows);
+        for (int i = 0; i < saved.size(); i++) {
+            LedgerCommand command = applied.get(i).command();
+            applied.set(i, new LedgerPartition.Applied(command, saved.get(i)));
+            eventPublisher.publishEvent(new TransactionSavedEvent(saved.get(i)));
+            Long reservationId = command.idempotencyRecordId();
+            if (reservationId != null && idempotencyRecordRepository.complete(reservationId, saved.get(i).getId()) == 0) {
+                throw new ConflictException("Idempotency-Key rezervasyonu başka bir isteğe devredilmiş");
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.furkan.digitalWallet.ledger;
+
+import com.furkan.digitalWallet.enums.Currency;
+
+/**
+ * Bir cüzdanın ledger motorundaki bellek içi durumu. Tutarlar kuruş cinsinden tutulur ve
+ * yalnızca cüzdanın sahibi olan partition thread'i tarafından okunup yazılır.
+ */
+final class WalletState {
+    final long customerId;
+    final Currency currency;
+    final boolean activeForShopping;
+    final boolean activeForWithdraw;
+    long balance;
+    long usableBalance;
+
+    WalletState(long customerId, Currency currency, boolean activeForShopping, boolean activeForWithdraw,
+                long balance, long usableBalance) {
+        this.customerId = customerId;
+        this.currency = currency;
+        this.activeForShopping = activeForShopping;
+        this.activeForWithdraw = activeForWithdraw;
+        this.balance = balance;
+        this.usableBalance = usableBalance;
+    }
+}
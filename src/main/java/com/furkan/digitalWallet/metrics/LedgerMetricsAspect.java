@@ -0,0 +1,155 @@
+package com.furkan.digitalWallet.metrics;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import com.furkan.digitalWallet.request.DepositRequest;
+import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bakiye işlemlerinin süresini ve sonucunu ölçer. deposit/withdraw/decide çağrıları
+ * ledger.operation timer'ına operation, type, currency ve outcome (pending, approved, denied, rejected,
+ * not_found, error) etiketleriyle yazılır; iş kuralı retleri ayrıca ledger.rejections sayacında sebebe göre sayılır.
+ * Cüzdan satırını kilitleyen sorguların süresi (kilit bekleme dahil) ledger.lock.wait timer'ına yazılır.
+ * Yeniden denemeler dahil toplam süreyi ölçmek için retry advice'ından önce çalışır.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class LedgerMetricsAspect {
+
+    static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final WalletRepository walletRepository;
+
+    @Value("${metrics.wallet-currency-cache.max-size:10000}")
+    private long currencyCacheMaxSize;
+
+    /**
+     * Cüzdanın para birimi değişmez; ledger motorunun döndürdüğü işlemlerde ve retlerde cüzdan yüklü değildir.
+     */
+    private Cache<Long, String> currencies;
+
+    @PostConstruct
+    void init() {
+        currencies = Caffeine.newBuilder().maximumSize(currencyCacheMaxSize).build();
+    }
+
+    // args(..) ile bağlama en yüksek öncelikte çalışamaz (ExposeInvocationInterceptor'dan önce), argümanlar elle okunur
+    @Around("execution(* com.furkan.digitalWallet.service.LedgerOperations+.deposit(..))")
+    public Object deposit(ProceedingJoinPoint joinPoint) throws Throwable {
+        DepositRequest req = (DepositRequest) joinPoint.getArgs()[0];
+        return time(joinPoint, "deposit", TransactionType.DEPOSIT, req.getWalletId());
+    }
+
+    @Around("execution(* com.furkan.digitalWallet.service.LedgerOperations+.withdraw(..))")
+    public Object withdraw(ProceedingJoinPoint joinPoint) throws Throwable {
+        WithdrawRequest req = (WithdrawRequest) joinPoint.getArgs()[0];
+        return time(joinPoint, "withdraw", TransactionType.WITHDRAW, req.getWalletId());
+    }
+
+    @Around("execution(* com.furkan.digitalWallet.service.LedgerOperations+.decide(..))")
+    public Object decide(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "decide", null, null);
+    }
+
+    @Around("execution(* com.furkan.digitalWallet.repository.WalletRepository.adjustBalances(..)) || " +
+            "execution(* com.furkan.digitalWallet.repository.WalletRepository.debitIfSufficient(..)) || " +
+            "execution(* com.furkan.digitalWallet.repository.WalletRepository.findByIdForUpdate(..))")
+    public Object lockWait(ProceedingJoinPoint joinPoint) throws Throwable {
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Timer.builder("ledger.lock.wait")
+                    .description("Cüzdan satırını kilitleyen sorguların süresi, kilit bekleme dahil")
+                    .tag("statement", joinPoint.getSignature().getName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String operation, TransactionType type, Long walletId)
+            throws Throwable {
+        long started = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof Transaction t) {
+                record(operation, t.getType(), currencyOf(t.getWallet()), lower(t.getStatus().name()), started);
+            }
+            return result;
+        } catch (BadRequestException e) {
+            String reason = e.getReason() != null ? lower(e.getReason().name()) : "other";
+            meterRegistry.counter("ledger.rejections", "operation", operation, "reason", reason).increment();
+            record(operation, type, currencyOf(walletId), "rejected", started);
+            throw e;
+        } catch (NotFoundException e) {
+            record(operation, type, UNKNOWN, "not_found", started);
+            throw e;
+        } catch (RuntimeException e) {
+            record(operation, type, UNKNOWN, "error", started);
+            throw e;
+        }
+    }
+
+    private void record(String operation, TransactionType type, String currency, String outcome, long started) {
+        Timer.builder("ledger.operation")
+                .description("Bakiye işlemlerinin süresi")
+                .tag("operation", operation)
+                .tag("type", type != null ? lower(type.name()) : UNKNOWN)
+                .tag("currency", currency)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private String currencyOf(Wallet wallet) {
+        if (wallet == null) {
+            return UNKNOWN;
+        }
+        if (Hibernate.isInitialized(wallet)) {
+            return wallet.getCurrency().name();
+        }
+        return currencyOf(wallet.getId());
+    }
+
+    /**
+     * Bulunamayan cüzdanlar cache'lenmez.
+     */
+    private String currencyOf(Long walletId) {
+        if (walletId == null) {
+            return UNKNOWN;
+        }
+        String currency = currencies.get(walletId,
+                id -> walletRepository.findCurrencyById(id).map(Enum::name).orElse(null));
+        return currency != null ? currency : UNKNOWN;
+    }
+
+    private static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
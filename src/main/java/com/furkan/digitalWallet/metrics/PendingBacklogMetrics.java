@@ -0,0 +1,93 @@
+package com.furkan.digitalWallet.metrics;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Onay bekleyen işlem sayısı ve toplam tutarı, para birimi başına gauge olarak yayınlanır
+ * (ledger.pending.count, ledger.pending.amount). Değerler scrape sırasında değil, arka planda
+ * sabit aralıkla tek bir gruplu sorguyla yenilenir; gauge'lar son ölçümü döner.
+ */
+@Component
+@RequiredArgsConstructor
+public class PendingBacklogMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingBacklogMetrics.class);
+
+    private final TransactionRepository transactionRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metrics.pending-backlog.interval-ms:15000}")
+    private long intervalMs;
+
+    private volatile Map<Currency, Backlog> backlog = new EnumMap<>(Currency.class);
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        registerGauges();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("pending-backlog-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void registerGauges() {
+        for (Currency currency : Currency.values()) {
+            Gauge.builder("ledger.pending.count", this, m -> m.backlogOf(currency).count())
+                    .description("Onay bekleyen işlem sayısı")
+                    .tag("currency", currency.name())
+                    .register(meterRegistry);
+            Gauge.builder("ledger.pending.amount", this, m -> m.backlogOf(currency).amount().doubleValue())
+                    .description("Onay bekleyen işlemlerin toplam tutarı")
+                    .tag("currency", currency.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void refresh() {
+        try {
+            Map<Currency, Backlog> current = new EnumMap<>(Currency.class);
+            for (Object[] row : transactionRepository.sumByCurrency(TransactionStatus.PENDING)) {
+                current.put((Currency) row[0], new Backlog((Long) row[1], (BigDecimal) row[2]));
+            }
+            backlog = current;
+        } catch (RuntimeException e) {
+            // scheduleWithFixedDelay, görevden kaçan bir istisnada sonraki çalıştırmaları iptal eder
+            log.warn("Bekleyen işlem metrikleri yenilenemedi", e);
+        }
+    }
+
+    Backlog backlogOf(Currency currency) {
+        return backlog.getOrDefault(currency, Backlog.EMPTY);
+    }
+
+    record Backlog(long count, BigDecimal amount) {
+        static final Backlog EMPTY = new Backlog(0, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,93 @@
+package com.furkan.digitalWallet.money;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.exception.BadRequestException;
+
+import java.math.BigDecimal;
+
+/**
+ * Alt birim (kuruş, cent) cinsinden long ile tutulan tutar. Para birimi taşınmaz; ölçek sabit 2 basamaktır ve
+ * veritabanı kolonlarıyla aynıdır. Bu yüzden her {@link Currency} sabitinin alt birim basamağı {@link #SCALE}
+ * olmak zorundadır, sınıf yüklenirken doğrulanır. Farklı ölçekte bir para birimi eklemek tutarın para birimini
+ * taşımasını gerektirir. Alt birimler yalnızca aynı para biriminin tutarları arasında karşılaştırılabilir.
+ * Aritmetik işlemler taşmada ArithmeticException fırlatır.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    static {
+        for (Currency currency : Currency.values()) {
+            if (currency.getFractionDigits() != SCALE) {
+                throw new IllegalStateException(currency + " alt birim basamağı Money ölçeğiyle aynı değil");
+            }
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public static Money ofMajor(long majorUnits) {
+        return ofMinor(Math.multiplyExact(majorUnits, MINOR_PER_MAJOR));
+    }
+
+    /**
+     * API sınırında gelen tutarı para biriminin alt birimine dönüştürür; alt birim basamağına sığmayan ya da
+     * long aralığını aşan tutarlar reddedilir.
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        int fractionDigits = currency.getFractionDigits();
+        if (amount.scale() > fractionDigits && amount.stripTrailingZeros().scale() > fractionDigits) {
+            throw new BadRequestException("Geçersiz tutar");
+        }
+        try {
+            return ofMinor(amount.movePointRight(fractionDigits).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Geçersiz tutar");
+        }
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    public boolean isLessThan(Money other) {
+        return minorUnits < other.minorUnits;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
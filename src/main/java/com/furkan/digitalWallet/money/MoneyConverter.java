@@ -0,0 +1,23 @@
+package com.furkan.digitalWallet.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Money alanlarını mevcut DECIMAL(19, 2) kolonlarına yazar.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        return value == null ? null : Money.ofMinor(value.movePointRight(Money.SCALE).longValueExact());
+    }
+}
@@ -1,11 +1,27 @@
 package com.furkan.digitalWallet.repository;
 
 import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByUsername(String username);
-}
 
+    @Query("select new com.furkan.digitalWallet.security.CustomerPrincipal(c.id, c.username, c.role) " +
+            "from Customer c where c.username = :username")
+    Optional<CustomerPrincipal> findPrincipalByUsername(@Param("username") String username);
+
+    @Query("select c.tokenVersion from Customer c where c.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Customer c set c.tokenVersion = c.tokenVersion + 1 where c.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+}
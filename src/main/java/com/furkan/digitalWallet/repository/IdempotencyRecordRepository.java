@@ -0,0 +1,37 @@
+package com.furkan.digitalWallet.repository;
+
+import com.furkan.digitalWallet.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findByCustomerIdAndIdempotencyKey(Long customerId, String idempotencyKey);
+
+    /**
+     * Rezervasyonu işlem satırıyla aynı transaction'da tamamlar. 0 dönerse rezervasyon eskidiği için başka bir
+     * isteğe devredilmiştir; çağıran transaction'ı geri almalıdır, aksi halde aynı anahtarla iki işlem oluşur.
+     */
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.transactionId = :transactionId where r.id = :id and r.transactionId is null")
+    int complete(@Param("id") Long id, @Param("transactionId") Long transactionId);
+
+    /**
+     * Rezervasyon hâlâ tamamlanmamış ve cutoff'tan eskiyse siler; eşzamanlı devralmalardan yalnızca biri 1 alır.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.transactionId is null and r.createdAt < :cutoff")
+    int deleteStaleReservation(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,12 +1,153 @@
 package com.furkan.digitalWallet.repository;
 
 import com.furkan.digitalWallet.entity.Transaction;
-import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.response.TransactionView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByWalletOrderByCreatedAtDesc(Wallet wallet);
-}
+    /**
+     * Okuma uçlarının projeksiyonu; entity yerine yalnızca yanıttaki kolonlar seçilir.
+     */
+    String VIEW = "select new com.furkan.digitalWallet.response.TransactionView(t.id, t.amount, t.type, " +
+            "t.oppositePartyType, t.oppositeParty, t.status, t.createdAt, t.updatedAt) from Transaction t ";
+
+    /**
+     * Bekleyen işlem kuyruğu sorgularının ortak filtresi; null parametreler filtreye dahil edilmez.
+     */
+    String QUEUE_FILTER = "t.status = :status " +
+            "and (:currency is null or t.wallet.currency = :currency) " +
+            "and (:minAmount is null or t.amount >= :minAmount) " +
+            "and (:maxAmount is null or t.amount <= :maxAmount) ";
+
+    /**
+     * Cüzdan geçmişinin ilk sayfası; idx_transactions_wallet_created_id index'i üzerinden okunur.
+     * Sıralamadaki wallet.id sabit olsa da H2'nin index sırasını kullanıp ayrı bir sort yapmaması için gereklidir.
+     */
+    @Query(VIEW + "where t.wallet.id = :walletId order by t.wallet.id desc, t.createdAt desc, t.id desc")
+    List<TransactionView> findFirstPage(@Param("walletId") Long walletId, Limit limit);
+
+    /**
+     * (createdAt, id) cursor'ından sonraki sayfa. Offset kullanılmadığı için geçmiş ne kadar derin
+     * olursa olsun sorgu index'te cursor konumundan başlar; OR'lu koşul index aralığına çevrilemediğinden
+     * createdAt <= :createdAt ayrıca yazılır.
+     */
+    @Query(VIEW + "where t.wallet.id = :walletId " +
+            "and t.createdAt <= :createdAt " +
+            "and (t.createdAt < :createdAt or (t.createdAt = :createdAt and t.id < :id)) " +
+            "order by t.wallet.id desc, t.createdAt desc, t.id desc")
+    List<TransactionView> findPageAfter(@Param("walletId") Long walletId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Limit limit);
+
+    /**
+     * Cüzdanın tüm geçmişi, eskiden yeniye, JDBC fetch size ile parça parça okunur.
+     * idx_transactions_wallet_created_id ters yönde taranır.
+     * Açık bir transaction içinde tüketilmeli ve kapatılmalıdır.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query(VIEW + "where t.wallet.id = :walletId order by t.wallet.id, t.createdAt, t.id")
+    Stream<TransactionView> streamByWalletId(@Param("walletId") Long walletId);
+
+    /**
+     * Bekleyen işlemler, en eskiden yeniye; idx_transactions_status_created index'i sırayla okunur.
+     */
+    @Query(VIEW + "where " + QUEUE_FILTER +
+            "order by t.status, t.createdAt, t.id")
+    List<TransactionView> findQueueByAge(@Param("status") TransactionStatus status,
+                                     @Param("currency") Currency currency,
+                                     @Param("minAmount") Money minAmount,
+                                     @Param("maxAmount") Money maxAmount,
+                                     Limit limit);
+
+    @Query(VIEW + "where " + QUEUE_FILTER +
+            "and t.createdAt >= :createdAt " +
+            "and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)) " +
+            "order by t.status, t.createdAt, t.id")
+    List<TransactionView> findQueueByAgeAfter(@Param("status") TransactionStatus status,
+                                          @Param("currency") Currency currency,
+                                          @Param("minAmount") Money minAmount,
+                                          @Param("maxAmount") Money maxAmount,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
 
+    /**
+     * Bekleyen işlemler, büyük tutardan küçüğe; idx_transactions_status_amount index'i sırayla okunur.
+     */
+    @Query(VIEW + "where " + QUEUE_FILTER +
+            "order by t.status desc, t.amount desc, t.id desc")
+    List<TransactionView> findQueueByAmount(@Param("status") TransactionStatus status,
+                                        @Param("currency") Currency currency,
+                                        @Param("minAmount") Money minAmount,
+                                        @Param("maxAmount") Money maxAmount,
+                                        Limit limit);
+
+    @Query(VIEW + "where " + QUEUE_FILTER +
+            "and t.amount <= :amount " +
+            "and (t.amount < :amount or (t.amount = :amount and t.id < :id)) " +
+            "order by t.status desc, t.amount desc, t.id desc")
+    List<TransactionView> findQueueByAmountAfter(@Param("status") TransactionStatus status,
+                                             @Param("currency") Currency currency,
+                                             @Param("minAmount") Money minAmount,
+                                             @Param("maxAmount") Money maxAmount,
+                                             @Param("amount") Money amount,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    @Query("select t.wallet.id from Transaction t where t.id = :transactionId")
+    Optional<Long> findWalletIdById(@Param("transactionId") Long transactionId);
+
+    @Query("select t.id, t.wallet.id from Transaction t where t.id in :transactionIds")
+    List<Object[]> findWalletIdsByIdIn(@Param("transactionIds") Collection<Long> transactionIds);
+
+    /**
+     * İşlemleri cüzdanlarıyla birlikte tek sorguda yükler.
+     */
+    @Query("select t from Transaction t join fetch t.wallet where t.id in :transactionIds")
+    List<Transaction> findAllWithWalletByIdIn(@Param("transactionIds") Collection<Long> transactionIds);
+
+    /**
+     * Filtreye uyan işlemlerin id'leri, en küçük id'den başlayarak en fazla limit kadar; null parametreler
+     * filtreye dahil edilmez.
+     */
+    @Query("select t.id from Transaction t where t.status = :status " +
+            "and (:walletId is null or t.wallet.id = :walletId) " +
+            "and (:currency is null or t.wallet.currency = :currency) " +
+            "and (:minAmount is null or t.amount >= :minAmount) " +
+            "and (:maxAmount is null or t.amount <= :maxAmount) " +
+            "order by t.id")
+    List<Long> findIdsByFilter(@Param("status") TransactionStatus status,
+                               @Param("walletId") Long walletId,
+                               @Param("currency") Currency currency,
+                               @Param("minAmount") Money minAmount,
+                               @Param("maxAmount") Money maxAmount,
+                               Limit limit);
+
+    /**
+     * Para birimi başına işlem sayısı ve toplam tutar: {Currency, Long, BigDecimal}.
+     */
+    @Query("select w.currency, count(t), sum(t.amount) from Transaction t join t.wallet w " +
+            "where t.status = :status group by w.currency")
+    List<Object[]> sumByCurrency(@Param("status") TransactionStatus status);
+}
@@ -2,13 +2,80 @@ package com.furkan.digitalWallet.repository;
 
 import com.furkan.digitalWallet.entity.Wallet;
 import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.response.WalletView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface WalletRepository extends org.springframework.data.jpa.repository.JpaRepository<Wallet, Long> {
-    List<Wallet> findByCustomerId(Long customerId);
+    /**
+     * Cüzdan listesinin projeksiyonu; entity yerine yalnızca yanıttaki kolonlar seçilir.
+     */
+    String VIEW = "select new com.furkan.digitalWallet.response.WalletView(w.id, w.walletName, w.currency, " +
+            "w.activeForShopping, w.activeForWithdraw, w.balance, w.usableBalance, w.createdAt) from Wallet w ";
 
-    List<Wallet> findByCustomerIdAndCurrency(Long customerId, Currency currency);
+    /**
+     * Türetilmiş sorgu customers tablosuna join edip filtreyi c.id üzerine koyduğu için
+     * wallets tablosu taranıyordu; filtre doğrudan customer_id kolonuna yazılır.
+     */
+    @Query(VIEW + "where w.customer.id = :customerId")
+    List<WalletView> findByCustomerId(@Param("customerId") Long customerId);
 
-    boolean existsByCustomerIdAndWalletNameIgnoreCase(Long customerId, String walletName);
+    /**
+     * idx_wallets_customer_currency index'i üzerinden.
+     */
+    @Query(VIEW + "where w.customer.id = :customerId and w.currency = :currency")
+    List<WalletView> findByCustomerIdAndCurrency(@Param("customerId") Long customerId,
+                                                 @Param("currency") Currency currency);
+
+    /**
+     * uk_wallets_customer_name index'i üzerinden; isim Wallet.normalizeName ile verilmelidir.
+     */
+    @Query("select count(w) > 0 from Wallet w where w.customer.id = :customerId " +
+            "and w.walletNameNormalized = :walletNameNormalized")
+    boolean existsByCustomerIdAndWalletNameNormalized(@Param("customerId") Long customerId,
+                                                      @Param("walletNameNormalized") String walletNameNormalized);
+
+    @Query("select w.currency from Wallet w where w.id = :walletId")
+    Optional<Currency> findCurrencyById(@Param("walletId") Long walletId);
+
+    /**
+     * Cüzdanı satır kilidiyle (SELECT ... FOR UPDATE) okur; kilit transaction sonuna kadar tutulur.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from Wallet w where w.id = :walletId")
+    Optional<Wallet> findByIdForUpdate(@Param("walletId") Long walletId);
+
+    /**
+     * Bakiyeleri tek bir UPDATE ile veritabanı tarafında değiştirir; okuma-değiştirme-yazma penceresi yoktur.
+     * Yönetilen Wallet entity'si güncellenmez, dönen değer etkilenen satır sayısıdır. Versiyon artırıldığı için
+     * aynı cüzdanı entity üzerinden güncelleyen eşzamanlı işlemler optimistic lock çakışması alır.
+     */
+    @Modifying
+    @Query("update Wallet w set w.balance = w.balance + :balanceChange, " +
+            "w.usableBalance = w.usableBalance + :usableBalanceChange, " +
+            "w.version = w.version + 1 " +
+            "where w.id = :walletId")
+    int adjustBalances(@Param("walletId") Long walletId,
+                       @Param("balanceChange") Money balanceChange,
+                       @Param("usableBalanceChange") Money usableBalanceChange);
+
+    /**
+     * Kullanılabilir bakiye yeterliyse tutarı tek bir koşullu UPDATE ile düşer.
+     * 0 dönerse bakiye yetersizdir (veya cüzdan yoktur).
+     */
+    @Modifying
+    @Query("update Wallet w set w.balance = w.balance - :balanceDebit, " +
+            "w.usableBalance = w.usableBalance - :amount, " +
+            "w.version = w.version + 1 " +
+            "where w.id = :walletId and w.usableBalance >= :amount")
+    int debitIfSufficient(@Param("walletId") Long walletId,
+                          @Param("amount") Money amount,
+                          @Param("balanceDebit") Money balanceDebit);
 }
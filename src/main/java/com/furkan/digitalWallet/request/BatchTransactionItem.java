@@ -0,0 +1,32 @@
+package com.furkan.digitalWallet.request;
+
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Batch içindeki tek bir deposit/withdraw. oppositeParty, deposit için kaynak, withdraw için hedeftir.
+ */
+@Data
+public class BatchTransactionItem {
+    @NotNull
+    private TransactionType type;
+
+    @NotNull
+    private Long walletId;
+
+    @NotNull
+    @DecimalMin(value = "0.01")
+    private BigDecimal amount;
+
+    @NotNull
+    private OppositePartyType oppositePartyType;
+
+    @NotBlank
+    private String oppositeParty;
+}
@@ -0,0 +1,17 @@
+package com.furkan.digitalWallet.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTransactionRequest {
+    public static final int MAX_ITEMS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_ITEMS)
+    private List<@Valid BatchTransactionItem> items;
+}
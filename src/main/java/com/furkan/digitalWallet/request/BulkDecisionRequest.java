@@ -0,0 +1,37 @@
+package com.furkan.digitalWallet.request;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * transactionIds verilirse yalnızca o işlemler, verilmezse filtreye uyan bekleyen işlemlerden en eski MAX_IDS
+ * tanesi karara bağlanır. İkisi de yoksa (id listesi ve filtre alanlarının hepsi boş) istek reddedilir.
+ * minAmount ve maxAmount ancak currency ile birlikte verilebilir.
+ */
+@Data
+public class BulkDecisionRequest {
+    public static final int MAX_IDS = 10_000;
+
+    @NotNull
+    private TransactionStatus status;
+
+    @Size(max = MAX_IDS)
+    private List<@NotNull Long> transactionIds;
+
+    private Long walletId;
+
+    private Currency currency;
+
+    @DecimalMin(value = "0.00")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0.00")
+    private BigDecimal maxAmount;
+}
@@ -0,0 +1,29 @@
+package com.furkan.digitalWallet.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.furkan.digitalWallet.entity.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Batch içindeki bir kalemin sonucu; index istekteki sırasıdır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private int index;
+    private boolean success;
+    private Transaction transaction;
+    private String error;
+
+    public static BatchItemResult succeeded(int index, Transaction transaction) {
+        return new BatchItemResult(index, true, transaction, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, false, null, error);
+    }
+}
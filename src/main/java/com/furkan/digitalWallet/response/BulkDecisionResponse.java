@@ -0,0 +1,32 @@
+package com.furkan.digitalWallet.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDecisionResponse {
+    private int decided;
+    private int failed;
+    private List<Failure> failures;
+
+    public static BulkDecisionResponse of(int total, Map<Long, String> failures) {
+        List<Failure> list = failures.entrySet().stream()
+                .map(e -> new Failure(e.getKey(), e.getValue()))
+                .toList();
+        return new BulkDecisionResponse(total - list.size(), list.size(), list);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Failure {
+        private Long transactionId;
+        private String error;
+    }
+}
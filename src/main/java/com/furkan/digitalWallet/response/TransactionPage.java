@@ -0,0 +1,18 @@
+package com.furkan.digitalWallet.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * İşlem geçmişinin bir sayfası; nextCursor null ise son sayfadır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+    private List<TransactionView> items;
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.furkan.digitalWallet.response;
+
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * İşlem geçmişi, bekleyen işlem kuyruğu ve export'un okuma modeli. Persistence context'e girmez,
+ * dirty checking snapshot'ı ve lazy proxy'si yoktur. Alan sırası ve adları Transaction entity'sinin
+ * JSON çıktısıyla aynıdır.
+ */
+public record TransactionView(Long id,
+                              Money amount,
+                              TransactionType type,
+                              OppositePartyType oppositePartyType,
+                              String oppositeParty,
+                              TransactionStatus status,
+                              LocalDateTime createdAt,
+                              LocalDateTime updatedAt) {
+}
@@ -0,0 +1,20 @@
+package com.furkan.digitalWallet.response;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cüzdan listesinin okuma modeli; JPQL constructor expression ile yalnızca yanıttaki kolonlar seçilir.
+ * Alan sırası ve adları Wallet entity'sinin JSON çıktısıyla aynıdır.
+ */
+public record WalletView(Long id,
+                         String walletName,
+                         Currency currency,
+                         Boolean activeForShopping,
+                         Boolean activeForWithdraw,
+                         Money balance,
+                         Money usableBalance,
+                         LocalDateTime createdAt) {
+}
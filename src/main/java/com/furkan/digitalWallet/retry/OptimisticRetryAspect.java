@@ -0,0 +1,85 @@
+package com.furkan.digitalWallet.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link RetryOnConflict} ile işaretli metotları optimistic lock çakışmasında yeniden dener.
+ * Transaction advice'ından önce çalışır; her deneme kendi transaction'ını açar.
+ * Metrik advice'ı bunun dışında kalır, ölçülen süre tüm denemeleri kapsar.
+ * Sayaçlar sınırlı etiketlerle (entity türü ve metot adı) tutulur; çakışan kaydın id'si yalnızca loglanır.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class OptimisticRetryAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetryAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${optimistic-retry.backoff-ms:20}")
+    private long backoffMs;
+
+    @Around("@annotation(com.furkan.digitalWallet.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                String entity = entityOf(ex);
+                String operation = joinPoint.getSignature().getName();
+                meterRegistry.counter("wallet.optimistic.conflicts", "entity", entity, "operation", operation)
+                        .increment();
+                if (attempt >= maxAttempts) {
+                    log.warn("Optimistic lock çakışması {} denemede çözülemedi: {} {}, id {}", attempt, operation,
+                            entity, idOf(ex));
+                    throw ex;
+                }
+                meterRegistry.counter("wallet.optimistic.retries", "entity", entity, "operation", operation)
+                        .increment();
+                Thread.sleep(backoff(attempt));
+            }
+        }
+    }
+
+    /**
+     * Üstel artan üst sınırla tam jitter: [0, backoffMs * 2^(attempt-1)] aralığında rastgele bekleme.
+     */
+    long backoff(int attempt) {
+        long ceiling = backoffMs << Math.min(attempt - 1, 10);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static String entityOf(OptimisticLockingFailureException ex) {
+        if (ex instanceof ObjectOptimisticLockingFailureException o && o.getPersistentClassName() != null) {
+            String name = o.getPersistentClassName();
+            return name.substring(name.lastIndexOf('.') + 1);
+        }
+        return "unknown";
+    }
+
+    private static String idOf(OptimisticLockingFailureException ex) {
+        if (ex instanceof ObjectOptimisticLockingFailureException o && o.getIdentifier() != null) {
+            return o.getIdentifier().toString();
+        }
+        return "unknown";
+    }
+}
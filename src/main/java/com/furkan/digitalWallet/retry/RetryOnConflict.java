@@ -0,0 +1,15 @@
+package com.furkan.digitalWallet.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Optimistic lock çakışmasında metodu yeni bir transaction ile yeniden çalıştırır.
+ * Deneme sayısı ve bekleme süresi optimistic-retry.* ayarlarından okunur.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
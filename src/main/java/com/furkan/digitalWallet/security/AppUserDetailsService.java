@@ -3,16 +3,11 @@ package com.furkan.digitalWallet.security;
 import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class AppUserDetailsService implements UserDetailsService {
@@ -23,8 +18,7 @@ public class AppUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Customer c = customerRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + c.getRole());
-        return new User(c.getUsername(), c.getPassword(), List.of(authority));
+        return new CustomerUserDetails(new CustomerPrincipal(c.getId(), c.getUsername(), c.getRole()), c.getPassword());
     }
 }
 
@@ -0,0 +1,24 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.enums.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * İsteği yapan müşterinin kimliği. JwtAuthFilter tarafından bir kez oluşturulup SecurityContext'e konur,
+ * controller'lara {@link CustomerPrincipalArgumentResolver} ile parametre olarak verilir.
+ */
+public record CustomerPrincipal(Long id, String username, Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
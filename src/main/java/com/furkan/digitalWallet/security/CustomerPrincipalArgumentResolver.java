@@ -0,0 +1,31 @@
+package com.furkan.digitalWallet.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Controller metotlarındaki CustomerPrincipal parametresini SecurityContext'ten doldurur; veritabanına gitmez.
+ */
+public class CustomerPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CustomerPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public CustomerPrincipal resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                             NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomerPrincipal principal) {
+            return principal;
+        }
+        throw new AuthenticationCredentialsNotFoundException("Kimliği doğrulanmış kullanıcı yok");
+    }
+}
@@ -0,0 +1,60 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Kullanıcı adı -> CustomerPrincipal cache'i. Her istekte yapılan müşteri sorgusunu kaldırır;
+ * rol veya kullanıcı değişikliği TTL dolunca ya da {@link #invalidate} ile yansır.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerPrincipalCache {
+
+    private final CustomerRepository customerRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, CustomerPrincipal> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+    }
+
+    /**
+     * @throws UsernameNotFoundException kullanıcı yoksa; bu durum cache'lenmez
+     */
+    public CustomerPrincipal get(String username) {
+        return cache.get(username, name -> customerRepository.findPrincipalByUsername(name)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+    }
+
+    public void put(CustomerPrincipal principal) {
+        cache.put(principal.username(), principal);
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
@@ -0,0 +1,21 @@
+package com.furkan.digitalWallet.security;
+
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Şifre doğrulaması için yüklenen kullanıcı; başarılı girişten sonra token üretmek için gereken
+ * id ve rol bilgisini de taşır, böylece login ikinci kez veritabanına gitmez.
+ */
+public class CustomerUserDetails extends User {
+
+    private final CustomerPrincipal principal;
+
+    public CustomerUserDetails(CustomerPrincipal principal, String password) {
+        super(principal.username(), password, principal.authorities());
+        this.principal = principal;
+    }
+
+    public CustomerPrincipal principal() {
+        return principal;
+    }
+}
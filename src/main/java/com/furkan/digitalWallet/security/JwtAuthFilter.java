@@ -5,22 +5,30 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * jwt.stateless=true iken kimlik, rol ve müşteri id'si doğrulanmış claim'lerden alınır; istek başına maliyet
+ * tek imza doğrulamasıdır. cid claim'i olmayan eski token'lar ve stateless=false için CustomerPrincipalCache kullanılır.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CustomerPrincipalCache principalCache;
+    private final TokenRevocationRegistry revocations;
+
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,18 +38,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        String token = authHeader.substring(7);
-        if (jwtService.isTokenValid(token)) {
-            String username = jwtService.extractUsername(token);
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        VerifiedToken token = jwtService.verify(authHeader.substring(7));
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            CustomerPrincipal principal = resolve(token);
+            if (principal != null && !revocations.isRevoked(principal.id(), token.tokenVersion())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.authorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private CustomerPrincipal resolve(VerifiedToken token) {
+        if (stateless && token.principal() != null) {
+            return token.principal();
+        }
+        if (token.username() == null) {
+            return null;
+        }
+        try {
+            return principalCache.get(token.username());
+        } catch (UsernameNotFoundException e) {
+            // Token'ın sahibi silinmiş; istek kimliksiz devam eder
+            return null;
+        }
+    }
+}
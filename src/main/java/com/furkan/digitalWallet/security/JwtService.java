@@ -1,33 +1,94 @@
 package com.furkan.digitalWallet.security;
 
+import com.furkan.digitalWallet.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
 
+/**
+ * İmza anahtarı ve parser açılışta bir kez oluşturulur; ikisi de thread-safe'dir.
+ * Doğrulanmış token'lar, token'ın kendi süresi dolana kadar küçük bir cache'te tutulur. Cache anahtarı
+ * token'ın SHA-256 özetidir; heap dökümünde geçerli kimlik bilgileri açıkta kalmaz.
+ */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_CUSTOMER_ID = "cid";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration:18000}")
     private long expirationSeconds;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * 0 cache'i kapatır; her istek imza doğrulamasından geçer.
+     */
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verified;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        if (verifiedCacheSize > 0) {
+            verified = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(new UntilTokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt");
+        }
     }
 
     public String generateToken(String username, String role) {
+        return generateToken(username, role == null ? Map.of() : Map.of(CLAIM_ROLE, role));
+    }
+
+    /**
+     * Stateless doğrulama için müşteri id'si, rol ve token versiyonunu da taşıyan token üretir.
+     */
+    public String generateToken(CustomerPrincipal principal, long tokenVersion) {
+        return generateToken(principal.username(), Map.of(
+                CLAIM_ROLE, principal.role().name(),
+                CLAIM_CUSTOMER_ID, principal.id(),
+                CLAIM_TOKEN_VERSION, tokenVersion));
+    }
+
+    private String generateToken(String username, Map<String, Object> claims) {
         Date now = new Date();
         Date exp = new Date(now.getTime() + expirationSeconds * 1000);
 
@@ -36,12 +97,11 @@ public class JwtService {
                 .setIssuedAt(now)
                 .setExpiration(exp);
 
-
-        if (role != null) {
-            builder.addClaims(Map.of("role", role));
+        if (!claims.isEmpty()) {
+            builder.addClaims(claims);
         }
 
-        return builder.signWith(getSigningKey(), SignatureAlgorithm.HS512)
+        return builder.signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
@@ -50,24 +110,90 @@ public class JwtService {
     }
 
     public String extractRole(String token) {
-        Object role = getAllClaims(token).get("role");
+        Object role = getAllClaims(token).get(CLAIM_ROLE);
         return role != null ? role.toString() : null;
     }
 
     public boolean isTokenValid(String token) {
+        return verify(token) != null;
+    }
+
+    /**
+     * İmzayı ve süreyi doğrular; aynı token tekrar geldiğinde süresi dolana kadar cache'ten döner.
+     * Cache anahtarı token'ın SHA-256 özetidir; yalnızca birebir aynı token eşleşir.
+     *
+     * @return token geçersiz veya süresi dolmuşsa null
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String key = verified != null ? digest(token) : null;
+        VerifiedToken cached = key != null ? verified.getIfPresent(key) : null;
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
+        try {
+            claims = getAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() == null || !claims.getExpiration().after(new Date())) {
+            return null;
+        }
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), principalOf(claims),
+                claims.get(CLAIM_TOKEN_VERSION, Long.class), claims.getExpiration().toInstant());
+        if (verified != null) {
+            verified.put(key, result);
+        }
+        return result;
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CustomerPrincipal principalOf(Claims claims) {
+        Long customerId = claims.get(CLAIM_CUSTOMER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (customerId == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
         try {
-            Claims claims = getAllClaims(token);
-            return claims.getExpiration().after(new Date());
-        } catch (Exception e) {
-            return false;
+            return new CustomerPrincipal(customerId, claims.getSubject(), Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 
     private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Girdiyi token'ın exp anında düşürür; okuma veya güncelleme süreyi uzatmaz.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long millis = value.expiresAt().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.max(0L, millis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
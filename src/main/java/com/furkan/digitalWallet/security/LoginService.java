@@ -0,0 +1,90 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Şifre doğrulamasını (BCrypt) Tomcat worker'larından ayrı, sabit boyutlu bir havuzda çalıştırır.
+ * Giriş yoğunluğu en fazla security.login.threads kadar çekirdeği meşgul eder; kuyruk doluysa
+ * istek beklemeden 503 ile reddedilir. Kuyruk derinliği, bekleme süresi ve red sayısı metrik olarak yayınlanır.
+ */
+@Service
+@RequiredArgsConstructor
+public class LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.login.threads:2}")
+    private int threads;
+
+    @Value("${security.login.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Timer queueWait;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("login.queue.size", executor, e -> e.getQueue().size())
+                .description("Şifre doğrulaması bekleyen giriş sayısı")
+                .register(meterRegistry);
+        Gauge.builder("login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Şu anda doğrulanan giriş sayısı")
+                .register(meterRegistry);
+        queueWait = Timer.builder("login.queue.wait")
+                .description("Girişin havuzda thread beklediği süre")
+                .register(meterRegistry);
+        rejected = Counter.builder("login.rejected")
+                .description("Kuyruk dolu olduğu için reddedilen girişler")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Kimlik bilgilerini login havuzunda doğrular.
+     *
+     * @return doğrulanan kullanıcı; hatalı kimlik bilgisinde AuthenticationException ile tamamlanır
+     * @throws ServiceUnavailableException kuyruk doluysa
+     */
+    public CompletableFuture<CustomerPrincipal> authenticate(String username, String password) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                Authentication auth = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(username, password));
+                return ((CustomerUserDetails) auth.getPrincipal()).principal();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Giriş kuyruğu dolu, lütfen tekrar deneyin");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.event.TokenVersionChangedEvent;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Müşteri başına geçerli en düşük token versiyonu; versiyonu bundan küçük token'lar, iptal yapılmışsa
+ * versiyonsuz token'lar da reddedilir. Versiyon customers.token_version kolonunda tutulur, yeniden başlatmada
+ * iptaller korunur. Her istekte sorgu atılmaması için versiyonlar cache'lenir; iptal bu uygulamada hemen,
+ * diğer uygulama örneklerinde en geç security.token-revocation.ttl-seconds sonra geçerli olur.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry {
+
+    private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.token-revocation.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.token-revocation.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<Long, Long> minVersions;
+
+    @PostConstruct
+    void init() {
+        minVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, minVersions, "token-revocation");
+    }
+
+    /**
+     * Yeni üretilecek token'a yazılacak versiyon. Bulunamayan müşteri için 0'dır.
+     */
+    public long currentVersion(Long customerId) {
+        return minVersions.get(customerId, id -> customerRepository.findTokenVersionById(id).orElse(0L));
+    }
+
+    /**
+     * Müşterinin şimdiye kadar aldığı tüm token'ları geçersiz kılar.
+     *
+     * @return bundan sonra üretilecek token'ların versiyonu
+     */
+    @Transactional
+    public long revokeAll(Long customerId) {
+        if (customerRepository.incrementTokenVersion(customerId) == 0) {
+            throw new NotFoundException("Müşteri bulunamadı");
+        }
+        long version = customerRepository.findTokenVersionById(customerId).orElseThrow();
+        eventPublisher.publishEvent(new TokenVersionChangedEvent(customerId, version));
+        minVersions.put(customerId, version);
+        return version;
+    }
+
+    public boolean isRevoked(Long customerId, Long tokenVersion) {
+        long min = currentVersion(customerId);
+        return tokenVersion == null ? min > 0 : tokenVersion < min;
+    }
+}
@@ -0,0 +1,12 @@
+package com.furkan.digitalWallet.security;
+
+import java.time.Instant;
+
+/**
+ * İmzası doğrulanmış token'ın filtrede kullanılan claim'leri; değiştirilemez olduğu için cache'te paylaşılabilir.
+ *
+ * @param principal    cid/role claim'i olmayan eski token'lar için null
+ * @param tokenVersion ver claim'i yoksa null
+ */
+public record VerifiedToken(String username, CustomerPrincipal principal, Long tokenVersion, Instant expiresAt) {
+}
@@ -0,0 +1,46 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.response.TransactionView;
+import com.furkan.digitalWallet.money.Money;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Tutara göre sıralı kuyrukta son görülen kaydın (amount, id) konumu.
+ * TransactionCursor ile aynı biçimde kodlanır; tutar alt birim cinsinden, sıralamanın yapıldığı para birimiyle
+ * birlikte yazılır. Alt birimler yalnızca aynı para biriminde karşılaştırılabilir, başka bir para biriminin
+ * kuyruğunda cursor reddedilir.
+ */
+record AmountCursor(Currency currency, Money amount, Long id) {
+
+    static AmountCursor of(Currency currency, TransactionView t) {
+        return new AmountCursor(currency, t.amount(), t.id());
+    }
+
+    String encode() {
+        String raw = currency + "|" + amount.minorUnits() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AmountCursor decode(String cursor, Currency expected) {
+        AmountCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("Geçersiz cursor");
+            }
+            decoded = new AmountCursor(Currency.valueOf(parts[0]), Money.ofMinor(Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Geçersiz cursor");
+        }
+        if (decoded.currency != expected) {
+            throw new BadRequestException("Geçersiz cursor");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,78 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.request.BulkDecisionRequest;
+import com.furkan.digitalWallet.response.BulkDecisionResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bekleyen işlemleri toplu onaylar/reddeder. Id listesi chunk'lara bölünür ve her chunk
+ * LedgerOperations.decideAll ile kendi transaction'ında işlenir; bir chunk'ın hatası
+ * önceki chunk'ların commit'ini geri almaz. Filtreyle seçimde tek istekte en fazla
+ * BulkDecisionRequest.MAX_IDS işlem (en eski id'ler) karara bağlanır; kalanlar için istek tekrarlanır.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkDecisionService {
+    private static final Logger log = LoggerFactory.getLogger(BulkDecisionService.class);
+
+    private final LedgerOperations ledgerOperations;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${bulk-decision.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkDecisionResponse decide(BulkDecisionRequest req) {
+        List<Long> ids = resolveIds(req);
+        Map<Long, String> failures = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            try {
+                failures.putAll(ledgerOperations.decideAll(chunk, req.getStatus()));
+            } catch (BadRequestException | NotFoundException | ServiceUnavailableException e) {
+                chunk.forEach(id -> failures.put(id, e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Toplu karar chunk'ı işlenemedi, ilk işlem {}", chunk.get(0), e);
+                chunk.forEach(id -> failures.put(id, "Beklenmeyen hata"));
+            }
+        }
+        return BulkDecisionResponse.of(ids.size(), failures);
+    }
+
+    private List<Long> resolveIds(BulkDecisionRequest req) {
+        if (req.getTransactionIds() != null && !req.getTransactionIds().isEmpty()) {
+            return new ArrayList<>(new LinkedHashSet<>(req.getTransactionIds()));
+        }
+        // Filtresiz istek sistemdeki tüm bekleyen işlemleri seçerdi
+        if (req.getWalletId() == null && req.getCurrency() == null
+                && req.getMinAmount() == null && req.getMaxAmount() == null) {
+            throw new BadRequestException("İşlem id'leri ya da en az bir filtre verilmelidir");
+        }
+        // Alt birimler yalnızca aynı para biriminde karşılaştırılabilir
+        Currency currency = req.getCurrency();
+        if (currency == null && (req.getMinAmount() != null || req.getMaxAmount() != null)) {
+            throw new BadRequestException("Tutar filtresi için para birimi verilmelidir");
+        }
+        return transactionRepository.findIdsByFilter(TransactionStatus.PENDING, req.getWalletId(), currency,
+                req.getMinAmount() != null ? Money.of(req.getMinAmount(), currency) : null,
+                req.getMaxAmount() != null ? Money.of(req.getMaxAmount(), currency) : null,
+                Limit.of(BulkDecisionRequest.MAX_IDS));
+    }
+}
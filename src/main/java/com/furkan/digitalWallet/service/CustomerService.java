@@ -1,19 +0,0 @@
-package com.furkan.digitalWallet.service;
-
-import com.furkan.digitalWallet.entity.Customer;
-import com.furkan.digitalWallet.exception.NotFoundException;
-import com.furkan.digitalWallet.repository.CustomerRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-
-@Service
-@RequiredArgsConstructor
-public class CustomerService {
-    private final CustomerRepository customerRepository;
-
-    public Customer getByUsername(String username) {
-        return customerRepository.findByUsername(username)
-                .orElseThrow(() -> new NotFoundException("Kullanıcı bulunamadı: " + username));
-    }
-}
-
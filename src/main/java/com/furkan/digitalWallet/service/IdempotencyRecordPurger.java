@@ -0,0 +1,66 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * idempotency.retention-minutes'tan eski Idempotency-Key kayıtlarını arka planda sabit aralıkla siler.
+ * Silinen bir anahtarla gelen istek yeni bir işlem sayılır; saklama süresi istemcilerin tekrar deneme
+ * penceresinden uzun tutulmalıdır.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyRecordPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyRecordPurger.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${idempotency.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${idempotency.purge-interval-ms:3600000}")
+    private long intervalMs;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("idempotency-purge-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(this::purge, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void purge() {
+        try {
+            int deleted = idempotencyRecordRepository.deleteCreatedBefore(
+                    LocalDateTime.now().minusMinutes(retentionMinutes));
+            if (deleted > 0) {
+                log.info("{} eski Idempotency-Key kaydı silindi", deleted);
+            }
+        } catch (RuntimeException e) {
+            // Hata zamanlanmış görevi iptal etmemeli; bir sonraki turda yeniden denenir
+            log.warn("Idempotency-Key kayıtları temizlenemedi: {}", e.getMessage());
+        }
+    }
+}
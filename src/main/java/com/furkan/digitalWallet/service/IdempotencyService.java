@@ -0,0 +1,223 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.entity.IdempotencyRecord;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.ConflictException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Idempotency-Key ile gelen deposit/withdraw isteklerinin tekrarlarını ilk sonuçla cevaplar.
+ * Tekrarlar önce bellek içi cache'ten, yoksa idempotency_keys tablosundan karşılanır; her iki
+ * durumda da WalletService'e hiç gidilmez. Anahtar, işlemden önce unique kısıtlı tabloya yazılarak
+ * rezerve edilir; aynı anahtarla eşzamanlı gelen ikinci istek 409 alır. Rezervasyon, işlem satırını yazan
+ * DB transaction'ında tamamlanır (LedgerOperations'a rezervasyon id'si verilir), bu yüzden tamamlanmamış bir
+ * rezervasyonun işlemi commit edilmemiştir. Böyle bir rezervasyon (çökme ya da sonucu belirsiz hata)
+ * idempotency.reservation-timeout-seconds sonra aynı anahtarla gelen isteğe devredilir; devredilen rezervasyonun
+ * geç kalan işlemi tamamlama adımında geri alınır. Anahtar farklı bir istekle (requestHash) tekrar kullanılırsa
+ * 409 verilir. Eski kayıtları IdempotencyRecordPurger siler.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Bir cache girdisinin yaklaşık boyutu (64-bit JVM, compressed oops): Transaction ve alanları,
+     * tarih nesneleri, anahtar ve sonuç nesneleri, Caffeine düğümü. String içerikleri ayrıca eklenir.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 400;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionRepository transactionRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${idempotency.cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    @Value("${idempotency.cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.reservation-timeout-seconds:600}")
+    private long reservationTimeoutSeconds;
+
+    private Cache<CacheKey, Completed> cache;
+    private Counter misses;
+    private Counter cacheReplays;
+    private Counter databaseReplays;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(IdempotencyService::estimateBytes)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+        Gauge.builder("idempotency.cache.estimated.size", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .baseUnit("bytes")
+                .description("Idempotency cache'inin tahmini bellek kullanımı")
+                .register(meterRegistry);
+        misses = meterRegistry.counter("idempotency.requests", "result", "miss");
+        cacheReplays = meterRegistry.counter("idempotency.requests", "result", "cache");
+        databaseReplays = meterRegistry.counter("idempotency.requests", "result", "database");
+    }
+
+    /**
+     * Anahtar yoksa işlemi rezervasyonsuz (null) çalıştırır. Anahtar daha önce aynı istekle tamamlanmış bir
+     * işleme aitse o işlemi döner. operation, aldığı rezervasyon id'sini işlem satırıyla aynı transaction'da
+     * tamamlamalıdır. İşlem etkisiz kaldığı bilinen bir hatayla (iş kuralı reti, bulunamayan kayıt, tükenen
+     * çakışma denemeleri) biterse rezervasyon silinir ve istemci aynı anahtarla tekrar deneyebilir. Ledger
+     * zaman aşımı gibi sonucu belirsiz hatalarda rezervasyon kalır; tekrar eden istek, rezervasyon eskiyene
+     * kadar 409 alır.
+     *
+     * @param requestHash isteğin {@link #requestHash} özeti
+     */
+    public Transaction execute(Long customerId, String idempotencyKey, TransactionType type, String requestHash,
+                               Function<Long, Transaction> operation) {
+        if (idempotencyKey == null) {
+            return operation.apply(null);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Geçersiz Idempotency-Key");
+        }
+
+        CacheKey key = new CacheKey(customerId, idempotencyKey);
+        Completed cached = cache.getIfPresent(key);
+        if (cached != null) {
+            checkRequest(cached.transaction().getType(), cached.requestHash(), type, requestHash);
+            cacheReplays.increment();
+            return cached.transaction();
+        }
+
+        Optional<IdempotencyRecord> existing =
+                idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey);
+        if (existing.isPresent() && !releaseIfStale(existing.get())) {
+            return replay(key, existing.get(), type, requestHash);
+        }
+
+        IdempotencyRecord reservation;
+        try {
+            reservation = idempotencyRecordRepository.saveAndFlush(
+                    new IdempotencyRecord(null, customerId, idempotencyKey, type, requestHash, null,
+                            LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Aynı anahtar eşzamanlı başka bir istekle rezerve edildi
+            return idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+                    .map(record -> replay(key, record, type, requestHash))
+                    .orElseThrow(() -> e);
+        }
+
+        misses.increment();
+        Transaction result;
+        try {
+            result = operation.apply(reservation.getId());
+        } catch (BadRequestException | NotFoundException | OptimisticLockingFailureException e) {
+            idempotencyRecordRepository.deleteById(reservation.getId());
+            throw e;
+        }
+        cache.put(key, new Completed(result, requestHash));
+        return result;
+    }
+
+    private boolean releaseIfStale(IdempotencyRecord record) {
+        if (record.getTransactionId() != null) {
+            return false;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(reservationTimeoutSeconds);
+        if (!record.getCreatedAt().isBefore(cutoff)
+                || idempotencyRecordRepository.deleteStaleReservation(record.getId(), cutoff) == 0) {
+            return false;
+        }
+        log.warn("Tamamlanmamış Idempotency-Key rezervasyonu devralındı: müşteri {}, {} tarihli",
+                record.getCustomerId(), record.getCreatedAt());
+        return true;
+    }
+
+    private Transaction replay(CacheKey key, IdempotencyRecord record, TransactionType type, String requestHash) {
+        checkRequest(record.getType(), record.getRequestHash(), type, requestHash);
+        if (record.getTransactionId() == null) {
+            throw new ConflictException("Bu Idempotency-Key ile işlem devam ediyor");
+        }
+        Transaction t = transactionRepository.findById(record.getTransactionId())
+                .orElseThrow(() -> new ConflictException("Bu Idempotency-Key ile işlem devam ediyor"));
+        databaseReplays.increment();
+        cache.put(key, new Completed(t, record.getRequestHash()));
+        return t;
+    }
+
+    /**
+     * Özeti olmayan eski kayıtlarda yalnızca işlem tipi karşılaştırılır.
+     */
+    private static void checkRequest(TransactionType storedType, String storedHash,
+                                     TransactionType type, String requestHash) {
+        if (storedType != type) {
+            throw new BadRequestException("Idempotency-Key başka bir işlem için kullanılmış");
+        }
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            throw new ConflictException("Idempotency-Key farklı bir istek için kullanılmış");
+        }
+    }
+
+    /**
+     * Anahtarın bağlandığı isteğin SHA-256 özeti. Tutar ölçekten bağımsızdır (100 ile 100.00 aynı istektir).
+     */
+    public static String requestHash(Long walletId, BigDecimal amount, OppositePartyType oppositePartyType,
+                                     String oppositeParty) {
+        String raw = walletId + "|" + amount.stripTrailingZeros().toPlainString() + "|" + oppositePartyType
+                + "|" + oppositeParty;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static int estimateBytes(CacheKey key, Completed completed) {
+        Transaction t = completed.transaction();
+        int oppositeParty = t.getOppositeParty() != null ? t.getOppositeParty().length() : 0;
+        int requestHash = completed.requestHash() != null ? completed.requestHash().length() : 0;
+        return ENTRY_OVERHEAD_BYTES + 2 * (key.idempotencyKey().length() + oppositeParty + requestHash);
+    }
+
+    record CacheKey(Long customerId, String idempotencyKey) {
+    }
+
+    record Completed(Transaction transaction, String requestHash) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.request.BatchTransactionItem;
+import com.furkan.digitalWallet.request.DepositRequest;
+import com.furkan.digitalWallet.request.TransactionDecisionRequest;
+import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.response.BatchItemResult;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bakiyeyi değiştiren işlemler. Varsayılan uygulama JPA tabanlı {@link TransactionService};
+ * ledger.mode=engine ile tek yazıcılı bellek içi ledger motoru devreye girer.
+ */
+public interface LedgerOperations {
+    /**
+     * @param idempotencyRecordId null değilse işlem satırıyla aynı DB transaction'ında tamamlanan
+     *                            Idempotency-Key rezervasyonu; rezervasyon devredilmişse işlem geri alınır (409)
+     */
+    Transaction deposit(DepositRequest req, CustomerPrincipal actingUser, Long idempotencyRecordId);
+
+    /**
+     * @param idempotencyRecordId bkz. {@link #deposit}
+     */
+    Transaction withdraw(WithdrawRequest req, CustomerPrincipal actingUser, Long idempotencyRecordId);
+
+    Transaction decide(Long transactionId, TransactionDecisionRequest req);
+
+    /**
+     * Bekleyen işlemleri aynı kararla toplu onaylar/reddeder.
+     *
+     * @return başarısız işlemler: işlem id -> hata mesajı
+     */
+    Map<Long, String> decideAll(List<Long> transactionIds, TransactionStatus status);
+
+    /**
+     * Deposit/withdraw kalemlerini toplu işler. Bir kalemin hatası diğerlerini etkilemez;
+     * sonuçlar istekteki sırayla döner.
+     */
+    List<BatchItemResult> batch(List<BatchTransactionItem> items, CustomerPrincipal actingUser);
+}
@@ -0,0 +1,36 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.response.TransactionView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * İşlem geçmişi sayfalamasında son görülen kaydın (createdAt, id) konumu.
+ * İstemciye base64url ile kodlanmış, içeriği anlamsız bir string olarak verilir.
+ */
+record TransactionCursor(LocalDateTime createdAt, Long id) {
+
+    static TransactionCursor of(TransactionView t) {
+        return new TransactionCursor(t.createdAt(), t.id());
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Geçersiz cursor");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.furkan.digitalWallet.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkan.digitalWallet.datasource.ReadFromReplica;
+import com.furkan.digitalWallet.enums.ExportFormat;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.response.TransactionView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Cüzdanın tüm işlem geçmişini listeye almadan doğrudan çıktı akışına yazar.
+ * Satırlar fetch size kadar okunur ve persistence context'e girmeyen TransactionView olarak yazılır,
+ * böylece bellek kullanımı geçmişin uzunluğundan bağımsızdır.
+ * Erişim kontrolü çağıran tarafından yapılmış olmalıdır.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    static final String CSV_HEADER =
+            "id,createdAt,updatedAt,type,status,amount,oppositePartyType,oppositeParty";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return yazılan işlem sayısı
+     */
+    @ReadFromReplica
+    @Transactional(readOnly = true)
+    public long export(Long walletId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TransactionView> rows = transactionRepository.streamByWalletId(walletId)) {
+            return format == ExportFormat.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<TransactionView> rows, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(new SerializedString("\n"));
+        while (rows.hasNext()) {
+            TransactionView t = rows.next();
+            gen.writeObject(t);
+            count++;
+        }
+        if (count > 0) {
+            gen.writeRaw('\n');
+        }
+        gen.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<TransactionView> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            TransactionView t = rows.next();
+            writer.write(String.valueOf(t.id()));
+            writer.write(',');
+            writer.write(String.valueOf(t.createdAt()));
+            writer.write(',');
+            writer.write(t.updatedAt() != null ? t.updatedAt().toString() : "");
+            writer.write(',');
+            writer.write(t.type().name());
+            writer.write(',');
+            writer.write(t.status().name());
+            writer.write(',');
+            writer.write(t.amount().toString());
+            writer.write(',');
+            writer.write(t.oppositePartyType().name());
+            writer.write(',');
+            writer.write(csvField(t.oppositeParty()));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,36 +1,70 @@
 package com.furkan.digitalWallet.service;
 
-import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.datasource.ReadFromReplica;
 import com.furkan.digitalWallet.entity.Transaction;
 import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
 import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.PendingSort;
 import com.furkan.digitalWallet.enums.TransactionStatus;
 import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.event.TransactionSavedEvent;
 import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.ConflictException;
 import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.RejectionReason;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
 import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.request.BatchTransactionItem;
 import com.furkan.digitalWallet.request.DepositRequest;
 import com.furkan.digitalWallet.request.TransactionDecisionRequest;
 import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.response.BatchItemResult;
+import com.furkan.digitalWallet.response.TransactionPage;
+import com.furkan.digitalWallet.response.TransactionView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
-public class TransactionService {
+public class TransactionService implements LedgerOperations {
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
     private final WalletService walletService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
 
+    @RetryOnConflict
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
+    @Override
     public Transaction decide(Long transactionId, TransactionDecisionRequest req) {
         Transaction t = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new NotFoundException("İşlem bulunamadı"));
@@ -50,54 +84,258 @@ public class TransactionService {
         }
 
         t.setUpdatedAt(LocalDateTime.now());
-        return transactionRepository.save(t);
+        return saveAndPublish(t);
+    }
+
+    /**
+     * İşlemler cüzdanlarıyla tek sorguda yüklenir, bakiye farkları cüzdan başına toplanarak
+     * tek güncellemede uygulanır. Bulunamayan ya da bekleyen olmayan işlemler atlanıp
+     * hata olarak döner; cüzdan çakışmasında tüm çağrı yeniden denenir.
+     */
+    @RetryOnConflict
+    @Transactional(
+            isolation = Isolation.READ_COMMITTED,
+            rollbackFor = Exception.class
+    )
+    @Override
+    public Map<Long, String> decideAll(List<Long> transactionIds, TransactionStatus status) {
+        if (status != TransactionStatus.APPROVED && status != TransactionStatus.DENIED) {
+            throw new BadRequestException("Geçersiz durum");
+        }
+        Map<Long, Transaction> loaded = new HashMap<>();
+        for (Transaction t : transactionRepository.findAllWithWalletByIdIn(transactionIds)) {
+            loaded.put(t.getId(), t);
+        }
+
+        Map<Long, String> failures = new LinkedHashMap<>();
+        Map<Long, List<Transaction>> byWallet = new LinkedHashMap<>();
+        for (Long transactionId : transactionIds) {
+            Transaction t = loaded.get(transactionId);
+            if (t == null) {
+                failures.put(transactionId, "İşlem bulunamadı");
+            } else if (t.getStatus() != TransactionStatus.PENDING) {
+                failures.put(transactionId, "Sadece bekleyen işlemler onay/ret edilebilir");
+            } else {
+                byWallet.computeIfAbsent(t.getWallet().getId(), id -> new ArrayList<>()).add(t);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Transaction> group : byWallet.values()) {
+            walletService.applyDecisions(group.get(0).getWallet(), group, status);
+            for (Transaction t : group) {
+                t.setStatus(status);
+                t.setUpdatedAt(now);
+                eventPublisher.publishEvent(new TransactionSavedEvent(t));
+            }
+        }
+        return failures;
     }
 
+    @RetryOnConflict
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
-    public Transaction deposit(DepositRequest req, Customer actingUser) {
+    @Override
+    public Transaction deposit(DepositRequest req, CustomerPrincipal actingUser, Long idempotencyRecordId) {
         Wallet wallet = walletService.processDeposit(req, actingUser);
+        Money amount = Money.of(req.getAmount(), wallet.getCurrency());
 
-        Transaction t = createTransaction(wallet, req.getAmount(), TransactionType.DEPOSIT,
+        Transaction t = createTransaction(wallet, amount, TransactionType.DEPOSIT,
                 req.getOppositePartyType(), req.getSource());
 
-        boolean isPending = req.getAmount().compareTo(BigDecimal.valueOf(1000)) > 0;
-        t.setStatus(isPending ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+        t.setStatus(WalletService.isPending(amount) ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
 
-        return transactionRepository.save(t);
+        return completeIdempotencyKey(idempotencyRecordId, saveAndPublish(t));
     }
 
+    @RetryOnConflict
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
-    public Transaction withdraw(WithdrawRequest req, Customer actingUser) {
+    @Override
+    public Transaction withdraw(WithdrawRequest req, CustomerPrincipal actingUser, Long idempotencyRecordId) {
         Wallet wallet = walletService.processWithdraw(req, actingUser);
+        Money amount = Money.of(req.getAmount(), wallet.getCurrency());
 
-        Transaction t = createTransaction(wallet, req.getAmount(), TransactionType.WITHDRAW,
+        Transaction t = createTransaction(wallet, amount, TransactionType.WITHDRAW,
                 req.getOppositePartyType(), req.getDestination());
 
-        boolean isPending = req.getAmount().compareTo(BigDecimal.valueOf(1000)) > 0;
-        t.setStatus(isPending ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+        t.setStatus(WalletService.isPending(amount) ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+
+        return completeIdempotencyKey(idempotencyRecordId, saveAndPublish(t));
+    }
+
+    /**
+     * Kalemler cüzdana göre gruplanır; her grup kendi transaction'ında, cüzdan satır kilidi altında
+     * işlenir. Bakiye farkı grup başına tek güncelleme, işlem satırları tek saveAll ile yazılır.
+     * İş kuralına takılan kalem yalnızca kendisi başarısız olur; grubun transaction'ı hata alırsa
+     * o grubun tüm kalemleri başarısız döner.
+     */
+    @Override
+    public List<BatchItemResult> batch(List<BatchTransactionItem> items, CustomerPrincipal actingUser) {
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        Map<Long, List<Integer>> byWallet = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            byWallet.computeIfAbsent(items.get(i).getWalletId(), id -> new ArrayList<>()).add(i);
+        }
 
-        return transactionRepository.save(t);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        byWallet.forEach((walletId, indexes) -> {
+            try {
+                tx.executeWithoutResult(status -> applyWalletBatch(walletId, indexes, items, actingUser, results));
+            } catch (BadRequestException | NotFoundException e) {
+                indexes.forEach(i -> results[i] = BatchItemResult.failed(i, e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Batch grubu işlenemedi, cüzdan {}", walletId, e);
+                indexes.forEach(i -> results[i] = BatchItemResult.failed(i, "Beklenmeyen hata"));
+            }
+        });
+        return Arrays.asList(results);
     }
 
+    private void applyWalletBatch(Long walletId, List<Integer> indexes, List<BatchTransactionItem> items,
+                                  CustomerPrincipal actingUser, BatchItemResult[] results) {
+        Wallet wallet = walletService.lockWalletForAccess(walletId, actingUser);
+        Money balance = wallet.getBalance();
+        Money usableBalance = wallet.getUsableBalance();
+        List<Integer> appliedIndexes = new ArrayList<>(indexes.size());
+        List<Transaction> rows = new ArrayList<>(indexes.size());
+
+        for (int i : indexes) {
+            BatchTransactionItem item = items.get(i);
+            try {
+                Money amount = Money.of(item.getAmount(), wallet.getCurrency());
+                boolean pending = WalletService.isPending(amount);
+                if (item.getType() == TransactionType.DEPOSIT) {
+                    balance = balance.plus(amount);
+                    usableBalance = pending ? usableBalance : usableBalance.plus(amount);
+                } else {
+                    WalletService.validateWalletForWithdraw(wallet, item.getOppositePartyType());
+                    if (usableBalance.isLessThan(amount)) {
+                        throw new BadRequestException(RejectionReason.INSUFFICIENT_BALANCE);
+                    }
+                    usableBalance = usableBalance.minus(amount);
+                    balance = pending ? balance : balance.minus(amount);
+                }
+                Transaction t = createTransaction(wallet, amount, item.getType(),
+                        item.getOppositePartyType(), item.getOppositeParty());
+                t.setStatus(pending ? TransactionStatus.PENDING : TransactionStatus.APPROVED);
+                rows.add(t);
+                appliedIndexes.add(i);
+            } catch (BadRequestException e) {
+                results[i] = BatchItemResult.failed(i, e.getMessage());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        walletService.applyBalanceChange(wallet, balance.minus(wallet.getBalance()),
+                usableBalance.minus(wallet.getUsableBalance()));
+        List<Transaction> saved = transactionRepository.saveAll(rows);
+        for (int k = 0; k < saved.size(); k++) {
+            eventPublisher.publishEvent(new TransactionSavedEvent(saved.get(k)));
+            results[appliedIndexes.get(k)] = BatchItemResult.succeeded(appliedIndexes.get(k), saved.get(k));
+        }
+    }
+
+    /**
+     * Cüzdan geçmişini en yeniden eskiye keyset sayfalamayla döner. Bir fazla kayıt okunarak
+     * sonraki sayfanın olup olmadığı ek bir count sorgusu olmadan anlaşılır.
+     */
+    @ReadFromReplica
     @Transactional(readOnly = true)
-    public List<Transaction> listTransactions(Long walletId, Customer actingUser) {
-        Wallet wallet = walletService.getWalletForAccess(walletId, actingUser);
-        return transactionRepository.findByWalletOrderByCreatedAtDesc(wallet);
+    public TransactionPage listTransactions(Long walletId, String cursor, int limit, CustomerPrincipal actingUser) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Geçersiz sayfa boyutu");
+        }
+        TransactionCursor after = cursor != null ? TransactionCursor.decode(cursor) : null;
+        walletService.getWalletForAccess(walletId, actingUser);
+
+        List<TransactionView> rows = after == null
+                ? transactionRepository.findFirstPage(walletId, Limit.of(limit + 1))
+                : transactionRepository.findPageAfter(walletId, after.createdAt(), after.id(), Limit.of(limit + 1));
+        return toPage(rows, limit, t -> TransactionCursor.of(t).encode());
     }
 
+    /**
+     * Çalışanlar için onay bekleyen işlem kuyruğu; para birimi ve tutar aralığıyla süzülür, yaşa ya da tutara
+     * göre keyset sayfalamayla döner. Her iki sıralama da status ile başlayan bir index'i sırayla okur.
+     * Tutarlar alt birim cinsinden karşılaştırıldığı için tutar filtresi ve tutar sıralaması para birimi ister.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage listPending(Currency currency, BigDecimal minAmount, BigDecimal maxAmount,
+                                       PendingSort sort, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Geçersiz sayfa boyutu");
+        }
+        if (currency == null && (minAmount != null || maxAmount != null || sort == PendingSort.AMOUNT)) {
+            throw new BadRequestException("Tutar filtresi ve tutar sıralaması için para birimi verilmelidir");
+        }
+        Money min = minAmount != null ? Money.of(minAmount, currency) : null;
+        Money max = maxAmount != null ? Money.of(maxAmount, currency) : null;
+        if (min != null && max != null && min.isGreaterThan(max)) {
+            throw new BadRequestException("Geçersiz tutar aralığı");
+        }
+        TransactionStatus pending = TransactionStatus.PENDING;
+        Limit fetch = Limit.of(limit + 1);
+
+        if (sort == PendingSort.AMOUNT) {
+            AmountCursor after = cursor != null ? AmountCursor.decode(cursor, currency) : null;
+            List<TransactionView> rows = after == null
+                    ? transactionRepository.findQueueByAmount(pending, currency, min, max, fetch)
+                    : transactionRepository.findQueueByAmountAfter(pending, currency, min, max,
+                    after.amount(), after.id(), fetch);
+            return toPage(rows, limit, t -> AmountCursor.of(currency, t).encode());
+        }
+        TransactionCursor after = cursor != null ? TransactionCursor.decode(cursor) : null;
+        List<TransactionView> rows = after == null
+                ? transactionRepository.findQueueByAge(pending, currency, min, max, fetch)
+                : transactionRepository.findQueueByAgeAfter(pending, currency, min, max,
+                after.createdAt(), after.id(), fetch);
+        return toPage(rows, limit, t -> TransactionCursor.of(t).encode());
+    }
+
+    /**
+     * limit + 1 okunan satırlardan sayfayı keser; fazla satır varsa son öğenin cursor'ını ekler.
+     */
+    private static TransactionPage toPage(List<TransactionView> rows, int limit,
+                                          Function<TransactionView, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new TransactionPage(rows, null);
+        }
+        List<TransactionView> page = rows.subList(0, limit);
+        return new TransactionPage(page, cursorOf.apply(page.get(limit - 1)));
+    }
+
+    @ReadFromReplica
     @Transactional(readOnly = true)
     public Transaction findById(Long transactionId) {
         return transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new NotFoundException("İşlem bulunamadı"));
     }
 
-    private Transaction createTransaction(Wallet wallet, BigDecimal amount, TransactionType type,
+    /**
+     * Rezervasyon işlem satırıyla birlikte commit edilir; devredilmişse transaction geri alınır.
+     */
+    private Transaction completeIdempotencyKey(Long idempotencyRecordId, Transaction t) {
+        if (idempotencyRecordId != null && idempotencyRecordRepository.complete(idempotencyRecordId, t.getId()) == 0) {
+            throw new ConflictException("Idempotency-Key rezervasyonu başka bir isteğe devredilmiş");
+        }
+        return t;
+    }
+
+    private Transaction saveAndPublish(Transaction t) {
+        Transaction saved = transactionRepository.save(t);
+        eventPublisher.publishEvent(new TransactionSavedEvent(saved));
+        return saved;
+    }
+
+    private Transaction createTransaction(Wallet wallet, Money amount, TransactionType type,
                                           OppositePartyType oppositePartyType, String oppositeParty) {
         Transaction t = new Transaction();
         t.setWallet(wallet);
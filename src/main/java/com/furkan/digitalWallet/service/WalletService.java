@@ -1,5 +1,6 @@
 package com.furkan.digitalWallet.service;
 
+import com.furkan.digitalWallet.datasource.ReadFromReplica;
 import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Transaction;
 import com.furkan.digitalWallet.entity.Wallet;
@@ -7,40 +8,54 @@ import com.furkan.digitalWallet.enums.Currency;
 import com.furkan.digitalWallet.enums.OppositePartyType;
 import com.furkan.digitalWallet.enums.TransactionStatus;
 import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.event.BalanceChangedEvent;
+import com.furkan.digitalWallet.event.WalletCreatedEvent;
 import com.furkan.digitalWallet.exception.BadRequestException;
 import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.RejectionReason;
+import com.furkan.digitalWallet.money.Money;
 import com.furkan.digitalWallet.repository.CustomerRepository;
 import com.furkan.digitalWallet.repository.WalletRepository;
 import com.furkan.digitalWallet.request.DepositRequest;
 import com.furkan.digitalWallet.request.WalletCreateRequest;
 import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.response.WalletView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
 import com.furkan.digitalWallet.security.SecurityUtil;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class WalletService {
+    static final Money PENDING_THRESHOLD = Money.ofMajor(1000);
+
     private final WalletRepository walletRepository;
     private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Transactional(
             isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
-    public Wallet createWallet(WalletCreateRequest req, Customer actingUser) {
+    public Wallet createWallet(WalletCreateRequest req, CustomerPrincipal actingUser) {
         Long customerId = (SecurityUtil.hasRole("EMPLOYEE") && req.getCustomerId() != null)
-                ? req.getCustomerId() : actingUser.getId();
+                ? req.getCustomerId() : actingUser.id();
 
         if (!customerRepository.existsById(customerId)) {
             throw new NotFoundException("Müşteri bulunamadı: " + customerId);
         }
-        if (walletRepository.existsByCustomerIdAndWalletNameIgnoreCase(customerId, req.getWalletName())) {
+        if (walletRepository.existsByCustomerIdAndWalletNameNormalized(customerId,
+                Wallet.normalizeName(req.getWalletName()))) {
             throw new BadRequestException("Aynı isimde cüzdan mevcut");
         }
         Wallet w = new Wallet();
@@ -50,128 +65,202 @@ public class WalletService {
         w.setCurrency(req.getCurrency());
         w.setActiveForShopping(req.getActiveForShopping() != null ? req.getActiveForShopping() : Boolean.TRUE);
         w.setActiveForWithdraw(req.getActiveForWithdraw() != null ? req.getActiveForWithdraw() : Boolean.TRUE);
-        return walletRepository.save(w);
+        Wallet saved;
+        try {
+            saved = walletRepository.saveAndFlush(w);
+        } catch (DataIntegrityViolationException e) {
+            // Aynı isim eşzamanlı başka bir istekle oluşturuldu (uk_wallets_customer_name)
+            throw new BadRequestException("Aynı isimde cüzdan mevcut");
+        }
+        eventPublisher.publishEvent(new WalletCreatedEvent(saved));
+        return saved;
     }
 
+    @ReadFromReplica
     @Transactional(readOnly = true)
-    public List<Wallet> listWallets(Long customerId, Currency currency, Customer actingUser) {
-        Long cid = SecurityUtil.hasRole("EMPLOYEE") ? (customerId != null ? customerId : actingUser.getId()) : actingUser.getId();
+    public List<WalletView> listWallets(Long customerId, Currency currency, CustomerPrincipal actingUser) {
+        Long cid = SecurityUtil.hasRole("EMPLOYEE") ? (customerId != null ? customerId : actingUser.id()) : actingUser.id();
         if (currency != null) return walletRepository.findByCustomerIdAndCurrency(cid, currency);
         return walletRepository.findByCustomerId(cid);
     }
 
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
-    public Wallet updateBalance(Long walletId, BigDecimal balanceChange, BigDecimal usableBalanceChange) {
+    public Wallet updateBalance(Long walletId, Money balanceChange, Money usableBalanceChange) {
         Wallet wallet = walletRepository.findById(walletId)
                 .orElseThrow(() -> new NotFoundException("Cüzdan bulunamadı"));
 
-        if (balanceChange != null) {
-            wallet.setBalance(wallet.getBalance().add(balanceChange));
-        }
-
-        if (usableBalanceChange != null) {
-            wallet.setUsableBalance(wallet.getUsableBalance().add(usableBalanceChange));
-        }
+        Money balance = balanceChange != null ? balanceChange : Money.ZERO;
+        Money usable = usableBalanceChange != null ? usableBalanceChange : Money.ZERO;
+        walletRepository.adjustBalances(walletId, balance, usable);
+        eventPublisher.publishEvent(new BalanceChangedEvent(walletId, balance, usable));
 
-        return walletRepository.save(wallet);
+        return reload(wallet);
     }
 
     /**
-     * TransactionService tarafından çağrılan transaction decision işlemi
-     * REQUIRES_NEW propagation ile ayrı transaction'da çalışır
+     * TransactionService tarafından çağrılan transaction decision işlemi.
+     * Wallet @Version ile korunur; eşzamanlı bir bakiye değişikliği commit sırasında
+     * optimistic lock hatası üretir ve TransactionService.decide yeniden denenir.
      */
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
     public Wallet processTransactionDecision(Transaction transaction, TransactionStatus newStatus) {
         Wallet w = transaction.getWallet();
+        BalanceDelta delta = decisionDelta(transaction, newStatus);
 
-        if (newStatus == TransactionStatus.APPROVED) {
-            if (transaction.getType() == TransactionType.DEPOSIT) {
-                // Deposit onay: usable balance'a ekle
-                w.setUsableBalance(w.getUsableBalance().add(transaction.getAmount()));
-            } else {
-                // Withdraw onay: balance'dan düş
-                w.setBalance(w.getBalance().subtract(transaction.getAmount()));
-            }
-        } else if (newStatus == TransactionStatus.DENIED) {
-            if (transaction.getType() == TransactionType.DEPOSIT) {
-                // Deposit red: balance'dan geri al
-                w.setBalance(w.getBalance().subtract(transaction.getAmount()));
-            } else {
-                // Withdraw red: usable balance'a geri ver
-                w.setUsableBalance(w.getUsableBalance().add(transaction.getAmount()));
-            }
-        }
+        w.setBalance(w.getBalance().plus(delta.balance()));
+        w.setUsableBalance(w.getUsableBalance().plus(delta.usableBalance()));
+        Wallet saved = walletRepository.save(w);
+        eventPublisher.publishEvent(new BalanceChangedEvent(w.getId(), delta.balance(), delta.usableBalance()));
+        return saved;
+    }
 
-        return walletRepository.save(w);
+    /**
+     * Aynı cüzdana ait bekleyen işlemlerin kararlarını tek bakiye değişikliğinde toplar.
+     * Cüzdan @Version ile korunur; çakışmada çağıran transaction yeniden denenir.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Wallet applyDecisions(Wallet wallet, List<Transaction> transactions, TransactionStatus newStatus) {
+        Money balanceChange = Money.ZERO;
+        Money usableChange = Money.ZERO;
+        for (Transaction t : transactions) {
+            BalanceDelta delta = decisionDelta(t, newStatus);
+            balanceChange = balanceChange.plus(delta.balance());
+            usableChange = usableChange.plus(delta.usableBalance());
+        }
+        return applyBalanceChange(wallet, balanceChange, usableChange);
     }
 
+    /**
+     * Bakiye değişikliği WalletRepository üzerinden tek bir UPDATE ile yapılır;
+     * dönen Wallet entity'si UPDATE sonrası bakiye ve versiyonla yeniden okunmuştur.
+     */
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
-    public Wallet processDeposit(DepositRequest req, Customer actingUser) {
+    public Wallet processDeposit(DepositRequest req, CustomerPrincipal actingUser) {
         Wallet wallet = getWalletForAccess(req.getWalletId(), actingUser);
 
-        boolean isPending = req.getAmount().compareTo(BigDecimal.valueOf(1000)) > 0;
-        if (isPending) {
-            // Pending deposit: sadece balance'a ekle
-            wallet.setBalance(wallet.getBalance().add(req.getAmount()));
-        } else {
-            // Approved deposit: hem balance hem usableBalance'a ekle
-            wallet.setBalance(wallet.getBalance().add(req.getAmount()));
-            wallet.setUsableBalance(wallet.getUsableBalance().add(req.getAmount()));
-        }
+        Money amount = Money.of(req.getAmount(), wallet.getCurrency());
+
+        // Pending deposit: sadece balance'a ekle
+        // Approved deposit: hem balance hem usableBalance'a ekle
+        Money usableChange = isPending(amount) ? Money.ZERO : amount;
+        walletRepository.adjustBalances(wallet.getId(), amount, usableChange);
+        eventPublisher.publishEvent(new BalanceChangedEvent(wallet.getId(), amount, usableChange));
 
-        return walletRepository.save(wallet);
+        return reload(wallet);
     }
 
+    /**
+     * Bakiye kontrolü ve düşümü tek bir koşullu UPDATE ile yapılır (usableBalance >= amount);
+     * dönen Wallet entity'si UPDATE sonrası bakiye ve versiyonla yeniden okunmuştur.
+     */
     @Transactional(
-            isolation = Isolation.REPEATABLE_READ,
+            isolation = Isolation.READ_COMMITTED,
             rollbackFor = Exception.class
     )
-    public Wallet processWithdraw(WithdrawRequest req, Customer actingUser) {
+    public Wallet processWithdraw(WithdrawRequest req, CustomerPrincipal actingUser) {
         Wallet wallet = getWalletForAccess(req.getWalletId(), actingUser);
 
-        validateWalletForWithdraw(wallet, req);
+        validateWalletForWithdraw(wallet, req.getOppositePartyType());
+        Money amount = Money.of(req.getAmount(), wallet.getCurrency());
 
-        if (wallet.getUsableBalance().compareTo(req.getAmount()) < 0) {
-            throw new BadRequestException("Yetersiz kullanılabilir bakiye");
+        // Pending withdraw: sadece usableBalance'dan düş
+        // Approved withdraw: hem balance hem usableBalance'dan düş
+        Money balanceDebit = isPending(amount) ? Money.ZERO : amount;
+        if (walletRepository.debitIfSufficient(wallet.getId(), amount, balanceDebit) == 0) {
+            throw new BadRequestException(RejectionReason.INSUFFICIENT_BALANCE);
         }
+        eventPublisher.publishEvent(new BalanceChangedEvent(wallet.getId(), balanceDebit.negate(), amount.negate()));
 
-        boolean isPending = req.getAmount().compareTo(BigDecimal.valueOf(1000)) > 0;
-        if (isPending) {
-            // Pending withdraw: sadece usableBalance'dan düş
-            wallet.setUsableBalance(wallet.getUsableBalance().subtract(req.getAmount()));
-        } else {
-            // Approved withdraw: hem balance hem usableBalance'dan düş
-            wallet.setUsableBalance(wallet.getUsableBalance().subtract(req.getAmount()));
-            wallet.setBalance(wallet.getBalance().subtract(req.getAmount()));
-        }
+        return reload(wallet);
+    }
 
-        return walletRepository.save(wallet);
+    /**
+     * Batch işlemleri için cüzdanı satır kilidiyle yükler; aynı cüzdana gelen diğer yazmalar
+     * çağıran transaction bitene kadar bekler.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Wallet lockWalletForAccess(Long walletId, CustomerPrincipal actingUser) {
+        Wallet w = walletRepository.findByIdForUpdate(walletId).orElseThrow(() -> new NotFoundException("Cüzdan bulunamadı"));
+        checkAccess(w, actingUser);
+        return w;
+    }
+
+    /**
+     * lockWalletForAccess ile kilitlenmiş cüzdana net bakiye farkını uygular.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Wallet applyBalanceChange(Wallet lockedWallet, Money balanceChange, Money usableBalanceChange) {
+        lockedWallet.setBalance(lockedWallet.getBalance().plus(balanceChange));
+        lockedWallet.setUsableBalance(lockedWallet.getUsableBalance().plus(usableBalanceChange));
+        Wallet saved = walletRepository.save(lockedWallet);
+        eventPublisher.publishEvent(new BalanceChangedEvent(lockedWallet.getId(), balanceChange, usableBalanceChange));
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public Wallet getWalletForAccess(Long walletId, Customer actingUser) {
+    public Wallet getWalletForAccess(Long walletId, CustomerPrincipal actingUser) {
         Wallet w = walletRepository.findById(walletId).orElseThrow(() -> new NotFoundException("Cüzdan bulunamadı"));
-        if (!SecurityUtil.hasRole("EMPLOYEE") && !w.getCustomer().getId().equals(actingUser.getId())) {
+        checkAccess(w, actingUser);
+        return w;
+    }
+
+    /**
+     * Toplu UPDATE yönetilen entity'yi değiştirmez; eski bakiye ve versiyonun dışarı verilmemesi için
+     * satır yeniden okunur.
+     */
+    private Wallet reload(Wallet wallet) {
+        entityManager.refresh(wallet);
+        return wallet;
+    }
+
+    private void checkAccess(Wallet w, CustomerPrincipal actingUser) {
+        if (!SecurityUtil.hasRole("EMPLOYEE") && !w.getCustomer().getId().equals(actingUser.id())) {
             throw new BadRequestException("Bu cüzdana erişim yetkiniz yok");
         }
-        return w;
     }
 
-    private void validateWalletForWithdraw(Wallet wallet, WithdrawRequest req) {
-        if (req.getOppositePartyType() == OppositePartyType.PAYMENT && !Boolean.TRUE.equals(wallet.getActiveForShopping())) {
-            throw new BadRequestException("Cüzdan alışverişe kapalı");
+    private static BalanceDelta decisionDelta(Transaction transaction, TransactionStatus newStatus) {
+        if (newStatus == TransactionStatus.APPROVED) {
+            if (transaction.getType() == TransactionType.DEPOSIT) {
+                // Deposit onay: usable balance'a ekle
+                return new BalanceDelta(Money.ZERO, transaction.getAmount());
+            }
+            // Withdraw onay: balance'dan düş
+            return new BalanceDelta(transaction.getAmount().negate(), Money.ZERO);
+        }
+        if (newStatus == TransactionStatus.DENIED) {
+            if (transaction.getType() == TransactionType.DEPOSIT) {
+                // Deposit red: balance'dan geri al
+                return new BalanceDelta(transaction.getAmount().negate(), Money.ZERO);
+            }
+            // Withdraw red: usable balance'a geri ver
+            return new BalanceDelta(Money.ZERO, transaction.getAmount());
+        }
+        return new BalanceDelta(Money.ZERO, Money.ZERO);
+    }
+
+    private record BalanceDelta(Money balance, Money usableBalance) {
+    }
+
+    static boolean isPending(Money amount) {
+        return amount.isGreaterThan(PENDING_THRESHOLD);
+    }
+
+    static void validateWalletForWithdraw(Wallet wallet, OppositePartyType oppositePartyType) {
+        if (oppositePartyType == OppositePartyType.PAYMENT && !Boolean.TRUE.equals(wallet.getActiveForShopping())) {
+            throw new BadRequestException(RejectionReason.SHOPPING_CLOSED);
         }
-        if (req.getOppositePartyType() == OppositePartyType.IBAN && !Boolean.TRUE.equals(wallet.getActiveForWithdraw())) {
-            throw new BadRequestException("Cüzdan çekime kapalı");
+        if (oppositePartyType == OppositePartyType.IBAN && !Boolean.TRUE.equals(wallet.getActiveForWithdraw())) {
+            throw new BadRequestException(RejectionReason.WITHDRAW_CLOSED);
         }
     }
 }
@@ -0,0 +1,7 @@
+-- Sequence artış miktarı Hibernate'in tek çağrıda ayırdığı kimlik bloğudur (increment_size_mismatch_strategy: fix).
+-- id-allocation-size değişince Flyway bu dosyayı yeniden uygular; yeni değer uygulama yeniden açıldığında geçerlidir.
+
+ALTER SEQUENCE customers_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE wallets_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE transactions_seq INCREMENT BY ${id_allocation_size};
+ALTER SEQUENCE idempotency_keys_seq INCREMENT BY ${id_allocation_size};
@@ -0,0 +1,63 @@
+-- Hibernate ddl-auto ile üretilen şemanın ilk sürümü; sonraki değişiklikler yeni V{n}__*.sql dosyalarıyla eklenir
+
+CREATE TABLE customers (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    tckn     VARCHAR(11)  NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    surname  VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     ENUM ('CUSTOMER', 'EMPLOYEE') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_customers_tckn UNIQUE (tckn),
+    CONSTRAINT uk_customers_username UNIQUE (username)
+);
+
+CREATE TABLE wallets (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    customer_id            BIGINT        NOT NULL,
+    wallet_name            VARCHAR(255)  NOT NULL,
+    wallet_name_normalized VARCHAR(255)  NOT NULL,
+    currency               ENUM ('EUR', 'TRY', 'USD') NOT NULL,
+    active_for_shopping    BOOLEAN       NOT NULL,
+    active_for_withdraw    BOOLEAN       NOT NULL,
+    balance                NUMERIC(19, 2) NOT NULL,
+    usable_balance         NUMERIC(19, 2) NOT NULL,
+    created_at             TIMESTAMP(6)  NOT NULL,
+    version                BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_wallets_customer_name UNIQUE (customer_id, wallet_name_normalized),
+    CONSTRAINT fk_wallets_customer FOREIGN KEY (customer_id) REFERENCES customers (id)
+);
+
+CREATE INDEX idx_wallets_customer_currency ON wallets (customer_id, currency);
+
+CREATE TABLE transactions (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    wallet_id           BIGINT         NOT NULL,
+    amount              NUMERIC(19, 2) NOT NULL,
+    type                ENUM ('DEPOSIT', 'WITHDRAW') NOT NULL,
+    opposite_party_type ENUM ('IBAN', 'PAYMENT') NOT NULL,
+    opposite_party      VARCHAR(255)   NOT NULL,
+    status              ENUM ('APPROVED', 'DENIED', 'PENDING') NOT NULL,
+    created_at          TIMESTAMP(6)   NOT NULL,
+    updated_at          TIMESTAMP(6),
+    version             BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_wallet FOREIGN KEY (wallet_id) REFERENCES wallets (id)
+);
+
+CREATE INDEX idx_transactions_wallet_created_id ON transactions (wallet_id DESC, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_status_created ON transactions (status, created_at, id);
+CREATE INDEX idx_transactions_status_amount ON transactions (status DESC, amount DESC, id DESC);
+
+CREATE TABLE idempotency_keys (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    customer_id     BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    type            ENUM ('DEPOSIT', 'WITHDRAW') NOT NULL,
+    transaction_id  BIGINT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_customer_key UNIQUE (customer_id, idempotency_key)
+);
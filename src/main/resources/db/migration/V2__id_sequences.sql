@@ -0,0 +1,25 @@
+-- Kimlikler IDENTITY yerine sequence'lardan alınır: Hibernate pooled-lo optimizer ile her sequence çağrısında
+-- ayrılan bloğu bellekte dağıtır, böylece insert'ler JDBC batch'ine girebilir. Artış miktarı (blok boyu)
+-- R__id_allocation_size.sql ile id-allocation-size ayarından verilir. Mevcut satırlar korunur; sequence
+-- tablodaki en büyük kimliğin ardından başlar. Kimlik vermeden yazılan ham SQL insert'leri sütun varsayılanı
+-- üzerinden sequence'tan bir blok başı alır, bu yüzden Hibernate'in ayırdığı bloklarla çakışmaz.
+
+CREATE SEQUENCE customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE wallets_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transactions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE idempotency_keys_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE customers_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM customers);
+ALTER SEQUENCE wallets_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM wallets);
+ALTER SEQUENCE transactions_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM transactions);
+ALTER SEQUENCE idempotency_keys_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM idempotency_keys);
+
+ALTER TABLE customers ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE wallets ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE idempotency_keys ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE customers ALTER COLUMN id SET DEFAULT NEXT VALUE FOR customers_seq;
+ALTER TABLE wallets ALTER COLUMN id SET DEFAULT NEXT VALUE FOR wallets_seq;
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT NEXT VALUE FOR transactions_seq;
+ALTER TABLE idempotency_keys ALTER COLUMN id SET DEFAULT NEXT VALUE FOR idempotency_keys_seq;
@@ -0,0 +1,4 @@
+-- Idempotency-Key'in ait olduğu isteğin özeti (cüzdan, tutar, karşı taraf; SHA-256 hex). Anahtar farklı bir
+-- istekle tekrar kullanılırsa ilk işlem dönülmez, 409 verilir. Eski kayıtlarda boştur ve yalnızca tip karşılaştırılır.
+
+ALTER TABLE idempotency_keys ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,4 @@
+-- Müşterinin geçerli en düşük token versiyonu; logout bir artırır, versiyonu bundan küçük token'lar reddedilir.
+-- Önceden bellek içinde tutuluyordu ve uygulama yeniden başlayınca iptaller unutuluyordu.
+
+ALTER TABLE customers ADD COLUMN token_version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,42 @@
+package com.furkan.digitalWallet.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Bu paketteki tüm JMH ölçümlerini çalıştırır ve sonuçları sürümler arasında karşılaştırmak için
+ * JSON olarak yazar (gc.alloc.rate.norm dahil). "mvn -Pbenchmark test" ile ya da doğrudan çalıştırılır.
+ * Ayarlar: bench.include (tüm *Benchmark sınıfları, regex), bench.result (target/jmh/tarih-saat.json).
+ */
+public final class BenchmarkSuite {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkSuite() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("bench.include", BenchmarkSuite.class.getPackageName() + "\\..*Benchmark\\.");
+        Path result = Path.of(System.getProperty("bench.result",
+                "target/jmh/" + LocalDateTime.now().format(STAMP) + ".json"));
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build()).run();
+        System.out.println("JMH sonuçları: " + result.toAbsolutePath());
+    }
+}
@@ -0,0 +1,114 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.furkan.digitalWallet.DigitalWalletApplication;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Kalıcı (durable) profilde uygulamanın yeniden açılma süresini ve heap kullanımını ölçer.
+ * İlk çalıştırmada H2 dosyası Flyway ile kurulur, örnek veriler eklenir ve transactions tablosu
+ * probe.rows satıra kadar SQL ile doldurulur; sonraki çalıştırmalar aynı dosyayı kullanır.
+ * Her turda context'in hazır olma süresi, ilk geçmiş sayfasının süresi ve GC sonrası kullanılan heap yazdırılır.
+ * Heap'in tablo boyutundan bağımsız olduğunu görmek için küçük bir heap ile çalıştırılır:
+ * <pre>
+ * java -Xmx256m -cp ... com.furkan.digitalWallet.benchmark.DurableStartupProbe
+ * </pre>
+ * Diğer ayarlar: probe.dir (target/durable-probe), probe.rows (10000000), probe.restarts (3), probe.chunk (10000).
+ */
+public final class DurableStartupProbe {
+
+    private static final String SEED = """
+            INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, opposite_party, status,
+                                      created_at, version)
+            SELECT MOD(X, ?) + 1, 125.50, 'DEPOSIT', 'IBAN', 'TR330006100519786457841326', 'APPROVED',
+                   DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00'), 0
+            FROM SYSTEM_RANGE(?, ?)
+            """;
+
+    private DurableStartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(System.getProperty("probe.dir", "target/durable-probe")).toAbsolutePath();
+        long rows = Long.getLong("probe.rows", 10_000_000L);
+        int restarts = Integer.getInteger("probe.restarts", 3);
+        long chunk = Long.getLong("probe.chunk", 10_000L);
+        Files.createDirectories(dir);
+
+        try (ConfigurableApplicationContext context = start(dir, true)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long existing = count(jdbcTemplate);
+            System.out.printf(Locale.ROOT, "Boş açılış heap: %d MB, mevcut işlem: %d%n", usedHeapMb(), existing);
+            seed(jdbcTemplate, existing, rows, chunk);
+        }
+        System.out.printf(Locale.ROOT, "Veritabanı dosyası: %d MB%n", directorySizeMb(dir));
+
+        for (int i = 1; i <= restarts; i++) {
+            long started = System.nanoTime();
+            try (ConfigurableApplicationContext context = start(dir, false)) {
+                long readyMs = (System.nanoTime() - started) / 1_000_000;
+                long pageStarted = System.nanoTime();
+                int page = context.getBean(TransactionRepository.class).findFirstPage(1L, Limit.of(50)).size();
+                long pageMs = (System.nanoTime() - pageStarted) / 1_000_000;
+                System.out.printf(Locale.ROOT,
+                        "Tur %d: hazır %d ms, ilk sayfa (%d satır) %d ms, heap %d MB, işlem %d%n",
+                        i, readyMs, page, pageMs, usedHeapMb(), count(context.getBean(JdbcTemplate.class)));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Path dir, boolean initData) {
+        // Komut satırı argümanı olarak verilir, profil yaml'larındaki değerleri ezer
+        return new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .profiles("durable")
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.furkan.digitalWallet=WARN",
+                        "--DB_PATH=" + dir.resolve("walletdb"),
+                        "--data.init=" + initData,
+                        // Doldurma turunda commit'ler gecikmeli yazılır; ölçülen turlar varsayılan ayarla açılır
+                        "--DB_WRITE_DELAY_MS=" + (initData ? 500 : 0));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, long from, long to, long chunk) {
+        Integer wallets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallets", Integer.class);
+        long started = System.nanoTime();
+        for (long first = from + 1; first <= to; first += chunk) {
+            long last = Math.min(first + chunk - 1, to);
+            jdbcTemplate.update(SEED, wallets, first, last);
+            if (last % 1_000_000 != 0 && last != to) {
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "  %d işlem yazıldı (%d s)%n", last,
+                    (System.nanoTime() - started) / 1_000_000_000);
+        }
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static long usedHeapMb() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+    }
+
+    private static long directorySizeMb(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum() / (1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkan.digitalWallet.DigitalWalletApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Uçtan uca HTTP yük üreteci. Uygulama rastgele portta açılır, employee ile /auth/login üzerinden giriş yapılır
+ * ve deposit, withdraw, cüzdan listesi ve işlem geçmişi istekleri verilen oranlarda karışık gönderilir.
+ * <p>
+ * Açık döngü: istekler yanıtları beklemeden sabit bir varış hızıyla (Poisson ya da eşit aralıklı) planlanır.
+ * Gecikme, isteğin gönderilmesi gereken andan yanıtın gelişine kadar ölçülür; sunucu ya da üreteç geride
+ * kalırsa bekleme süresi de gecikmeye dahil olur (coordinated omission düzeltmesi). Karşılaştırma için
+ * isteğin fiilen gönderildiği andan ölçülen servis süresi de yazdırılır.
+ * <p>
+ * Sıcak cüzdan etkisi için cüzdan seçimi Zipf dağılımıyla yapılır: k. sıradaki cüzdanın seçilme olasılığı
+ * 1/k^s ile orantılıdır (s=0 eşit dağılım).
+ * <pre>
+ * java -Dload.rate=500 -Dload.zipf=1.2 -cp ... com.furkan.digitalWallet.benchmark.HttpLoadHarness
+ * </pre>
+ * Ayarlar: load.rate (istek/s, 200), load.seconds (30), load.warmup-seconds (30),
+ * load.mix (deposit=40,withdraw=20,wallets=20,history=20), load.wallets (1000), load.zipf (1.1),
+ * load.arrival (poisson | uniform), load.history (100000), load.max-in-flight (5000),
+ * load.app-args (uygulamaya geçirilecek ek "--anahtar=değer" argümanları, boşlukla ayrılmış).
+ */
+public final class HttpLoadHarness {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private static final String SEED_WALLETS = """
+            INSERT INTO wallets (customer_id, wallet_name, wallet_name_normalized, currency, active_for_shopping,
+                                 active_for_withdraw, balance, usable_balance, created_at, version)
+            SELECT (SELECT MIN(id) FROM customers WHERE role = 'CUSTOMER') + MOD(X, ?), 'Yük ' || X, 'yük ' || X,
+                   'TRY', TRUE, TRUE, 1000000000, 1000000000, CURRENT_TIMESTAMP, 0
+            FROM SYSTEM_RANGE(1, ?)
+            """;
+
+    private static final String SEED_HISTORY = """
+            INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, opposite_party, status,
+                                      created_at, version)
+            SELECT ?, 125.50, 'DEPOSIT', 'IBAN', 'TR330006100519786457841326', 'APPROVED',
+                   DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00'), 0
+            FROM SYSTEM_RANGE(1, ?)
+            """;
+
+    private HttpLoadHarness() {
+    }
+
+    enum Operation {
+        DEPOSIT("deposit"), WITHDRAW("withdraw"), WALLETS("wallets"), HISTORY("history");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 30);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix", "deposit=40,withdraw=20,wallets=20,history=20"));
+        int walletCount = Integer.getInteger("load.wallets", 1000);
+        double zipfExponent = Double.parseDouble(System.getProperty("load.zipf", "1.1"));
+        boolean poisson = !"uniform".equals(System.getProperty("load.arrival", "poisson"));
+        int history = Integer.getInteger("load.history", 100_000);
+        int maxInFlight = Integer.getInteger("load.max-in-flight", 5000);
+
+        List<String> appArgs = new ArrayList<>(List.of("--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.furkan.digitalWallet=WARN",
+                "--server.tomcat.accept-count=10000"));
+        String extra = System.getProperty("load.app-args", "").trim();
+        if (!extra.isEmpty()) {
+            appArgs.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+        // Komut satırı argümanı olarak verilir, application.yaml'daki değerleri ezer
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .run(appArgs.toArray(String[]::new));
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Integer customers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE role = 'CUSTOMER'",
+                    Integer.class);
+            jdbcTemplate.update(SEED_WALLETS, customers, walletCount);
+            List<long[]> wallets = jdbcTemplate.query(
+                    "SELECT id, customer_id FROM wallets WHERE wallet_name LIKE 'Yük %' ORDER BY id",
+                    (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            // Geçmiş, en sıcak cüzdana yazılır; history istekleri büyük bir index aralığında sayfa okur
+            jdbcTemplate.update(SEED_HISTORY, wallets.get(0)[0], history);
+
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String token = login(client, base);
+            System.out.printf(Locale.ROOT, "Java %s, hedef %.0f istek/s (%s), %d cüzdan, zipf s=%.2f, karışım %s%n",
+                    Runtime.version(), rate, poisson ? "poisson" : "eşit aralıklı", wallets.size(), zipfExponent, mix);
+
+            Load load = new Load(client, base, token, wallets, new Zipf(wallets.size(), zipfExponent), mix, maxInFlight);
+            load.run(rate, poisson, warmupSeconds, seconds);
+            load.report(seconds);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Açık döngü üreteci: planlanan varış anları yanıtlardan bağımsız ilerler. Ölçüm penceresi warmup'tan
+     * sonra başlar; pencere içinde planlanan istekler, pencere kapandıktan sonra tamamlansalar da sayılır.
+     */
+    private static final class Load {
+        private final HttpClient client;
+        private final String base;
+        private final String token;
+        private final List<long[]> wallets;
+        private final Zipf zipf;
+        private final Operation[] schedule;
+        private final int maxInFlight;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<Operation, Stats> stats = new LinkedHashMap<>();
+        private final Stats total = new Stats();
+
+        Load(HttpClient client, String base, String token, List<long[]> wallets, Zipf zipf,
+             Map<Operation, Integer> mix, int maxInFlight) {
+            this.client = client;
+            this.base = base;
+            this.token = token;
+            this.wallets = wallets;
+            this.zipf = zipf;
+            this.maxInFlight = maxInFlight;
+            List<Operation> slots = new ArrayList<>();
+            mix.forEach((op, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    slots.add(op);
+                }
+                stats.put(op, new Stats());
+            });
+            this.schedule = slots.toArray(Operation[]::new);
+        }
+
+        void run(double rate, boolean poisson, int warmupSeconds, int seconds) throws InterruptedException {
+            SplittableRandom random = new SplittableRandom(42);
+            double meanInterval = 1e9 / rate;
+            long start = System.nanoTime();
+            long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+            double next = start;
+            while (next < end) {
+                long intended = (long) next;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measured = intended >= measureFrom;
+                Operation op = schedule[random.nextInt(schedule.length)];
+                send(op, wallets.get(zipf.sample(random)), intended, measured);
+                next += poisson ? -Math.log(1.0 - random.nextDouble()) * meanInterval : meanInterval;
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        private void send(Operation op, long[] wallet, long intended, boolean measured) {
+            Stats opStats = stats.get(op);
+            if (inFlight.get() >= maxInFlight) {
+                // Üreteç sınırı: istek gönderilmez, hata sayılır; gecikmesi bilinmediği için histograma girmez
+                if (measured) {
+                    opStats.drop();
+                    total.drop();
+                }
+                return;
+            }
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(request(op, wallet), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        inFlight.decrementAndGet();
+                        if (!measured) {
+                            return;
+                        }
+                        String failure = error != null ? error.getClass().getSimpleName()
+                                : response.statusCode() / 100 != 2 ? "HTTP " + response.statusCode() : null;
+                        for (Stats s : new Stats[]{opStats, total}) {
+                            s.record(done - intended, done - sent);
+                            if (failure != null) {
+                                s.error(failure);
+                            }
+                        }
+                    });
+        }
+
+        private HttpRequest request(Operation op, long[] wallet) {
+            long walletId = wallet[0];
+            HttpRequest.Builder builder = switch (op) {
+                case DEPOSIT -> post("/transactions/deposit", "{\"walletId\":" + walletId
+                        + ",\"amount\":25.00,\"oppositePartyType\":\"IBAN\",\"source\":\"TR330006100519786457841326\"}");
+                case WITHDRAW -> post("/transactions/withdraw", "{\"walletId\":" + walletId
+                        + ",\"amount\":10.00,\"oppositePartyType\":\"PAYMENT\",\"destination\":\"SHOP-1\"}");
+                case WALLETS -> HttpRequest.newBuilder(URI.create(base + "/wallets?customerId=" + wallet[1])).GET();
+                case HISTORY -> HttpRequest.newBuilder(URI.create(base + "/wallets/" + walletId + "/transactions?limit=50"))
+                        .GET();
+            };
+            return builder.timeout(Duration.ofSeconds(60))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+        }
+
+        private HttpRequest.Builder post(String path, String body) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        void report(int seconds) {
+            System.out.println("işlem         adet    istek/s   hata %    p50 ms    p99 ms   p999 ms    max ms  servis p99 ms");
+            stats.forEach((op, s) -> s.print(op.key, seconds));
+            total.print("toplam", seconds);
+            Map<String, Long> errors = new LinkedHashMap<>();
+            total.errors.forEach((reason, count) -> errors.put(reason, count.sum()));
+            System.out.println("Hatalar: " + (errors.isEmpty() ? "yok" : errors));
+        }
+    }
+
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final Histogram service = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        void record(long latencyNanos, long serviceNanos) {
+            latency.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+            service.recordValue(Math.min(serviceNanos, MAX_LATENCY_NANOS));
+        }
+
+        void error(String reason) {
+            errorCount.increment();
+            errors.computeIfAbsent(reason, r -> new LongAdder()).increment();
+        }
+
+        void drop() {
+            dropped.increment();
+            error("uçuşta sınırı");
+        }
+
+        void print(String name, int seconds) {
+            long count = latency.getTotalCount();
+            long attempts = count + dropped.sum();
+            System.out.printf(Locale.ROOT, "%-10s %8d %10.1f %8.2f %9.2f %9.2f %9.2f %9.2f %14.2f%n", name, count,
+                    count / (double) seconds, attempts == 0 ? 0.0 : 100.0 * errorCount.sum() / attempts,
+                    millis(latency, 50), millis(latency, 99), millis(latency, 99.9),
+                    latency.getMaxValue() / 1e6, millis(service, 99));
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+
+    /**
+     * 0..n-1 aralığında Zipf dağılımlı indeks üretir; 0 en sıcak cüzdandır. Kümülatif olasılıklar bir kez
+     * hesaplanır, her örnek ikili aramayla bulunur.
+     */
+    static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1.0 / Math.pow(k, exponent);
+                cumulative[k - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            Operation op = Arrays.stream(Operation.values())
+                    .filter(o -> o.key.equals(kv[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Bilinmeyen işlem: " + kv[0]));
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(op, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix en az bir işlem içermeli");
+        }
+        return mix;
+    }
+
+    private static String login(HttpClient client, String base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"employee\",\"password\":\"employee123\"}"))
+                .build();
+        JsonNode body = JSON.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return body.get("token").asText();
+    }
+}
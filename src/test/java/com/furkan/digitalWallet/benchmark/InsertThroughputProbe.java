@@ -0,0 +1,86 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.furkan.digitalWallet.DigitalWalletApplication;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JPA üzerinden işlem satırı yazma hızını ölçer: probe.rows adet Transaction, probe.chunk satırlık
+ * transaction'lar halinde TransactionRepository.saveAll ile kaydedilir (batch endpoint'i ve ledger motorunun yolu).
+ * Uygulama in-memory H2 ile açılır; ilk probe.warmup-rows satır JIT ısınması için yazılıp ölçüme katılmaz.
+ * <pre>
+ * java -Xmx2g -cp ... com.furkan.digitalWallet.benchmark.InsertThroughputProbe
+ * </pre>
+ * Diğer ayarlar: probe.rows (1000000), probe.chunk (1000), probe.warmup-rows (100000).
+ */
+public final class InsertThroughputProbe {
+
+    private InsertThroughputProbe() {
+    }
+
+    public static void main(String[] args) {
+        int rows = Integer.getInteger("probe.rows", 1_000_000);
+        int chunk = Integer.getInteger("probe.chunk", 1_000);
+        int warmupRows = Integer.getInteger("probe.warmup-rows", 100_000);
+
+        // Komut satırı argümanı olarak verilir, application.yaml'daki değerleri ezer
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.furkan.digitalWallet=WARN",
+                        "--journal.enabled=false")) {
+            TransactionRepository transactionRepository = context.getBean(TransactionRepository.class);
+            Wallet wallet = context.getBean(WalletRepository.class).findById(1L).orElseThrow();
+            TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            write(tx, transactionRepository, wallet, warmupRows, chunk);
+            long started = System.nanoTime();
+            write(tx, transactionRepository, wallet, rows, chunk);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            Long total = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+            System.out.printf(Locale.ROOT, "%d işlem %.1f s: %.0f satır/s (chunk %d, tabloda %d satır)%n",
+                    rows, seconds, rows / seconds, chunk, total);
+        }
+    }
+
+    private static void write(TransactionTemplate tx, TransactionRepository repository, Wallet wallet,
+                              int rows, int chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int written = 0; written < rows; written += chunk) {
+            int size = Math.min(chunk, rows - written);
+            tx.executeWithoutResult(status -> {
+                List<Transaction> batch = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    Transaction t = new Transaction();
+                    t.setWallet(wallet);
+                    t.setAmount(Money.ofMajor(125));
+                    t.setType(TransactionType.DEPOSIT);
+                    t.setOppositePartyType(OppositePartyType.IBAN);
+                    t.setOppositeParty("TR330006100519786457841326");
+                    t.setStatus(TransactionStatus.APPROVED);
+                    t.setCreatedAt(now);
+                    batch.add(t);
+                }
+                repository.saveAll(batch);
+            });
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.security.JwtService;
+import com.furkan.digitalWallet.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter'ın istek başına token doğrulama maliyeti:
+ * eski yol (her çağrıda anahtar ve parser kurulumu, isTokenValid + extractUsername ile iki parse),
+ * hazır parser ile tek parse (cache kapalı) ve doğrulanmış token cache'inden dönüş.
+ * TOKENS farklı kullanıcının token'ı sırayla doğrulanır. Allocation için main metodu ya da "-prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyForJWTTokenGenerationThatIsLongEnoughForHS512Signatures";
+    private static final int TOKENS = 1024;
+
+    private final String[] tokens = new String[TOKENS];
+    private JwtService uncached;
+    private JwtService cached;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        uncached = jwtService(0);
+        cached = jwtService(TOKENS * 2);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = cached.generateToken(new CustomerPrincipal((long) i, "customer" + i, Role.CUSTOMER), 0L);
+        }
+    }
+
+    @Benchmark
+    public String legacyFilter() {
+        String token = next();
+        return legacyIsTokenValid(token) ? legacyClaims(token).getSubject() : null;
+    }
+
+    @Benchmark
+    public VerifiedToken prebuiltParser() {
+        return uncached.verify(next());
+    }
+
+    @Benchmark
+    public VerifiedToken verifiedCache() {
+        return cached.verify(next());
+    }
+
+    private String next() {
+        return tokens[index++ & (TOKENS - 1)];
+    }
+
+    private static boolean legacyIsTokenValid(String token) {
+        try {
+            return legacyClaims(token).getExpiration().after(new Date());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static JwtService jwtService(long cacheSize) {
+        JwtService service = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "expirationSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
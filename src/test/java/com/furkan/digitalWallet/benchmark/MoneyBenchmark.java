@@ -0,0 +1,99 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit/withdraw sıcak yolundaki tutar aritmetiği: pending kontrolü ve iki bakiye farkı.
+ * BigDecimal ile eski hesaplama, Money ile yeni hesaplama ve API sınırındaki BigDecimal -> Money
+ * dönüşümünü de içeren yeni hesaplama karşılaştırılır. Allocation için GC profiler ile çalıştırılır:
+ * main metodu ya da "-prof gc".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final BigDecimal[] decimalAmounts = new BigDecimal[SIZE];
+    private final Money[] moneyAmounts = new Money[SIZE];
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalUsableBalance;
+    private Money balance;
+    private Money usableBalance;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SIZE; i++) {
+            long minor = random.nextLong(1, 2_000_00);
+            decimalAmounts[i] = BigDecimal.valueOf(minor, 2);
+            moneyAmounts[i] = Money.ofMinor(minor);
+        }
+        decimalBalance = BigDecimal.valueOf(1_000_000_00L, 2);
+        decimalUsableBalance = decimalBalance;
+        balance = Money.ofMajor(1_000_000);
+        usableBalance = balance;
+    }
+
+    @Benchmark
+    public void bigDecimalDeposit(Blackhole bh) {
+        BigDecimal amount = decimalAmounts[next()];
+        boolean pending = amount.compareTo(BigDecimal.valueOf(1000)) > 0;
+        BigDecimal usableChange = pending ? BigDecimal.ZERO : amount;
+        bh.consume(decimalBalance.add(amount));
+        bh.consume(decimalUsableBalance.add(usableChange));
+    }
+
+    @Benchmark
+    public void moneyDeposit(Blackhole bh) {
+        Money amount = moneyAmounts[next()];
+        Money usableChange = amount.isGreaterThan(Money.ofMajor(1000)) ? Money.ZERO : amount;
+        bh.consume(balance.plus(amount).minorUnits());
+        bh.consume(usableBalance.plus(usableChange).minorUnits());
+    }
+
+    @Benchmark
+    public void moneyDepositFromRequest(Blackhole bh) {
+        Money amount = Money.of(decimalAmounts[next()], Currency.TRY);
+        Money usableChange = amount.isGreaterThan(Money.ofMajor(1000)) ? Money.ZERO : amount;
+        bh.consume(balance.plus(amount).minorUnits());
+        bh.consume(usableBalance.plus(usableChange).minorUnits());
+    }
+
+    private int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,210 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkan.digitalWallet.DigitalWalletApplication;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Okuma uçlarının eski entity yolu ile TransactionView/WalletView projeksiyonları: sorgu, yükleme ve
+ * Jackson serileştirmesi birlikte ölçülür. Her iki yol da uçlarda olduğu gibi read-only transaction
+ * içinde çalışır. Uygulama context'i H2 in-memory veritabanıyla bir kez açılır, 1. cüzdana
+ * HISTORY kadar işlem eklenir. Setup'ta her sorgunun SELECT listesindeki kolon sayısı yazdırılır;
+ * allocation için GC profiler ile çalıştırılır: main metodu ya da "-prof gc" (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx512m")
+public class ReadModelBenchmark {
+
+    private static final long WALLET_ID = 1L;
+    private static final int HISTORY = 2_000;
+    private static final int PAGE = 50;
+
+    private static final String ENTITY_PAGE = "select t from Transaction t where t.wallet.id = :walletId " +
+            "order by t.wallet.id desc, t.createdAt desc, t.id desc";
+    private static final String ENTITY_WALLETS = "select w from Wallet w where w.customer.id = :customerId";
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionRepository transactionRepository;
+    private WalletRepository walletRepository;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private Long customerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + SqlColumns.class.getName())
+                .run();
+        entityManager = context.getBean(EntityManager.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        walletRepository = context.getBean(WalletRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        customerId = jdbcTemplate.queryForObject("SELECT customer_id FROM wallets WHERE id = ?", Long.class, WALLET_ID);
+        seed(jdbcTemplate);
+
+        report("İşlem sayfası", this::entityTransactionPage, this::viewTransactionPage);
+        report("Cüzdan listesi", this::entityWallets, this::viewWallets);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int entityTransactionPage() {
+        return serialize(() -> entityManager.createQuery(ENTITY_PAGE, Transaction.class)
+                .setParameter("walletId", WALLET_ID)
+                .setMaxResults(PAGE)
+                .getResultList());
+    }
+
+    @Benchmark
+    public int viewTransactionPage() {
+        return serialize(() -> transactionRepository.findFirstPage(WALLET_ID, Limit.of(PAGE)));
+    }
+
+    @Benchmark
+    public int entityWallets() {
+        return serialize(() -> entityManager.createQuery(ENTITY_WALLETS, Wallet.class)
+                .setParameter("customerId", customerId)
+                .getResultList());
+    }
+
+    @Benchmark
+    public int viewWallets() {
+        return serialize(() -> walletRepository.findByCustomerId(customerId));
+    }
+
+    /**
+     * Sorguyu read-only transaction içinde çalıştırıp sonucu, controller'ların yaptığı gibi Jackson ile yazar.
+     */
+    private int serialize(Supplier<List<?>> query) {
+        Integer bytes = readOnly.execute(status -> {
+            CountingOutputStream out = new CountingOutputStream();
+            try {
+                objectMapper.writeValue(out, query.get());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return out.count;
+        });
+        return bytes != null ? bytes : 0;
+    }
+
+    private void report(String name, Supplier<Integer> entity, Supplier<Integer> view) {
+        SqlColumns.LAST.clear();
+        int entityBytes = entity.get();
+        int entityColumns = SqlColumns.lastSelectColumns();
+        int viewBytes = view.get();
+        int viewColumns = SqlColumns.lastSelectColumns();
+        if (entityBytes != viewBytes) {
+            throw new IllegalStateException(name + ": JSON çıktısı farklı (" + entityBytes + " / " + viewBytes + ")");
+        }
+        System.out.printf(Locale.ROOT, "%s: SQL kolon sayısı entity=%d, projeksiyon=%d; JSON %d byte%n",
+                name, entityColumns, viewColumns, viewBytes);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> rows = new ArrayList<>(HISTORY);
+        for (int i = 0; i < HISTORY; i++) {
+            rows.add(new Object[]{WALLET_ID, Timestamp.valueOf(start.plusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, " +
+                "opposite_party, status, created_at, version) " +
+                "VALUES (?, 125.50, 'DEPOSIT', 'IBAN', 'TR330006100519786457841326', 'APPROVED', ?, 0)", rows);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReadModelBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Hibernate'in gönderdiği son SELECT'i saklar; kolon sayısı SELECT listesindeki virgüllerden hesaplanır.
+     */
+    public static class SqlColumns implements StatementInspector {
+        static final List<String> LAST = new ArrayList<>();
+
+        @Override
+        public synchronized String inspect(String sql) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                LAST.clear();
+                LAST.add(sql);
+            }
+            return sql;
+        }
+
+        static synchronized int lastSelectColumns() {
+            String sql = LAST.get(0).toLowerCase(Locale.ROOT);
+            String columns = sql.substring("select".length(), sql.indexOf(" from "));
+            return columns.split(",").length;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private int count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction entity'sinin Jackson ile JSON'a yazılması: deposit/withdraw/decide yanıtındaki tek işlem
+ * ve geçmiş uçlarındaki PAGE işlemlik sayfa. ObjectMapper, Spring Boot'un varsayılanlarıyla
+ * (tarihler ISO-8601 metin) kurulur. Allocation için main metodu ya da "-prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSerializationBenchmark {
+
+    private static final int PAGE = 50;
+
+    private ObjectMapper objectMapper;
+    private Transaction single;
+    private List<Transaction> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        page = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            Transaction t = new Transaction();
+            t.setId(1_000_000L + i);
+            t.setAmount(Money.ofMinor(12_550L + i));
+            t.setType(i % 3 == 0 ? TransactionType.WITHDRAW : TransactionType.DEPOSIT);
+            t.setOppositePartyType(OppositePartyType.IBAN);
+            t.setOppositeParty("TR330006100519786457841326");
+            t.setStatus(TransactionStatus.APPROVED);
+            t.setCreatedAt(start.plusMinutes(i));
+            t.setUpdatedAt(i % 2 == 0 ? start.plusMinutes(i + 1) : null);
+            t.setVersion(1L);
+            page.add(t);
+        }
+        single = page.get(0);
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransactionSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
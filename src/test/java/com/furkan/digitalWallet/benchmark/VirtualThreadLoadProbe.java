@@ -0,0 +1,157 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkan.digitalWallet.DigitalWalletApplication;
+import com.furkan.digitalWallet.diagnostics.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tek makinede sürdürülebilen eşzamanlı deposit sayısını ölçer. Uygulama rastgele portta açılır,
+ * employee ile giriş yapılır ve her seviyede sabit sayıda istek sürekli uçuşta tutulur (kapalı döngü);
+ * tamamlanan her isteğin yerine hemen yenisi gönderilir. Seviye başına throughput, p50/p99/max gecikme,
+ * hata sayısı, bağlantı bekleyen en fazla istek sayısı (Hikari) ve sonunda JFR pinning noktaları yazdırılır.
+ * <p>
+ * Sanal thread modunu karşılaştırmak için Java 21 ile iki kez çalıştırılır:
+ * <pre>
+ * java -Dprobe.virtual=true  -cp ... com.furkan.digitalWallet.benchmark.VirtualThreadLoadProbe
+ * java -Dprobe.virtual=false -cp ... com.furkan.digitalWallet.benchmark.VirtualThreadLoadProbe
+ * </pre>
+ * Diğer ayarlar: probe.levels (50,200,800,2000), probe.seconds (10), probe.pool (10), probe.journal (true).
+ */
+public final class VirtualThreadLoadProbe {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private VirtualThreadLoadProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean virtual = Boolean.parseBoolean(System.getProperty("probe.virtual", "true"));
+        int[] levels = Arrays.stream(System.getProperty("probe.levels", "50,200,800,2000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        int seconds = Integer.getInteger("probe.seconds", 10);
+        int pool = Integer.getInteger("probe.pool", 10);
+        boolean journal = Boolean.parseBoolean(System.getProperty("probe.journal", "true"));
+        Path journalDir = Files.createTempDirectory("probe-journal");
+
+        // Komut satırı argümanı olarak verilir, application.yaml'daki değerleri ezer
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.furkan.digitalWallet=WARN",
+                        "--logging.level.com.furkan.digitalWallet.diagnostics=INFO",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                        "--server.tomcat.accept-count=10000",
+                        "--diagnostics.virtual-thread-pinning.enabled=true",
+                        "--diagnostics.virtual-thread-pinning.threshold-ms=1",
+                        "--journal.enabled=" + journal,
+                        "--journal.directory=" + journalDir);
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<Long> walletIds = context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM wallets", Long.class);
+            HikariPoolMXBean hikari = context.getBean(HikariDataSource.class).getHikariPoolMXBean();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String token = login(client, base);
+
+            System.out.printf(Locale.ROOT, "Java %s, sanal thread=%s, havuz=%d, journal=%s, %d cüzdan%n",
+                    Runtime.version(), virtual, pool, journal, walletIds.size());
+            System.out.println("uçuşta   istek/s    p50 ms    p99 ms    max ms   hata  bağlantı bekleyen");
+            run(client, base, token, walletIds, hikari, levels[0], Math.max(2, seconds / 2), false);
+            for (int level : levels) {
+                run(client, base, token, walletIds, hikari, level, seconds, true);
+            }
+            Map<String, Long> pinned = context.getBean(VirtualThreadPinningMonitor.class).snapshot();
+            System.out.println("Pinning noktaları (>= 1 ms): " + (pinned.isEmpty() ? "yok" : ""));
+            pinned.forEach((site, count) -> System.out.printf(Locale.ROOT, "  %6d  %s%n", count, site));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(HttpClient client, String base, String token, List<Long> walletIds,
+                            HikariPoolMXBean hikari, int inFlight, int seconds, boolean print) throws InterruptedException {
+        Semaphore permits = new Semaphore(inFlight);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        AtomicInteger maxAwaiting = new AtomicInteger();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        while (System.nanoTime() < end) {
+            if (!permits.tryAcquire(10, TimeUnit.MILLISECONDS)) {
+                maxAwaiting.accumulateAndGet(hikari.getThreadsAwaitingConnection(), Math::max);
+                continue;
+            }
+            long walletId = walletIds.get(ThreadLocalRandom.current().nextInt(walletIds.size()));
+            long sent = System.nanoTime();
+            client.sendAsync(deposit(base, token, walletId), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies.add(System.nanoTime() - sent);
+                        if (error != null || response.statusCode() != 200) {
+                            errors.increment();
+                        }
+                        permits.release();
+                    });
+        }
+        permits.acquire(inFlight);
+        long elapsed = System.nanoTime() - start;
+        if (!print) {
+            return;
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf(Locale.ROOT, "%7d %9.0f %9.2f %9.2f %9.2f %6d %18d%n", inFlight,
+                sorted.length / (elapsed / 1e9), millis(sorted, 0.50), millis(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6, errors.sum(), maxAwaiting.get());
+    }
+
+    private static HttpRequest deposit(String base, String token, long walletId) {
+        String body = "{\"walletId\":" + walletId
+                + ",\"amount\":10.00,\"oppositePartyType\":\"IBAN\",\"source\":\"TR330006100519786457841326\"}";
+        return HttpRequest.newBuilder(URI.create(base + "/transactions/deposit"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String login(HttpClient client, String base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"employee\",\"password\":\"employee123\"}"))
+                .build();
+        JsonNode body = JSON.readTree(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return body.get("token").asText();
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+}
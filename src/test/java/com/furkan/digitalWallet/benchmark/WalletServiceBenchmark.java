@@ -0,0 +1,169 @@
+package com.furkan.digitalWallet.benchmark;
+
+import com.furkan.digitalWallet.DigitalWalletApplication;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.request.DepositRequest;
+import com.furkan.digitalWallet.request.TransactionDecisionRequest;
+import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.service.TransactionService;
+import com.furkan.digitalWallet.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WalletService.processDeposit/processWithdraw ve TransactionService.decide çağrılarının uçtan uca maliyeti
+ * (transaction, JPA, H2 ve olay yayını dahil). Uygulama in-memory H2 ile açılır, DataInitializer'ın
+ * müşteri ve cüzdanlarına HISTORY işlem eklenir; index'ler gerçekçi boyutta olur. Ölçülen cüzdanın
+ * bakiyesi çekimlerin bitmeyeceği kadar yükseltilir. decide, ölçülen cüzdana bir kez eklenen PENDING_POOL
+ * bekleyen işlemi sırayla onaylar; onaylananlar her iterasyondan önce yeniden bekleyen yapılır, tablo büyümez. Servis katmanındaki proxy ve Hibernate yolları geç ısınır
+ * (tek çekirdekte yaklaşık 50 saniye), warmup bu yüzden uzun tutulur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 12, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx512m")
+public class WalletServiceBenchmark {
+
+    private static final long WALLET_ID = 1L;
+    private static final int HISTORY = 200_000;
+    private static final int PENDING_POOL = 60_000;
+
+    private static final String SEED_HISTORY = """
+            INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, opposite_party, status,
+                                      created_at, version)
+            SELECT MOD(X, ?) + 1, 125.50, 'DEPOSIT', 'IBAN', 'TR330006100519786457841326', 'APPROVED',
+                   DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00'), 0
+            FROM SYSTEM_RANGE(1, ?)
+            """;
+
+    private static final String SEED_PENDING = """
+            INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, opposite_party, status,
+                                      created_at, version)
+            SELECT ?, 1500.00, 'DEPOSIT', 'IBAN', 'BENCHMARK-PENDING', 'PENDING', CURRENT_TIMESTAMP, 0
+            FROM SYSTEM_RANGE(1, ?)
+            """;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private TransactionService transactionService;
+    private JdbcTemplate jdbcTemplate;
+    private CustomerPrincipal owner;
+    private DepositRequest deposit;
+    private WithdrawRequest withdraw;
+    private TransactionDecisionRequest approve;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Komut satırı argümanı olarak verilir, application.yaml'daki değerleri ezer
+        context = new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--journal.enabled=false");
+        walletService = context.getBean(WalletService.class);
+        transactionService = context.getBean(TransactionService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Long customerId = jdbcTemplate.queryForObject("SELECT customer_id FROM wallets WHERE id = ?", Long.class, WALLET_ID);
+        owner = new CustomerPrincipal(customerId, "benchmark", Role.CUSTOMER);
+        Integer wallets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallets", Integer.class);
+        jdbcTemplate.update(SEED_HISTORY, wallets, HISTORY);
+        jdbcTemplate.update("UPDATE wallets SET balance = 1000000000, usable_balance = 1000000000 WHERE id = ?", WALLET_ID);
+
+        deposit = new DepositRequest();
+        deposit.setWalletId(WALLET_ID);
+        deposit.setAmount(new BigDecimal("125.50"));
+        deposit.setOppositePartyType(OppositePartyType.IBAN);
+        deposit.setSource("TR330006100519786457841326");
+        withdraw = new WithdrawRequest();
+        withdraw.setWalletId(WALLET_ID);
+        withdraw.setAmount(new BigDecimal("25.50"));
+        withdraw.setOppositePartyType(OppositePartyType.PAYMENT);
+        withdraw.setDestination("SHOP-1");
+        approve = new TransactionDecisionRequest();
+        approve.setStatus(TransactionStatus.APPROVED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Wallet processDeposit() {
+        return walletService.processDeposit(deposit, owner);
+    }
+
+    @Benchmark
+    public Wallet processWithdraw() {
+        return walletService.processWithdraw(withdraw, owner);
+    }
+
+    @Benchmark
+    public Transaction decide(PendingPool pool) {
+        return transactionService.decide(pool.next(), approve);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WalletServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Yalnızca decide tarafından kullanılır; diğer ölçümlerin tabloları bekleyen işlemlerle büyümez.
+     */
+    @State(Scope.Benchmark)
+    public static class PendingPool {
+        private List<Long> ids;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void seed(WalletServiceBenchmark benchmark) {
+            benchmark.jdbcTemplate.update(SEED_PENDING, WALLET_ID, PENDING_POOL);
+            ids = benchmark.jdbcTemplate.queryForList(
+                    "SELECT id FROM transactions WHERE opposite_party = 'BENCHMARK-PENDING' ORDER BY id", Long.class);
+        }
+
+        @Setup(Level.Iteration)
+        public void reset(WalletServiceBenchmark benchmark) {
+            benchmark.jdbcTemplate.update("UPDATE transactions SET status = 'PENDING', updated_at = NULL "
+                    + "WHERE opposite_party = 'BENCHMARK-PENDING' AND status <> 'PENDING'");
+            next = 0;
+        }
+
+        Long next() {
+            if (next == ids.size()) {
+                throw new IllegalStateException("Bekleyen işlem havuzu tükendi, PENDING_POOL artırılmalı");
+            }
+            return ids.get(next++);
+        }
+    }
+}
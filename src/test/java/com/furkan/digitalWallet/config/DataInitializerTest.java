@@ -4,6 +4,7 @@ import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Wallet;
 import com.furkan.digitalWallet.enums.Currency;
 import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.money.Money;
 import com.furkan.digitalWallet.repository.CustomerRepository;
 import com.furkan.digitalWallet.repository.WalletRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +16,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,7 +38,17 @@ class DataInitializerTest {
 
     @BeforeEach
     void setUp() {
-        when(passwordEncoder.encode(anyString())).thenReturn("encoded-password");
+        lenient().when(passwordEncoder.encode(anyString())).thenReturn("encoded-password");
+    }
+
+    @Test
+    void init_ShouldSkip_WhenCustomersAlreadyExist() {
+        when(customerRepository.count()).thenReturn(5L);
+
+        dataInitializer.init();
+
+        verify(customerRepository, never()).save(any());
+        verifyNoInteractions(walletRepository, passwordEncoder);
     }
 
 
@@ -121,20 +131,20 @@ class DataInitializerTest {
         assertEquals(Currency.TRY, customer1TryWallet.getCurrency());
         assertTrue(customer1TryWallet.getActiveForShopping());
         assertTrue(customer1TryWallet.getActiveForWithdraw());
-        assertEquals(new BigDecimal("10000.00"), customer1TryWallet.getBalance());
-        assertEquals(new BigDecimal("10000.00"), customer1TryWallet.getUsableBalance());
+        assertEquals(Money.ofMajor(10000), customer1TryWallet.getBalance());
+        assertEquals(Money.ofMajor(10000), customer1TryWallet.getUsableBalance());
 
         Wallet customer1UsdWallet = capturedWallets.get(1);
         assertEquals("USD Cüzdan", customer1UsdWallet.getWalletName());
         assertEquals(Currency.USD, customer1UsdWallet.getCurrency());
-        assertEquals(new BigDecimal("1000.00"), customer1UsdWallet.getBalance());
-        assertEquals(new BigDecimal("1000.00"), customer1UsdWallet.getUsableBalance());
+        assertEquals(Money.ofMajor(1000), customer1UsdWallet.getBalance());
+        assertEquals(Money.ofMajor(1000), customer1UsdWallet.getUsableBalance());
 
         Wallet customer1EurWallet = capturedWallets.get(2);
         assertEquals("EUR Cüzdan", customer1EurWallet.getWalletName());
         assertEquals(Currency.EUR, customer1EurWallet.getCurrency());
-        assertEquals(new BigDecimal("800.00"), customer1EurWallet.getBalance());
-        assertEquals(new BigDecimal("800.00"), customer1EurWallet.getUsableBalance());
+        assertEquals(Money.ofMajor(800), customer1EurWallet.getBalance());
+        assertEquals(Money.ofMajor(800), customer1EurWallet.getUsableBalance());
     }
 
     @Test
@@ -151,8 +161,8 @@ class DataInitializerTest {
         assertEquals(Currency.TRY, customer4TryWallet.getCurrency());
         assertTrue(customer4TryWallet.getActiveForShopping());
         assertTrue(customer4TryWallet.getActiveForWithdraw());
-        assertEquals(new BigDecimal("5000.00"), customer4TryWallet.getBalance());
-        assertEquals(new BigDecimal("5000.00"), customer4TryWallet.getUsableBalance());
+        assertEquals(Money.ofMajor(5000), customer4TryWallet.getBalance());
+        assertEquals(Money.ofMajor(5000), customer4TryWallet.getUsableBalance());
         assertNotNull(customer4TryWallet.getCreatedAt());
     }
 
@@ -175,8 +185,8 @@ class DataInitializerTest {
             assertNotNull(wallet.getUsableBalance());
             assertNotNull(wallet.getCreatedAt());
 
-            assertTrue(wallet.getBalance().compareTo(BigDecimal.ZERO) >= 0);
-            assertTrue(wallet.getUsableBalance().compareTo(BigDecimal.ZERO) >= 0);
+            assertTrue(!wallet.getBalance().isLessThan(Money.ZERO));
+            assertTrue(!wallet.getUsableBalance().isLessThan(Money.ZERO));
         }
     }
 
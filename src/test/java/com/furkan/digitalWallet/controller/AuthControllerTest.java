@@ -1,10 +1,13 @@
 package com.furkan.digitalWallet.controller;
 
-import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.enums.Role;
-import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
 import com.furkan.digitalWallet.request.AuthRequest;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.security.CustomerPrincipalCache;
 import com.furkan.digitalWallet.security.JwtService;
+import com.furkan.digitalWallet.security.LoginService;
+import com.furkan.digitalWallet.security.TokenRevocationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,35 +15,35 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.authentication.BadCredentialsException;
 
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AuthControllerTest {
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private LoginService loginService;
 
     @Mock
     private JwtService jwtService;
 
     @Mock
-    private CustomerRepository customerRepository;
+    private CustomerPrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocationRegistry revocations;
 
     @InjectMocks
     private AuthController authController;
 
     private AuthRequest authRequest;
-    private Customer customer;
+    private CustomerPrincipal principal;
 
     @BeforeEach
     void setUp() {
@@ -48,73 +51,58 @@ class AuthControllerTest {
         authRequest.setUsername("customer");
         authRequest.setPassword("password");
 
-        customer = new Customer();
-        customer.setUsername("customer");
-        customer.setRole(Role.CUSTOMER);
+        principal = new CustomerPrincipal(2L, "customer", Role.CUSTOMER);
     }
 
     @Test
     void login_SuccessfulAuthentication_ReturnsTokenAndUserDetails() {
 
         String token = "jwt-token";
-        when(customerRepository.findByUsername("customer")).thenReturn(Optional.of(customer));
-        when(jwtService.generateToken("customer", "CUSTOMER")).thenReturn(token);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mock(Authentication.class));
+        when(loginService.authenticate("customer", "password")).thenReturn(CompletableFuture.completedFuture(principal));
+        when(revocations.currentVersion(2L)).thenReturn(3L);
+        when(jwtService.generateToken(principal, 3L)).thenReturn(token);
 
 
-        ResponseEntity<?> response = authController.login(authRequest);
+        ResponseEntity<?> response = authController.login(authRequest).join();
 
 
-        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(200, response.getStatusCode().value());
         Map<String, String> responseBody = (Map<String, String>) response.getBody();
         assertNotNull(responseBody);
         assertEquals(token, responseBody.get("token"));
         assertEquals("CUSTOMER", responseBody.get("role"));
         assertEquals("customer", responseBody.get("username"));
 
-        verify(authenticationManager).authenticate(argThat(auth ->
-                auth instanceof UsernamePasswordAuthenticationToken &&
-                        auth.getPrincipal().equals("customer") &&
-                        auth.getCredentials().equals("password")));
-        verify(customerRepository).findByUsername("customer");
-        verify(jwtService).generateToken("customer", "CUSTOMER");
-        verifyNoMoreInteractions(authenticationManager, customerRepository, jwtService);
+        verify(loginService).authenticate("customer", "password");
+        verify(jwtService).generateToken(principal, 3L);
+        verify(principalCache).put(principal);
+        verifyNoMoreInteractions(loginService, jwtService);
     }
 
     @Test
-    void login_UserNotFound_ThrowsException() {
-        
-        when(customerRepository.findByUsername("customer")).thenReturn(Optional.empty());
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mock(Authentication.class));
+    void login_AuthenticationFailure_CompletesExceptionally() {
 
-        
-        assertThrows(RuntimeException.class, () -> authController.login(authRequest));
-
-        verify(authenticationManager).authenticate(argThat(auth ->
-                auth instanceof UsernamePasswordAuthenticationToken &&
-                        auth.getPrincipal().equals("customer") &&
-                        auth.getCredentials().equals("password")));
-        verify(customerRepository).findByUsername("customer");
-        verifyNoInteractions(jwtService);
+        when(loginService.authenticate("customer", "password"))
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Invalid credentials")));
+
+
+        CompletableFuture<ResponseEntity<?>> result = authController.login(authRequest);
+
+        CompletionException ex = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verifyNoInteractions(jwtService, principalCache, revocations);
     }
 
     @Test
-    void login_AuthenticationFailure_ThrowsAuthenticationException() {
-        
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new AuthenticationException("Invalid credentials") {
-                });
+    void login_QueueFull_ThrowsServiceUnavailable() {
+
+        when(loginService.authenticate("customer", "password"))
+                .thenThrow(new ServiceUnavailableException("Giriş kuyruğu dolu, lütfen tekrar deneyin"));
 
-        
-        assertThrows(AuthenticationException.class, () -> authController.login(authRequest));
 
-        verify(authenticationManager).authenticate(argThat(auth ->
-                auth instanceof UsernamePasswordAuthenticationToken &&
-                        auth.getPrincipal().equals("customer") &&
-                        auth.getCredentials().equals("password")));
-        verifyNoInteractions(customerRepository, jwtService);
+        assertThrows(ServiceUnavailableException.class, () -> authController.login(authRequest));
+
+        verifyNoInteractions(jwtService, principalCache, revocations);
     }
 
     @Test
@@ -122,6 +110,18 @@ class AuthControllerTest {
         
         assertThrows(NullPointerException.class, () -> authController.login(null));
 
-        verifyNoInteractions(authenticationManager, customerRepository, jwtService);
+        verifyNoInteractions(loginService, jwtService);
+    }
+
+    @Test
+    void logout_ShouldRevokeTokensAndEvictCachedPrincipal() {
+        CustomerPrincipal acting = new CustomerPrincipal(2L, "customer", Role.CUSTOMER);
+
+        ResponseEntity<Void> response = authController.logout(acting);
+
+        assertEquals(204, response.getStatusCode().value());
+        verify(revocations).revokeAll(2L);
+        verify(principalCache).invalidate("customer");
+        verifyNoInteractions(loginService, jwtService);
     }
-}
\ No newline at end of file
+}
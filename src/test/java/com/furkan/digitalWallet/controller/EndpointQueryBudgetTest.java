@@ -0,0 +1,139 @@
+package com.furkan.digitalWallet.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkan.digitalWallet.diagnostics.QueryStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static com.furkan.digitalWallet.diagnostics.QueryAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uç noktaların gerçek veritabanı üzerinde çalıştırdığı SQL sayısının üst sınırları. Bir değişiklik
+ * lazy yükleme ya da döngü içinde sorgu eklerse ilgili test hangi SQL'in arttığını listeleyerek düşer.
+ * Müşteri verileri DataInitializer'dan gelir: customer1 (id 2) 1-3 numaralı cüzdanların sahibidir.
+ * Insert yapan uç noktaların bütçesi, yeni kimlik bloğu açıldığında çalışan "select next value for ..._seq"
+ * çağrılarını da (insert edilen her satır için en fazla bir) kapsar; bloklar id_allocation_size boyundadır.
+ * Deposit ve withdraw, bakiye UPDATE'inden sonra cüzdanı yeniden okuduğu için birer SELECT daha çalıştırır.
+ */
+@SpringBootTest(properties = {
+        "diagnostics.query-guard.enabled=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.furkan.digitalWallet=INFO"
+})
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTest {
+
+    private static final String DEPOSIT = """
+            {"walletId": 1, "amount": %s, "oppositePartyType": "IBAN", "source": "TR330006100519786457841326"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String customerToken;
+    private String employeeToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        customerToken = login("customer1", "customer123");
+        employeeToken = login("employee", "employee123");
+    }
+
+    @Test
+    void deposit_ShouldStayWithinBudget() throws Throwable {
+        assertMaxStatements(5, () -> ok(post("/transactions/deposit"), customerToken, DEPOSIT.formatted("10.00")));
+    }
+
+    @Test
+    void deposit_ShouldStayWithinBudget_WhenIdempotencyKeyGiven() throws Throwable {
+        assertMaxStatements(9, () -> ok(post("/transactions/deposit").header("Idempotency-Key", "budget-1"),
+                customerToken, DEPOSIT.formatted("10.00")));
+    }
+
+    @Test
+    void withdraw_ShouldStayWithinBudget() throws Throwable {
+        assertMaxStatements(5, () -> ok(post("/transactions/withdraw"), customerToken, """
+                {"walletId": 1, "amount": 1.00, "oppositePartyType": "PAYMENT", "destination": "SHOP-1"}"""));
+    }
+
+    @Test
+    void decide_ShouldStayWithinBudget() throws Throwable {
+        long id = ok(post("/transactions/deposit"), customerToken, DEPOSIT.formatted("5000.00")).get("id").asLong();
+
+        assertMaxStatements(4, () -> ok(post("/transactions/" + id + "/decision"), employeeToken,
+                "{\"status\": \"APPROVED\"}"));
+    }
+
+    @Test
+    void decideAll_ShouldNotGrowWithTransactionCount() throws Throwable {
+        long first = ok(post("/transactions/deposit"), customerToken, DEPOSIT.formatted("5000.00")).get("id").asLong();
+        long second = ok(post("/transactions/deposit"), customerToken, DEPOSIT.formatted("6000.00")).get("id").asLong();
+        long third = ok(post("/transactions/deposit"), customerToken, DEPOSIT.formatted("7000.00")).get("id").asLong();
+
+        QueryStats stats = assertMaxStatements(3, () -> ok(post("/transactions/decisions"), employeeToken,
+                "{\"status\": \"DENIED\", \"transactionIds\": [%d, %d, %d]}".formatted(first, second, third)));
+
+        assertTrue(stats.repeatedSelects(2).isEmpty(), stats.statementsBySql().toString());
+    }
+
+    @Test
+    void batch_ShouldStayWithinBudget() throws Throwable {
+        assertMaxStatements(6, () -> ok(post("/transactions/batch"), customerToken, """
+                {"items": [
+                  {"type": "DEPOSIT", "walletId": 1, "amount": 10.00, "oppositePartyType": "IBAN", "oppositeParty": "TR1"},
+                  {"type": "WITHDRAW", "walletId": 1, "amount": 5.00, "oppositePartyType": "PAYMENT", "oppositeParty": "SHOP-1"}
+                ]}"""));
+    }
+
+    @Test
+    void pending_ShouldStayWithinBudget() throws Throwable {
+        assertMaxStatements(1, () -> ok(get("/transactions/pending"), employeeToken, null));
+    }
+
+    @Test
+    void walletEndpoints_ShouldStayWithinBudget() throws Throwable {
+        assertMaxStatements(1, () -> ok(get("/wallets"), customerToken, null));
+        assertMaxStatements(2, () -> ok(get("/wallets/1/transactions"), customerToken, null));
+        assertMaxStatements(4, () -> ok(post("/wallets"), customerToken, """
+                {"walletName": "Budget %d", "currency": "USD"}""".formatted(System.nanoTime())));
+    }
+
+    private String login(String username, String password) throws Exception {
+        MvcResult started = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"%s\", \"password\": \"%s\"}".formatted(username, password)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    private JsonNode ok(MockHttpServletRequestBuilder request, String token, String body) throws Exception {
+        request.header("Authorization", "Bearer " + token);
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(body);
+        }
+        String response = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
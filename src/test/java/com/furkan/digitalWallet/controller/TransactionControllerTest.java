@@ -1,26 +1,42 @@
 package com.furkan.digitalWallet.controller;
 
-import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.PendingSort;
 import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.request.BatchTransactionItem;
+import com.furkan.digitalWallet.request.BatchTransactionRequest;
+import com.furkan.digitalWallet.request.BulkDecisionRequest;
 import com.furkan.digitalWallet.request.DepositRequest;
 import com.furkan.digitalWallet.request.TransactionDecisionRequest;
 import com.furkan.digitalWallet.request.WithdrawRequest;
-import com.furkan.digitalWallet.security.SecurityUtil;
-import com.furkan.digitalWallet.service.CustomerService;
+import com.furkan.digitalWallet.response.BatchItemResult;
+import com.furkan.digitalWallet.response.BatchTransactionResponse;
+import com.furkan.digitalWallet.response.BulkDecisionResponse;
+import com.furkan.digitalWallet.response.TransactionPage;
+import com.furkan.digitalWallet.response.TransactionView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.service.BulkDecisionService;
+import com.furkan.digitalWallet.service.IdempotencyService;
+import com.furkan.digitalWallet.service.LedgerOperations;
 import com.furkan.digitalWallet.service.TransactionService;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -29,16 +45,20 @@ import static org.mockito.Mockito.*;
 class TransactionControllerTest {
 
     @Mock
-    private TransactionService transactionService;
+    private LedgerOperations ledgerOperations;
+
+    @Mock
+    private BulkDecisionService bulkDecisionService;
 
     @Mock
-    private CustomerService customerService;
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TransactionService transactionService;
 
-    @InjectMocks
     private TransactionController transactionController;
 
-    private MockedStatic<SecurityUtil> securityUtilMockedStatic;
-    private Customer customer;
+    private CustomerPrincipal customer;
     private DepositRequest depositRequest;
     private WithdrawRequest withdrawRequest;
     private TransactionDecisionRequest decisionRequest;
@@ -46,11 +66,11 @@ class TransactionControllerTest {
 
     @BeforeEach
     void setUp() {
-        securityUtilMockedStatic = mockStatic(SecurityUtil.class);
+        // TransactionService de LedgerOperations olduğundan @InjectMocks tip üzerinden ayırt edemez
+        transactionController = new TransactionController(ledgerOperations, bulkDecisionService, idempotencyService,
+                transactionService);
 
-        customer = new Customer();
-        customer.setUsername("testuser");
-        customer.setRole(Role.CUSTOMER);
+        customer = new CustomerPrincipal(7L, "testuser", Role.CUSTOMER);
 
         depositRequest = new DepositRequest();
         withdrawRequest = new WithdrawRequest();
@@ -60,75 +80,117 @@ class TransactionControllerTest {
         transaction.setId(1L);
     }
 
-    @AfterEach
-    void tearDown() {
-        securityUtilMockedStatic.close();
-    }
-
     @Test
     void deposit_Successful_ReturnsTransaction() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenReturn(customer);
-        when(transactionService.deposit(any(DepositRequest.class), any(Customer.class))).thenReturn(transaction);
+        when(ledgerOperations.deposit(any(DepositRequest.class), any(CustomerPrincipal.class), isNull()))
+                .thenReturn(transaction);
+        runIdempotentOperationDirectly();
 
-        ResponseEntity<Transaction> response = transactionController.deposit(depositRequest);
+        ResponseEntity<Transaction> response = transactionController.deposit(depositRequest, null, customer);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(transaction, response.getBody());
 
-        verify(customerService).getByUsername("testuser");
-        verify(transactionService).deposit(depositRequest, customer);
-        verifyNoMoreInteractions(customerService, transactionService);
+        verify(ledgerOperations).deposit(depositRequest, customer, null);
+        verifyNoMoreInteractions(ledgerOperations);
     }
 
     @Test
-    void deposit_CustomerNotFound_ThrowsException() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenThrow(new RuntimeException("Customer not found"));
+    void deposit_WithIdempotencyKey_DelegatesToIdempotencyService() {
+        depositRequest.setWalletId(1L);
+        depositRequest.setAmount(BigDecimal.TEN);
+        depositRequest.setOppositePartyType(OppositePartyType.IBAN);
+        depositRequest.setSource("TR1");
+        String requestHash = IdempotencyService.requestHash(1L, new BigDecimal("10.00"), OppositePartyType.IBAN, "TR1");
+        when(idempotencyService.execute(eq(7L), eq("key-1"), eq(TransactionType.DEPOSIT), eq(requestHash), any()))
+                .thenReturn(transaction);
 
-        assertThrows(RuntimeException.class, () -> transactionController.deposit(depositRequest));
+        ResponseEntity<Transaction> response = transactionController.deposit(depositRequest, "key-1", customer);
 
-        verify(customerService).getByUsername("testuser");
-        verifyNoInteractions(transactionService);
+        assertEquals(transaction, response.getBody());
+        verifyNoInteractions(ledgerOperations);
     }
 
     @Test
     void withdraw_Successful_ReturnsTransaction() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenReturn(customer);
-        when(transactionService.withdraw(any(WithdrawRequest.class), any(Customer.class))).thenReturn(transaction);
+        when(ledgerOperations.withdraw(any(WithdrawRequest.class), any(CustomerPrincipal.class), isNull()))
+                .thenReturn(transaction);
+        runIdempotentOperationDirectly();
 
-        ResponseEntity<Transaction> response = transactionController.withdraw(withdrawRequest);
+        ResponseEntity<Transaction> response = transactionController.withdraw(withdrawRequest, null, customer);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(transaction, response.getBody());
 
-        verify(customerService).getByUsername("testuser");
-        verify(transactionService).withdraw(withdrawRequest, customer);
-        verifyNoMoreInteractions(customerService, transactionService);
+        verify(ledgerOperations).withdraw(withdrawRequest, customer, null);
+        verifyNoMoreInteractions(ledgerOperations);
     }
 
     @Test
-    void withdraw_CustomerNotFound_ThrowsException() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenThrow(new RuntimeException("Customer not found"));
+    void batch_Successful_ReturnsPerItemResults() {
+        BatchTransactionRequest batchRequest = new BatchTransactionRequest();
+        batchRequest.setItems(List.of(new BatchTransactionItem(), new BatchTransactionItem()));
+        when(ledgerOperations.batch(batchRequest.getItems(), customer)).thenReturn(List.of(
+                BatchItemResult.succeeded(0, transaction),
+                BatchItemResult.failed(1, "Yetersiz kullanılabilir bakiye")));
 
-        assertThrows(RuntimeException.class, () -> transactionController.withdraw(withdrawRequest));
+        ResponseEntity<BatchTransactionResponse> response = transactionController.batch(batchRequest, customer);
 
-        verify(customerService).getByUsername("testuser");
-        verifyNoInteractions(transactionService);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getSucceeded());
+        assertEquals(1, response.getBody().getFailed());
+        assertEquals(transaction, response.getBody().getResults().get(0).getTransaction());
+        verify(ledgerOperations).batch(batchRequest.getItems(), customer);
     }
 
     @Test
     void decide_Successful_ReturnsTransaction() {
-        when(transactionService.decide(eq(1L), any(TransactionDecisionRequest.class))).thenReturn(transaction);
+        when(ledgerOperations.decide(eq(1L), any(TransactionDecisionRequest.class))).thenReturn(transaction);
 
         ResponseEntity<Transaction> response = transactionController.decide(1L, decisionRequest);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(transaction, response.getBody());
 
-        verify(transactionService).decide(1L, decisionRequest);
-        verifyNoMoreInteractions(transactionService);
+        verify(ledgerOperations).decide(1L, decisionRequest);
+        verifyNoMoreInteractions(ledgerOperations);
+    }
+
+    @Test
+    void decideAll_Successful_ReturnsSummary() {
+        BulkDecisionRequest bulkRequest = new BulkDecisionRequest();
+        bulkRequest.setStatus(TransactionStatus.APPROVED);
+        bulkRequest.setTransactionIds(List.of(1L, 2L));
+        BulkDecisionResponse summary = BulkDecisionResponse.of(2, Map.of(2L, "İşlem bulunamadı"));
+        when(bulkDecisionService.decide(bulkRequest)).thenReturn(summary);
+
+        ResponseEntity<BulkDecisionResponse> response = transactionController.decideAll(bulkRequest);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getDecided());
+        assertEquals(1, response.getBody().getFailed());
+        verifyNoInteractions(ledgerOperations);
+    }
+
+    @Test
+    void pending_ReturnsQueuePage() {
+        TransactionView view = new TransactionView(1L, Money.ofMajor(2000), TransactionType.DEPOSIT, null, "TR1",
+                TransactionStatus.PENDING, null, null);
+        TransactionPage page = new TransactionPage(List.of(view), "next");
+        when(transactionService.listPending(Currency.TRY, BigDecimal.TEN, null, PendingSort.AMOUNT, null, 20))
+                .thenReturn(page);
+
+        ResponseEntity<TransactionPage> response =
+                transactionController.pending(Currency.TRY, BigDecimal.TEN, null, PendingSort.AMOUNT, null, 20);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(page, response.getBody());
+        verifyNoInteractions(ledgerOperations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runIdempotentOperationDirectly() {
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(inv -> ((Function<Long, Transaction>) inv.getArgument(4)).apply(null));
     }
-}
\ No newline at end of file
+}
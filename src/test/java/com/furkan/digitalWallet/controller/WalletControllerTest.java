@@ -1,27 +1,36 @@
 package com.furkan.digitalWallet.controller;
 
-import com.furkan.digitalWallet.entity.Customer;
-import com.furkan.digitalWallet.entity.Transaction;
 import com.furkan.digitalWallet.entity.Wallet;
 import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.ExportFormat;
 import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.money.Money;
 import com.furkan.digitalWallet.request.WalletCreateRequest;
-import com.furkan.digitalWallet.security.SecurityUtil;
-import com.furkan.digitalWallet.service.CustomerService;
+import com.furkan.digitalWallet.response.TransactionPage;
+import com.furkan.digitalWallet.response.TransactionView;
+import com.furkan.digitalWallet.response.WalletView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
+import com.furkan.digitalWallet.service.TransactionExportService;
 import com.furkan.digitalWallet.service.TransactionService;
 import com.furkan.digitalWallet.service.WalletService;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,138 +44,114 @@ class WalletControllerTest {
     private WalletService walletService;
 
     @Mock
-    private CustomerService customerService;
+    private TransactionService transactionService;
 
     @Mock
-    private TransactionService transactionService;
+    private TransactionExportService transactionExportService;
 
     @InjectMocks
     private WalletController walletController;
 
-    private MockedStatic<SecurityUtil> securityUtilMockedStatic;
-    private Customer customer;
+    private CustomerPrincipal customer;
     private WalletCreateRequest walletCreateRequest;
     private Wallet wallet;
-    private Transaction transaction;
+    private WalletView walletView;
+    private TransactionView transaction;
 
     @BeforeEach
     void setUp() {
-        securityUtilMockedStatic = mockStatic(SecurityUtil.class);
-
-        customer = new Customer();
-        customer.setUsername("testuser");
-        customer.setRole(Role.CUSTOMER);
+        customer = new CustomerPrincipal(1L, "testuser", Role.CUSTOMER);
 
         walletCreateRequest = new WalletCreateRequest();
         wallet = new Wallet();
         wallet.setId(1L);
 
-        transaction = new Transaction();
-        transaction.setId(1L);
-    }
-
-    @AfterEach
-    void tearDown() {
-        securityUtilMockedStatic.close();
+        walletView = new WalletView(1L, "Test Wallet", Currency.TRY, true, true, Money.ZERO, Money.ZERO, null);
+        transaction = new TransactionView(1L, Money.ofMajor(100), null, null, "TR1", null, null, null);
     }
 
     @Test
     void create_Successful_ReturnsWallet() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenReturn(customer);
-        when(walletService.createWallet(any(WalletCreateRequest.class), any(Customer.class))).thenReturn(wallet);
+        when(walletService.createWallet(any(WalletCreateRequest.class), any(CustomerPrincipal.class))).thenReturn(wallet);
 
-        ResponseEntity<Wallet> response = walletController.create(walletCreateRequest);
+        ResponseEntity<Wallet> response = walletController.create(walletCreateRequest, customer);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(wallet, response.getBody());
 
-        verify(customerService).getByUsername("testuser");
         verify(walletService).createWallet(walletCreateRequest, customer);
-        verifyNoMoreInteractions(customerService, walletService);
-    }
-
-    @Test
-    void create_CustomerNotFound_ThrowsException() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenThrow(new RuntimeException("Customer not found"));
-
-        assertThrows(RuntimeException.class, () -> walletController.create(walletCreateRequest));
-
-        verify(customerService).getByUsername("testuser");
-        verifyNoInteractions(walletService);
+        verifyNoMoreInteractions(walletService);
     }
 
     @Test
     void list_SuccessfulWithCustomerIdAndCurrency_ReturnsWallets() {
-        List<Wallet> wallets = Collections.singletonList(wallet);
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenReturn(customer);
-        when(walletService.listWallets(eq(1L), eq(Currency.TRY), any(Customer.class))).thenReturn(wallets);
+        List<WalletView> wallets = Collections.singletonList(walletView);
+        when(walletService.listWallets(eq(1L), eq(Currency.TRY), any(CustomerPrincipal.class))).thenReturn(wallets);
 
-        ResponseEntity<List<Wallet>> response = walletController.list(1L, Currency.TRY);
+        ResponseEntity<List<WalletView>> response = walletController.list(1L, Currency.TRY, customer);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(wallets, response.getBody());
 
-        verify(customerService).getByUsername("testuser");
         verify(walletService).listWallets(1L, Currency.TRY, customer);
-        verifyNoMoreInteractions(customerService, walletService);
+        verifyNoMoreInteractions(walletService);
     }
 
     @Test
     void list_SuccessfulWithoutParameters_ReturnsWallets() {
-        List<Wallet> wallets = Collections.singletonList(wallet);
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenReturn(customer);
-        when(walletService.listWallets(isNull(), isNull(), any(Customer.class))).thenReturn(wallets);
+        List<WalletView> wallets = Collections.singletonList(walletView);
+        when(walletService.listWallets(isNull(), isNull(), any(CustomerPrincipal.class))).thenReturn(wallets);
 
-        ResponseEntity<List<Wallet>> response = walletController.list(null, null);
+        ResponseEntity<List<WalletView>> response = walletController.list(null, null, customer);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(wallets, response.getBody());
 
-        verify(customerService).getByUsername("testuser");
         verify(walletService).listWallets(null, null, customer);
-        verifyNoMoreInteractions(customerService, walletService);
-    }
-
-    @Test
-    void list_CustomerNotFound_ThrowsException() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenThrow(new RuntimeException("Customer not found"));
-
-        assertThrows(RuntimeException.class, () -> walletController.list(1L, Currency.TRY));
-
-        verify(customerService).getByUsername("testuser");
-        verifyNoInteractions(walletService);
+        verifyNoMoreInteractions(walletService);
     }
 
     @Test
     void listTransactions_Successful_ReturnsTransactions() {
-        List<Transaction> transactions = Collections.singletonList(transaction);
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenReturn(customer);
-        when(transactionService.listTransactions(eq(1L), any(Customer.class))).thenReturn(transactions);
+        TransactionPage page = new TransactionPage(Collections.singletonList(transaction), "next");
+        when(transactionService.listTransactions(eq(1L), eq("cursor"), eq(20), any(CustomerPrincipal.class))).thenReturn(page);
 
-        ResponseEntity<List<Transaction>> response = walletController.listTransactions(1L);
+        ResponseEntity<TransactionPage> response = walletController.listTransactions(1L, "cursor", 20, customer);
 
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(transactions, response.getBody());
+        assertEquals(page, response.getBody());
+
+        verify(transactionService).listTransactions(1L, "cursor", 20, customer);
+        verifyNoMoreInteractions(transactionService);
+    }
 
-        verify(customerService).getByUsername("testuser");
-        verify(transactionService).listTransactions(1L, customer);
-        verifyNoMoreInteractions(customerService, transactionService);
+    @Test
+    void exportTransactions_WithGzip_StreamsCompressedBody() throws Exception {
+        when(walletService.getWalletForAccess(1L, customer)).thenReturn(wallet);
+        when(transactionExportService.export(eq(1L), eq(ExportFormat.CSV), any())).thenAnswer(inv -> {
+            inv.getArgument(2, OutputStream.class).write("id\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        ResponseEntity<StreamingResponseBody> response = walletController.exportTransactions(1L, ExportFormat.CSV, true, customer);
+
+        assertEquals("text/csv", response.getHeaders().getContentType().toString());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("id\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
     }
 
     @Test
-    void listTransactions_CustomerNotFound_ThrowsException() {
-        securityUtilMockedStatic.when(SecurityUtil::currentUsername).thenReturn("testuser");
-        when(customerService.getByUsername("testuser")).thenThrow(new RuntimeException("Customer not found"));
+    void exportTransactions_AccessDenied_DoesNotStartExport() {
+        when(walletService.getWalletForAccess(1L, customer))
+                .thenThrow(new BadRequestException("Bu cüzdana erişim yetkiniz yok"));
 
-        assertThrows(RuntimeException.class, () -> walletController.listTransactions(1L));
+        assertThrows(BadRequestException.class,
+                () -> walletController.exportTransactions(1L, ExportFormat.NDJSON, false, customer));
 
-        verify(customerService).getByUsername("testuser");
-        verifyNoInteractions(walletService, transactionService);
+        verifyNoInteractions(transactionExportService);
     }
-}
\ No newline at end of file
+}
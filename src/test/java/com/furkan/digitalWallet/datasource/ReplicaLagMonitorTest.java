@@ -0,0 +1,82 @@
+package com.furkan.digitalWallet.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaLagMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_ShouldMarkReplicaUsable_WhenItSeesPrimaryHeartbeat() {
+        DataSource db = h2();
+        monitor = new ReplicaLagMonitor(db, db, 5_000, 60_000, meterRegistry);
+
+        monitor.start();
+
+        assertTrue(monitor.isUsable());
+        assertTrue(monitor.lagMs() >= 0 && monitor.lagMs() <= 5_000, "lag=" + monitor.lagMs());
+        assertEquals(monitor.lagMs(), meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void check_ShouldFallBackToPrimary_WhenReplicaHeartbeatIsStale() {
+        DataSource primary = h2();
+        DataSource replica = h2();
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        replicaJdbc.update("INSERT INTO replica_heartbeat VALUES (1, ?)", System.currentTimeMillis() - 60_000);
+        monitor = new ReplicaLagMonitor(primary, replica, 5_000, 60_000, meterRegistry);
+
+        monitor.start();
+
+        assertFalse(monitor.isUsable());
+        assertTrue(monitor.lagMs() >= 60_000, "lag=" + monitor.lagMs());
+
+        replicaJdbc.update("UPDATE replica_heartbeat SET beat_at = ?", System.currentTimeMillis());
+        monitor.check();
+        assertTrue(monitor.isUsable());
+    }
+
+    @Test
+    void check_ShouldMarkReplicaUnusable_WhenHeartbeatCannotBeRead() {
+        monitor = new ReplicaLagMonitor(h2(), h2(), 5_000, 60_000, meterRegistry);
+
+        monitor.start();
+
+        assertFalse(monitor.isUsable());
+        assertEquals(-1, monitor.lagMs());
+        assertTrue(Double.isNaN(meterRegistry.get("datasource.replica.lag").gauge().value()));
+    }
+
+    @Test
+    void markUnavailable_ShouldDisableReplicaUntilNextCheck() {
+        DataSource db = h2();
+        monitor = new ReplicaLagMonitor(db, db, 5_000, 60_000, meterRegistry);
+        monitor.start();
+
+        monitor.markUnavailable();
+        assertFalse(monitor.isUsable());
+
+        monitor.check();
+        assertTrue(monitor.isUsable());
+    }
+
+    private static DataSource h2() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
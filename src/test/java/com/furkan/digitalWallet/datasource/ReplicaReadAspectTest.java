@@ -0,0 +1,47 @@
+package com.furkan.digitalWallet.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaReadAspectTest {
+
+    @Test
+    void route_ShouldRequestReplicaOnlyDuringInvocation() throws Throwable {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+        Connection primaryConnection = mock(Connection.class);
+        Connection replicaConnection = mock(Connection.class);
+        when(monitor.isUsable()).thenReturn(true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, replica, monitor, new SimpleMeterRegistry());
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenAnswer(inv -> routing.getConnection());
+
+        assertSame(replicaConnection, new ReplicaReadAspect().route(joinPoint));
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void route_ShouldClearReplicaRequest_WhenInvocationFails() throws Throwable {
+        DataSource primary = mock(DataSource.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, mock(DataSource.class),
+                mock(ReplicaLagMonitor.class), new SimpleMeterRegistry());
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> new ReplicaReadAspect().route(joinPoint));
+        assertSame(primaryConnection, routing.getConnection());
+    }
+}
@@ -0,0 +1,113 @@
+package com.furkan.digitalWallet.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor monitor;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReplicaRoutingDataSource(primary, replica, monitor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.exitReplicaRead(false);
+    }
+
+    @Test
+    void getConnection_ShouldUsePrimary_OutsideReplicaRead() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routing.getConnection());
+
+        verifyNoInteractions(replica, monitor);
+    }
+
+    @Test
+    void getConnection_ShouldUseReplica_WhenRequestedAndFresh() throws SQLException {
+        when(monitor.isUsable()).thenReturn(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        ReplicaRoutingDataSource.enterReplicaRead();
+
+        assertSame(replicaConnection, routing.getConnection());
+        verifyNoInteractions(primary);
+        assertEquals(1.0, reads("replica"));
+    }
+
+    @Test
+    void getConnection_ShouldFallBackToPrimary_WhenReplicaIsStale() throws SQLException {
+        when(monitor.isUsable()).thenReturn(false);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        ReplicaRoutingDataSource.enterReplicaRead();
+
+        assertSame(primaryConnection, routing.getConnection());
+        verifyNoInteractions(replica);
+        assertEquals(1.0, reads("primary"));
+    }
+
+    @Test
+    void getConnection_ShouldFallBackAndMarkReplicaDown_WhenReplicaConnectionFails() throws SQLException {
+        when(monitor.isUsable()).thenReturn(true);
+        when(replica.getConnection()).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        ReplicaRoutingDataSource.enterReplicaRead();
+
+        assertSame(primaryConnection, routing.getConnection());
+        verify(monitor).markUnavailable();
+        assertEquals(0.0, reads("replica"));
+        assertEquals(1.0, reads("primary"));
+    }
+
+    @Test
+    void exitReplicaRead_ShouldRestorePreviousState() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        boolean outer = ReplicaRoutingDataSource.enterReplicaRead();
+        boolean inner = ReplicaRoutingDataSource.enterReplicaRead();
+        ReplicaRoutingDataSource.exitReplicaRead(inner);
+        assertTrue(inner);
+        ReplicaRoutingDataSource.exitReplicaRead(outer);
+
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("datasource.replica.reads").tag("target", target).counter().count();
+    }
+}
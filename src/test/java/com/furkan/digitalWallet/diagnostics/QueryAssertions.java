@@ -0,0 +1,32 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Testlerde SQL bütçesi: action'ın çalıştırdığı Hibernate ifadelerini sayar ve sınır aşılırsa
+ * ifadeleri listeleyerek testi düşürür. Uygulamanın diagnostics.query-guard.enabled=true ile açılmış olması gerekir.
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    public static QueryStats assertMaxStatements(int max, Executable action) throws Throwable {
+        QueryStats stats;
+        try (QueryStats scope = QueryStats.begin()) {
+            action.execute();
+            stats = scope;
+        }
+        if (stats.statements() > max) {
+            fail("En fazla " + max + " SQL bekleniyordu, " + stats.statements() + " çalıştı:\n"
+                    + stats.statementsBySql().entrySet().stream()
+                    .map(e -> e.getValue() + "x " + e.getKey())
+                    .collect(Collectors.joining("\n")));
+        }
+        return stats;
+    }
+}
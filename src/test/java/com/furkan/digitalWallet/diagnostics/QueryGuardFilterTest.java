@@ -0,0 +1,96 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class QueryGuardFilterTest {
+
+    private static final String WALLET_BY_ID = "select w.id from wallets w where w.id=?";
+
+    private final QueryCountingInspector inspector = new QueryCountingInspector();
+    private QueryGuardFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new QueryGuardFilter();
+        ReflectionTestUtils.setField(filter, "maxStatements", 4);
+        ReflectionTestUtils.setField(filter, "nPlusOneThreshold", 3);
+        ReflectionTestUtils.setField(filter, "slowQueryMs", 10_000L);
+    }
+
+    @Test
+    void doFilter_ShouldLogEndpointPattern_WhenSameSelectRepeats(CapturedOutput output) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/wallets/7/transactions");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/wallets/{walletId}/transactions");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chainRunning(WALLET_BY_ID, 3));
+
+        // Konsol kodlaması Türkçe karakterleri bozabildiği için yalnızca ASCII parçalar aranır
+        assertTrue(output.getOut().contains("N+1"), output.getOut());
+        assertTrue(output.getOut().contains("GET /wallets/{walletId}/transactions"), output.getOut());
+        assertTrue(output.getOut().contains(" 3 kez"), output.getOut());
+        assertFalse(output.getOut().contains(" SQL "), output.getOut());
+    }
+
+    @Test
+    void doFilter_ShouldLogRequestUri_WhenStatementLimitExceeded(CapturedOutput output) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions/batch");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chainRunning("insert into transactions values (?)", 5));
+
+        assertTrue(output.getOut().contains("POST /transactions/batch 5 SQL"), output.getOut());
+        assertFalse(output.getOut().contains("N+1"));
+    }
+
+    @Test
+    void doFilter_ShouldStayQuiet_WhenWithinLimits(CapturedOutput output) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/wallets"), new MockHttpServletResponse(),
+                chainRunning(WALLET_BY_ID, 2));
+
+        assertFalse(output.getOut().contains("QueryGuardFilter"), output.getOut());
+    }
+
+    @Test
+    void doFilter_ShouldCloseScope_WhenChainThrows() {
+        MockFilterChain failing = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        try (QueryStats outer = QueryStats.begin()) {
+            assertThrows(IllegalStateException.class, () ->
+                    filter.doFilter(new MockHttpServletRequest("GET", "/wallets"), new MockHttpServletResponse(), failing));
+
+            inspector.inspect(WALLET_BY_ID);
+            assertEquals(1, outer.statements());
+        }
+    }
+
+    private MockFilterChain chainRunning(String sql, int times) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                for (int i = 0; i < times; i++) {
+                    inspector.inspect(sql);
+                }
+            }
+        });
+    }
+}
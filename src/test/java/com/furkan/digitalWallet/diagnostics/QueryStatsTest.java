@@ -0,0 +1,85 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsTest {
+
+    private static final String WALLET_BY_ID = "select w.id from wallets w where w.id=?";
+    private final QueryCountingInspector inspector = new QueryCountingInspector();
+
+    @Test
+    void prepared_ShouldBeIgnored_WhenNoScopeIsOpen() {
+        assertEquals(WALLET_BY_ID, inspector.inspect(WALLET_BY_ID));
+
+        try (QueryStats stats = QueryStats.begin()) {
+            assertEquals(0, stats.statements());
+        }
+    }
+
+    @Test
+    void prepared_ShouldCountInEveryOpenScope() {
+        try (QueryStats outer = QueryStats.begin()) {
+            inspector.inspect(WALLET_BY_ID);
+            try (QueryStats inner = QueryStats.begin()) {
+                inspector.inspect(WALLET_BY_ID);
+                assertEquals(1, inner.statements());
+            }
+            inspector.inspect("update wallets set balance=? where id=?");
+
+            assertEquals(3, outer.statements());
+            assertEquals(2, outer.statementsBySql().get(WALLET_BY_ID));
+        }
+    }
+
+    @Test
+    void close_ShouldStopCounting() {
+        QueryStats stats = QueryStats.begin();
+        stats.close();
+
+        inspector.inspect(WALLET_BY_ID);
+
+        assertEquals(0, stats.statements());
+    }
+
+    @Test
+    void repeatedSelects_ShouldReportOnlySelectsAtOrAboveThreshold() {
+        try (QueryStats stats = QueryStats.begin()) {
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect(WALLET_BY_ID);
+                inspector.inspect("insert into transactions (amount) values (?)");
+            }
+            inspector.inspect("select c.id from customers c where c.id=?");
+
+            assertEquals(Map.of(WALLET_BY_ID, 3), stats.repeatedSelects(3));
+        }
+    }
+
+    @Test
+    void executed_ShouldRecordSlowStatementWithItsSql() {
+        QueryTimingListener listener = new QueryTimingListener();
+        try (QueryStats stats = QueryStats.begin(0)) {
+            inspector.inspect(WALLET_BY_ID);
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+
+            assertEquals(1, stats.slowStatements().size());
+            assertEquals(WALLET_BY_ID, stats.slowStatements().get(0).sql());
+        }
+    }
+
+    @Test
+    void executed_ShouldNotRecordSlowStatements_WhenScopeHasNoThreshold() {
+        QueryTimingListener listener = new QueryTimingListener();
+        try (QueryStats stats = QueryStats.begin()) {
+            inspector.inspect(WALLET_BY_ID);
+            listener.jdbcExecuteBatchStart();
+            listener.jdbcExecuteBatchEnd();
+
+            assertTrue(stats.slowStatements().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.furkan.digitalWallet.diagnostics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry);
+        ReflectionTestUtils.setField(monitor, "thresholdMs", 20L);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void record_ShouldCountSitesAndRecordDuration() {
+        monitor.record("a.B.c:10", Duration.ofMillis(30));
+        monitor.record("x.Y.z:5", Duration.ofMillis(25));
+        monitor.record("x.Y.z:5", Duration.ofMillis(40));
+
+        Map<String, Long> snapshot = monitor.snapshot();
+        assertEquals(List.of("x.Y.z:5", "a.B.c:10"), List.copyOf(snapshot.keySet()));
+        assertEquals(2L, snapshot.get("x.Y.z:5"));
+        assertEquals(1L, snapshot.get("a.B.c:10"));
+
+        Timer timer = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+        assertEquals(3, timer.count());
+        assertEquals(95.0, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void siteOf_ShouldHandleMissingStackTrace() {
+        assertEquals("bilinmiyor", VirtualThreadPinningMonitor.siteOf(null));
+    }
+}
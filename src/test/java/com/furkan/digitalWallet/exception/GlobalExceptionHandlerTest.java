@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -74,6 +75,34 @@ class GlobalExceptionHandlerTest {
         verifyNoInteractions(logger);
     }
 
+    @Test
+    void handleConflict_ReturnsConflictResponse() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("Row was updated");
+
+        ResponseEntity<?> response = globalExceptionHandler.handleConflict(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertNotNull(body);
+        assertEquals("Eşzamanlı güncelleme çakışması, lütfen tekrar deneyin", body.get("error"));
+
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    void handleConflict_ReturnsConflictResponseWithMessage() {
+        ConflictException ex = new ConflictException("Bu Idempotency-Key ile işlem devam ediyor");
+
+        ResponseEntity<?> response = globalExceptionHandler.handleConflict(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        Map<String, String> body = (Map<String, String>) response.getBody();
+        assertNotNull(body);
+        assertEquals("Bu Idempotency-Key ile işlem devam ediyor", body.get("error"));
+    }
+
     @Test
     void handleValidation_ReturnsBadRequestWithValidationErrors() {
         
@@ -0,0 +1,166 @@
+package com.furkan.digitalWallet.journal;
+
+import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.event.BalanceChangedEvent;
+import com.furkan.digitalWallet.event.TransactionSavedEvent;
+import com.furkan.digitalWallet.event.WalletCreatedEvent;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JournalEventListenerTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private TransactionJournal journal;
+    private JournalEventListener listener;
+    private TransactionTemplate tx;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new TransactionJournal(directory, 4096, 1, true);
+        listener = new JournalEventListener(journal, entityManager);
+        tx = new TransactionTemplate(transactionManager);
+
+        Customer customer = new Customer();
+        customer.setName("Journal");
+        customer.setSurname("Test");
+        customer.setTckn("77777777771");
+        customer.setUsername("journal");
+        customer.setPassword("secret");
+        customer.setRole(Role.CUSTOMER);
+        this.customer = customerRepository.save(customer);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+        transactionRepository.deleteAll();
+        walletRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void commit_ShouldAppendOneUnitWithAllChangesOfTheTransaction() throws IOException {
+        Transaction saved = tx.execute(status -> {
+            Wallet wallet = walletRepository.save(wallet());
+            listener.onWalletCreated(new WalletCreatedEvent(wallet));
+            Transaction t = transactionRepository.save(transaction(wallet));
+            listener.onBalanceChanged(new BalanceChangedEvent(wallet.getId(), Money.ofMajor(1500), Money.ZERO));
+            listener.onTransactionSaved(new TransactionSavedEvent(t));
+            // Aynı transaction'da onaylanan işlem: birimde yalnızca son hali ve toplam fark yer alır
+            t.setStatus(TransactionStatus.APPROVED);
+            listener.onBalanceChanged(new BalanceChangedEvent(wallet.getId(), Money.ZERO, Money.ofMajor(1500)));
+            listener.onTransactionSaved(new TransactionSavedEvent(t));
+            return t;
+        });
+        long walletId = saved.getWallet().getId();
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(1, records.size());
+        List<JournalRecord> entries = ((JournalRecord.Unit) records.get(0)).entries();
+        assertEquals(4, entries.size());
+        assertEquals("journal", ((JournalRecord.CustomerCreated) entries.get(0)).username());
+        assertEquals(walletId, ((JournalRecord.WalletCreated) entries.get(1)).walletId());
+        assertEquals(new JournalRecord.BalanceChanged(walletId, 1500_00, 1500_00), entries.get(2));
+        JournalRecord.TransactionSaved transaction = (JournalRecord.TransactionSaved) entries.get(3);
+        assertEquals(saved.getId(), transaction.transactionId());
+        assertEquals("APPROVED", transaction.status());
+    }
+
+    @Test
+    void commit_ShouldRollBack_WhenAppendFails() throws IOException {
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> tx.executeWithoutResult(status -> {
+            Wallet wallet = walletRepository.save(wallet());
+            listener.onWalletCreated(new WalletCreatedEvent(wallet));
+        }));
+
+        assertEquals(0, walletRepository.count());
+    }
+
+    @Test
+    void rollback_ShouldNotAppendAnything() throws IOException {
+        tx.executeWithoutResult(status -> {
+            Wallet wallet = walletRepository.save(wallet());
+            listener.onWalletCreated(new WalletCreatedEvent(wallet));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(readAll().isEmpty());
+    }
+
+    private List<JournalRecord> readAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(records::add);
+        return records;
+    }
+
+    private Wallet wallet() {
+        Wallet wallet = new Wallet();
+        wallet.setCustomer(customer);
+        wallet.setWalletName("Journal Cüzdan");
+        wallet.setCurrency(Currency.TRY);
+        return wallet;
+    }
+
+    private Transaction transaction(Wallet wallet) {
+        Transaction transaction = new Transaction();
+        transaction.setWallet(wallet);
+        transaction.setAmount(Money.ofMajor(1500));
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setOppositePartyType(OppositePartyType.IBAN);
+        transaction.setOppositeParty("TR330006100519786457841326");
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transaction;
+    }
+}
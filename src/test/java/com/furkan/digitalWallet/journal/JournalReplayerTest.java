@@ -0,0 +1,241 @@
+package com.furkan.digitalWallet.journal;
+
+import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JournalReplayerTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private Customer customer;
+    private long customerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Customer customer = new Customer();
+        customer.setName("Replay");
+        customer.setSurname("Test");
+        customer.setTckn("88888888888");
+        customer.setUsername("replay");
+        customer.setPassword("secret");
+        customer.setRole(Role.CUSTOMER);
+        this.customer = customerRepository.save(customer);
+        customerId = this.customer.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM wallets");
+        jdbcTemplate.update("DELETE FROM customers");
+    }
+
+    @Test
+    void replay_ShouldRebuildWalletsTransactionsAndBalances() throws IOException {
+        append(new JournalRecord.WalletCreated(1000L, customerId, "Ana Cüzdan", "TRY", true, true, 0, 0,
+                        "2025-01-01T10:00"),
+                new JournalRecord.WalletCreated(1001L, customerId, "USD Cüzdan", "USD", true, false, 5000, 5000,
+                        "2025-01-01T10:00"),
+                new JournalRecord.TransactionSaved(2000L, 1000L, 150000, "DEPOSIT", "IBAN", "TR123", "PENDING",
+                        "2025-01-01T10:01", null),
+                new JournalRecord.BalanceChanged(1000L, 150000, 0),
+                new JournalRecord.TransactionSaved(2000L, 1000L, 150000, "DEPOSIT", "IBAN", "TR123", "APPROVED",
+                        "2025-01-01T10:01", "2025-01-01T10:05"),
+                new JournalRecord.BalanceChanged(1000L, 0, 150000),
+                new JournalRecord.TransactionSaved(2001L, 1001L, 2000, "WITHDRAW", "PAYMENT", "SHOP-1", "APPROVED",
+                        "2025-01-01T10:02", null),
+                new JournalRecord.BalanceChanged(1001L, -2000, -2000),
+                // Geç gelen bekleyen kaydı onaylanmış işlemi ezmemelidir
+                new JournalRecord.TransactionSaved(2000L, 1000L, 150000, "DEPOSIT", "IBAN", "TR123", "PENDING",
+                        "2025-01-01T10:01", null));
+
+        replay();
+
+        assertBalances(1000L, "1500.00", "1500.00");
+        assertBalances(1001L, "30.00", "30.00");
+        assertEquals("APPROVED", jdbcTemplate.queryForObject(
+                "SELECT status FROM transactions WHERE id = 2000", String.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+    }
+
+    @Test
+    void replay_ShouldRestoreCustomerFromWalletUnit_WhenSchemaHasNoCustomers() throws IOException {
+        long journaledCustomerId = customerId + 500;
+        append(new JournalRecord.Unit(List.of(
+                        new JournalRecord.CustomerCreated(journaledCustomerId, "Journal", "Müşteri", "66666666666",
+                                "journaled", "$2a$10$hash", "CUSTOMER"),
+                        new JournalRecord.WalletCreated(1000L, journaledCustomerId, "Ana Cüzdan", "TRY", true, true, 0, 0,
+                                "2025-01-01T10:00"))),
+                new JournalRecord.Unit(List.of(
+                        new JournalRecord.BalanceChanged(1000L, 2500, 2500),
+                        new JournalRecord.TransactionSaved(2000L, 1000L, 2500, "DEPOSIT", "IBAN", "TR123", "APPROVED",
+                                "2025-01-01T10:01", null))));
+
+        replay();
+
+        assertEquals("journaled", jdbcTemplate.queryForObject(
+                "SELECT username FROM customers WHERE id = ?", String.class, journaledCustomerId));
+        assertBalances(1000L, "25.00", "25.00");
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+    }
+
+    @Test
+    void replay_ShouldKeepHighestTokenVersion() throws IOException {
+        append(new JournalRecord.Unit(List.of(new JournalRecord.TokenVersionChanged(customerId, 2))),
+                new JournalRecord.Unit(List.of(new JournalRecord.TokenVersionChanged(customerId, 1))));
+
+        replay();
+
+        assertEquals(2L, customerRepository.findTokenVersionById(customerId).orElseThrow());
+    }
+
+    @Test
+    void replay_ShouldSkipWholeUnit_WhenOneEntryCannotBeApplied() throws IOException {
+        append(new JournalRecord.WalletCreated(1000L, customerId, "Ana Cüzdan", "TRY", true, true, 0, 0,
+                        "2025-01-01T10:00"),
+                // İkinci cüzdan journal'da yok: birimin işlem satırı da uygulanmamalı
+                new JournalRecord.Unit(List.of(
+                        new JournalRecord.TransactionSaved(2000L, 1000L, 2500, "DEPOSIT", "IBAN", "TR123", "APPROVED",
+                                "2025-01-01T10:01", null),
+                        new JournalRecord.BalanceChanged(1000L, 2500, 2500),
+                        new JournalRecord.BalanceChanged(1001L, 2500, 2500))));
+
+        replay();
+
+        assertBalances(1000L, "0.00", "0.00");
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Integer.class));
+    }
+
+    @Test
+    void replay_ShouldFail_WhenWalletCustomerIsMissing() throws IOException {
+        append(new JournalRecord.WalletCreated(1000L, customerId + 1_000, "Ana Cüzdan", "TRY", true, true, 0, 0,
+                "2025-01-01T10:00"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, this::replay);
+
+        assertTrue(exception.getMessage().contains(String.valueOf(customerId + 1_000)), exception.getMessage());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallets", Integer.class));
+    }
+
+    @Test
+    void replay_ShouldMoveIdGenerationPastReplayedIds_WhenHibernateAlreadyHoldsABlock() throws IOException {
+        // DataInitializer gibi replay'den önce JPA ile yazmak, Hibernate'in bellekte bir kimlik bloğu ayırmasına yol açar
+        Wallet seeded = walletRepository.save(wallet("Tohum Cüzdan"));
+        Transaction seededTransaction = transactionRepository.save(transaction(seeded));
+        long replayedWalletId = seeded.getId() + 1;
+        long replayedTransactionId = seededTransaction.getId() + 1;
+        append(new JournalRecord.WalletCreated(replayedWalletId, customerId, "Journal Cüzdan", "TRY", true, true,
+                        0, 0, "2025-01-01T10:00"),
+                new JournalRecord.TransactionSaved(replayedTransactionId, replayedWalletId, 10000, "DEPOSIT", "IBAN",
+                        "TR123", "APPROVED", "2025-01-01T10:01", null),
+                new JournalRecord.BalanceChanged(replayedWalletId, 10000, 10000));
+
+        replay();
+
+        Wallet created = walletRepository.save(wallet("Yeni Cüzdan"));
+        Transaction createdTransaction = transactionRepository.save(transaction(created));
+        assertTrue(created.getId() > replayedWalletId, "wallet id " + created.getId());
+        assertTrue(createdTransaction.getId() > replayedTransactionId, "transaction id " + createdTransaction.getId());
+        assertBalances(replayedWalletId, "100.00", "100.00");
+    }
+
+    private void append(JournalRecord... records) throws IOException {
+        try (TransactionJournal journal = open()) {
+            for (JournalRecord record : records) {
+                journal.append(record);
+            }
+        }
+    }
+
+    private void replay() throws IOException {
+        try (TransactionJournal journal = open()) {
+            new JournalReplayer(journal, jdbcTemplate, entityManagerFactory, transactionManager).afterSingletonsInstantiated();
+        }
+    }
+
+    private Wallet wallet(String name) {
+        Wallet wallet = new Wallet();
+        wallet.setCustomer(customer);
+        wallet.setWalletName(name);
+        wallet.setCurrency(Currency.TRY);
+        return wallet;
+    }
+
+    private Transaction transaction(Wallet wallet) {
+        Transaction transaction = new Transaction();
+        transaction.setWallet(wallet);
+        transaction.setAmount(Money.ofMajor(5));
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setOppositePartyType(OppositePartyType.IBAN);
+        transaction.setOppositeParty("TR330006100519786457841326");
+        transaction.setStatus(TransactionStatus.APPROVED);
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transaction;
+    }
+
+    private TransactionJournal open() throws IOException {
+        return new TransactionJournal(directory, 4096, 1, false);
+    }
+
+    private void assertBalances(long walletId, String balance, String usableBalance) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT balance, usable_balance FROM wallets WHERE id = ?", walletId);
+        assertEquals(new BigDecimal(balance), row.get("BALANCE"));
+        assertEquals(new BigDecimal(usableBalance), row.get("USABLE_BALANCE"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.furkan.digitalWallet.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_ShouldReturnAppendedRecordsInOrder_AfterReopen() throws IOException {
+        List<JournalRecord> written = List.of(
+                new JournalRecord.WalletCreated(1L, 2L, "Ana Cüzdan", "TRY", true, false, 0, 0, "2025-01-01T10:00"),
+                new JournalRecord.BalanceChanged(1L, 150000, 0),
+                new JournalRecord.TransactionSaved(5L, 1L, 150000, "DEPOSIT", "IBAN", "TR123", "PENDING",
+                        "2025-01-01T10:01", null),
+                new JournalRecord.TransactionSaved(5L, 1L, 150000, "DEPOSIT", "IBAN", "TR123", "APPROVED",
+                        "2025-01-01T10:01", "2025-01-01T10:05"));
+
+        try (TransactionJournal journal = open()) {
+            written.forEach(journal::append);
+        }
+
+        try (TransactionJournal journal = open()) {
+            assertEquals(written, readAll(journal));
+        }
+    }
+
+    @Test
+    void append_ShouldContinueAfterLastRecord_WhenReopened() throws IOException {
+        try (TransactionJournal journal = open()) {
+            journal.append(new JournalRecord.BalanceChanged(1L, 100, 100));
+        }
+        try (TransactionJournal journal = open()) {
+            journal.append(new JournalRecord.BalanceChanged(1L, 200, 200));
+        }
+
+        try (TransactionJournal journal = open()) {
+            assertEquals(List.of(new JournalRecord.BalanceChanged(1L, 100, 100),
+                    new JournalRecord.BalanceChanged(1L, 200, 200)), readAll(journal));
+        }
+    }
+
+    @Test
+    void open_ShouldDiscardTornTail() throws IOException {
+        try (TransactionJournal journal = open()) {
+            journal.append(new JournalRecord.BalanceChanged(1L, 100, 100));
+            journal.append(new JournalRecord.BalanceChanged(1L, 200, 200));
+        }
+        // İkinci kaydın CRC'sini bozarak yarım yazılmış bir çerçeveyi taklit et
+        Path segment = segments().get(0);
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int firstFrame = JournalCodec.encode(new JournalRecord.BalanceChanged(1L, 100, 100)).length
+                    + TransactionJournal.FRAME_OVERHEAD;
+            ch.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), firstFrame + 6);
+        }
+
+        try (TransactionJournal journal = open()) {
+            journal.append(new JournalRecord.BalanceChanged(1L, 300, 300));
+        }
+
+        try (TransactionJournal journal = open()) {
+            assertEquals(List.of(new JournalRecord.BalanceChanged(1L, 100, 100),
+                    new JournalRecord.BalanceChanged(1L, 300, 300)), readAll(journal));
+        }
+    }
+
+    @Test
+    void replay_ShouldReturnUnitWithAllEntries() throws IOException {
+        JournalRecord.Unit unit = new JournalRecord.Unit(List.of(
+                new JournalRecord.CustomerCreated(2L, "Ali", "Kaya", "22222222222", "customer1", "$2a$10$hash", "CUSTOMER"),
+                new JournalRecord.TokenVersionChanged(2L, 3L),
+                new JournalRecord.WalletCreated(1L, 2L, "Ana Cüzdan", "TRY", true, false, 0, 0, "2025-01-01T10:00"),
+                new JournalRecord.BalanceChanged(1L, 150000, 0),
+                new JournalRecord.TransactionSaved(5L, 1L, 150000, "DEPOSIT", "IBAN", "TR123", "PENDING",
+                        "2025-01-01T10:01", null)));
+
+        try (TransactionJournal journal = open()) {
+            journal.append(unit);
+        }
+
+        try (TransactionJournal journal = open()) {
+            assertEquals(List.of(unit), readAll(journal));
+        }
+    }
+
+    @Test
+    void replay_ShouldSkipWholeUnit_WhenItIsTorn() throws IOException {
+        JournalRecord.Unit first = new JournalRecord.Unit(List.of(new JournalRecord.BalanceChanged(1L, 100, 100)));
+        JournalRecord.Unit torn = new JournalRecord.Unit(List.of(
+                new JournalRecord.BalanceChanged(1L, 200, 200),
+                new JournalRecord.TransactionSaved(6L, 1L, 200, "DEPOSIT", "IBAN", "TR123", "APPROVED",
+                        "2025-01-01T10:01", null)));
+        try (TransactionJournal journal = open()) {
+            journal.append(first);
+            journal.append(torn);
+        }
+        // İkinci birimin son byte'larını bozarak diske yarım ulaşmış bir birimi taklit et
+        int firstFrame = JournalCodec.encode(first).length + TransactionJournal.FRAME_OVERHEAD;
+        int tornFrame = JournalCodec.encode(torn).length + TransactionJournal.FRAME_OVERHEAD;
+        try (FileChannel ch = FileChannel.open(segments().get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[12]), firstFrame + tornFrame - 12);
+        }
+
+        try (TransactionJournal journal = open()) {
+            assertEquals(List.of(first), readAll(journal));
+        }
+    }
+
+    @Test
+    void append_ShouldRollToNewSegment_WhenSegmentIsFull() throws IOException {
+        List<JournalRecord> written = new ArrayList<>();
+        try (TransactionJournal journal = open()) {
+            for (int i = 0; i < 500; i++) {
+                JournalRecord record = new JournalRecord.BalanceChanged(i, i, -i);
+                journal.append(record);
+                written.add(record);
+            }
+        }
+
+        assertTrue(segments().size() > 1);
+        try (TransactionJournal journal = open()) {
+            assertEquals(written, readAll(journal));
+        }
+    }
+
+    @Test
+    void append_ShouldReject_WhenJournalIsClosed() throws IOException {
+        TransactionJournal journal = open();
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(new JournalRecord.BalanceChanged(1L, 1, 1)));
+    }
+
+    private TransactionJournal open() throws IOException {
+        return new TransactionJournal(directory, SEGMENT_SIZE, 1, true);
+    }
+
+    private List<JournalRecord> readAll(TransactionJournal journal) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.replay(records::add);
+        return records;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
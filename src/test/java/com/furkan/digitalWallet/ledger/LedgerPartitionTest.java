@@ -0,0 +1,182 @@
+package com.furkan.digitalWallet.ledger;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerPartitionTest {
+
+    @Mock
+    private LedgerStore store;
+
+    private LedgerPartition partition;
+
+    @BeforeEach
+    void setUp() {
+        partition = new LedgerPartition(store, 16, 16, 2);
+    }
+
+    @Test
+    void process_ShouldApplyDepositAndWithdrawInOrder_WhenSameBatch() throws Exception {
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 100_00, 100_00));
+        LedgerCommand.Deposit deposit = deposit(50_00, 10L);
+        LedgerCommand.Withdraw withdraw = withdraw(120_00, 10L);
+
+        partition.process(new ArrayList<>(List.of(deposit, withdraw)));
+
+        Transaction d = deposit.result().get();
+        Transaction w = withdraw.result().get();
+        assertEquals(TransactionStatus.APPROVED, d.getStatus());
+        assertEquals(TransactionType.WITHDRAW, w.getType());
+        assertEquals(Money.ofMajor(120), w.getAmount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, long[]>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(store).write(deltas.capture(), anyList());
+        assertArrayEquals(new long[]{-70_00, -70_00}, deltas.getValue().get(1L));
+        verify(store, times(1)).loadWallet(1L);
+    }
+
+    @Test
+    void process_ShouldOnlyIncreaseBalance_WhenDepositIsPending() throws Exception {
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 0, 0));
+        LedgerCommand.Deposit deposit = deposit(1500_00, 10L);
+
+        partition.process(new ArrayList<>(List.of(deposit)));
+
+        assertEquals(TransactionStatus.PENDING, deposit.result().get().getStatus());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, long[]>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(store).write(deltas.capture(), anyList());
+        assertArrayEquals(new long[]{1500_00, 0}, deltas.getValue().get(1L));
+    }
+
+    @Test
+    void process_ShouldRejectWithdraw_WhenUsableBalanceInsufficient() {
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 100_00, 10_00));
+        LedgerCommand.Withdraw withdraw = withdraw(20_00, 10L);
+
+        partition.process(new ArrayList<>(List.of(withdraw)));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> withdraw.result().get());
+        assertInstanceOf(BadRequestException.class, ex.getCause());
+        assertEquals("Yetersiz kullanılabilir bakiye", ex.getCause().getMessage());
+        verify(store, never()).write(anyMap(), anyList());
+    }
+
+    @Test
+    void process_ShouldRejectCommand_WhenWalletBelongsToAnotherCustomer() {
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 100_00, 100_00));
+        LedgerCommand.Deposit deposit = deposit(10_00, 99L);
+
+        partition.process(new ArrayList<>(List.of(deposit)));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> deposit.result().get());
+        assertEquals("Bu cüzdana erişim yetkiniz yok", ex.getCause().getMessage());
+    }
+
+    @Test
+    void process_ShouldApprovePendingDeposit_WhenDecisionCommand() throws Exception {
+        Transaction pending = new Transaction();
+        pending.setId(5L);
+        pending.setAmount(Money.ofMajor(1500));
+        pending.setType(TransactionType.DEPOSIT);
+        pending.setStatus(TransactionStatus.PENDING);
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 1500_00, 0));
+        when(store.loadTransactions(any())).thenReturn(Map.of(5L, pending));
+        LedgerCommand.Decide decide = new LedgerCommand.Decide(1L, 5L, TransactionStatus.APPROVED, new CompletableFuture<>());
+
+        partition.process(new ArrayList<>(List.of(decide)));
+
+        assertEquals(TransactionStatus.APPROVED, decide.result().get().getStatus());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, long[]>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(store).write(deltas.capture(), anyList());
+        assertArrayEquals(new long[]{0, 1500_00}, deltas.getValue().get(1L));
+    }
+
+    @Test
+    void process_ShouldReloadWalletState_WhenBatchWriteFails() {
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 100_00, 100_00));
+        doThrow(new IllegalStateException("db down")).when(store).write(anyMap(), anyList());
+        LedgerCommand.Deposit first = deposit(10_00, 10L);
+
+        partition.process(new ArrayList<>(List.of(first)));
+
+        assertTrue(first.result().isCompletedExceptionally());
+
+        LedgerCommand.Deposit second = deposit(10_00, 10L);
+        partition.process(new ArrayList<>(List.of(second)));
+
+        verify(store, times(2)).loadWallet(1L);
+    }
+
+    @Test
+    void process_ShouldRejectAmount_WhenItHasMoreFractionDigitsThanWalletCurrency() {
+        when(store.loadWallet(1L)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 100_00, 100_00));
+        LedgerCommand.Deposit deposit = new LedgerCommand.Deposit(1L, new BigDecimal("10.005"), OppositePartyType.IBAN,
+                "TR1", 10L, false, null, new CompletableFuture<>());
+
+        partition.process(new ArrayList<>(List.of(deposit)));
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> deposit.result().get());
+        assertInstanceOf(BadRequestException.class, ex.getCause());
+        assertEquals("Geçersiz tutar", ex.getCause().getMessage());
+        verify(store, never()).write(anyMap(), anyList());
+    }
+
+    @Test
+    void process_ShouldEvictLeastRecentlyUsedWallets_WhenCacheIsFull() {
+        for (long id = 1; id <= 3; id++) {
+            when(store.loadWallet(id)).thenReturn(new WalletState(10L, Currency.TRY, true, true, 100_00, 100_00));
+        }
+
+        partition.process(new ArrayList<>(List.of(deposit(1L, 10_00, 10L), deposit(2L, 10_00, 10L))));
+        partition.process(new ArrayList<>(List.of(deposit(1L, 10_00, 10L))));
+        partition.process(new ArrayList<>(List.of(deposit(3L, 10_00, 10L))));
+
+        assertEquals(2, partition.cachedWallets());
+        // 2 en uzun süredir kullanılmayandı; tekrar gelince veritabanından yüklenir, 1 ise bellekte kalır
+        partition.process(new ArrayList<>(List.of(deposit(2L, 10_00, 10L), deposit(1L, 10_00, 10L))));
+        verify(store, times(2)).loadWallet(2L);
+        verify(store, times(1)).loadWallet(1L);
+    }
+
+    private LedgerCommand.Deposit deposit(long amount, Long actingCustomerId) {
+        return deposit(1L, amount, actingCustomerId);
+    }
+
+    private LedgerCommand.Deposit deposit(long walletId, long amount, Long actingCustomerId) {
+        return new LedgerCommand.Deposit(walletId, BigDecimal.valueOf(amount, Money.SCALE), OppositePartyType.IBAN, "TR1",
+                actingCustomerId, false, null, new CompletableFuture<>());
+    }
+
+    private LedgerCommand.Withdraw withdraw(long amount, Long actingCustomerId) {
+        return new LedgerCommand.Withdraw(1L, BigDecimal.valueOf(amount, Money.SCALE), OppositePartyType.IBAN, "TR1",
+                actingCustomerId, false, null, new CompletableFuture<>());
+    }
+}
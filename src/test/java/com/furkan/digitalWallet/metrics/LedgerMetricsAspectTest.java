@@ -0,0 +1,141 @@
+package com.furkan.digitalWallet.metrics;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.RejectionReason;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import com.furkan.digitalWallet.request.DepositRequest;
+import com.furkan.digitalWallet.request.WithdrawRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerMetricsAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerMetricsAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new LedgerMetricsAspect(meterRegistry, walletRepository);
+        ReflectionTestUtils.setField(aspect, "currencyCacheMaxSize", 100L);
+        aspect.init();
+    }
+
+    @Test
+    void deposit_ShouldTimeByCurrencyTypeAndOutcome_WhenSucceeds() throws Throwable {
+        Transaction t = transaction(TransactionType.DEPOSIT, TransactionStatus.PENDING, Currency.USD);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{deposit(1L)});
+        when(joinPoint.proceed()).thenReturn(t);
+
+        assertSame(t, aspect.deposit(joinPoint));
+
+        assertEquals(1, meterRegistry.get("ledger.operation")
+                .tags("operation", "deposit", "type", "deposit", "currency", "USD", "outcome", "pending")
+                .timer().count());
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    void withdraw_ShouldCountRejectionReason_WhenBalanceInsufficient() throws Throwable {
+        BadRequestException rejected = new BadRequestException(RejectionReason.INSUFFICIENT_BALANCE);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{withdraw(5L)});
+        when(joinPoint.proceed()).thenThrow(rejected);
+        when(walletRepository.findCurrencyById(5L)).thenReturn(Optional.of(Currency.EUR));
+
+        assertSame(rejected, assertThrows(BadRequestException.class, () -> aspect.withdraw(joinPoint)));
+        assertThrows(BadRequestException.class, () -> aspect.withdraw(joinPoint));
+
+        assertEquals(2.0, meterRegistry.get("ledger.rejections")
+                .tags("operation", "withdraw", "reason", "insufficient_balance").counter().count());
+        assertEquals(2, meterRegistry.get("ledger.operation")
+                .tags("type", "withdraw", "currency", "EUR", "outcome", "rejected").timer().count());
+        // Para birimi cüzdan başına bir kez okunur
+        verify(walletRepository, times(1)).findCurrencyById(5L);
+    }
+
+    @Test
+    void decide_ShouldCountAsOther_WhenRejectionHasNoReason() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new BadRequestException("Sadece bekleyen işlemler onay/ret edilebilir"));
+
+        assertThrows(BadRequestException.class, () -> aspect.decide(joinPoint));
+
+        assertEquals(1.0, meterRegistry.get("ledger.rejections")
+                .tags("operation", "decide", "reason", "other").counter().count());
+        assertEquals(1, meterRegistry.get("ledger.operation")
+                .tags("type", "unknown", "currency", "unknown", "outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void decide_ShouldRecordNotFoundAndError_WithoutRejection() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new NotFoundException("İşlem bulunamadı"))
+                .thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(NotFoundException.class, () -> aspect.decide(joinPoint));
+        assertThrows(IllegalStateException.class, () -> aspect.decide(joinPoint));
+
+        assertEquals(1, meterRegistry.get("ledger.operation").tag("outcome", "not_found").timer().count());
+        assertEquals(1, meterRegistry.get("ledger.operation").tag("outcome", "error").timer().count());
+        assertNull(meterRegistry.find("ledger.rejections").counter());
+    }
+
+    @Test
+    void lockWait_ShouldTimeByStatement() throws Throwable {
+        Signature signature = mock(Signature.class);
+        when(signature.getName()).thenReturn("debitIfSufficient");
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.proceed()).thenReturn(1);
+
+        assertEquals(1, aspect.lockWait(joinPoint));
+
+        assertEquals(1, meterRegistry.get("ledger.lock.wait").tag("statement", "debitIfSufficient").timer().count());
+    }
+
+    private static Transaction transaction(TransactionType type, TransactionStatus status, Currency currency) {
+        Wallet wallet = new Wallet();
+        wallet.setId(1L);
+        wallet.setCurrency(currency);
+        Transaction t = new Transaction();
+        t.setWallet(wallet);
+        t.setType(type);
+        t.setStatus(status);
+        return t;
+    }
+
+    private static DepositRequest deposit(Long walletId) {
+        DepositRequest req = new DepositRequest();
+        req.setWalletId(walletId);
+        return req;
+    }
+
+    private static WithdrawRequest withdraw(Long walletId) {
+        WithdrawRequest req = new WithdrawRequest();
+        req.setWalletId(walletId);
+        return req;
+    }
+}
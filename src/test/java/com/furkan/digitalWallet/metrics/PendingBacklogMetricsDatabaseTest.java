@@ -0,0 +1,101 @@
+package com.furkan.digitalWallet.metrics;
+
+import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * sumByCurrency sorgusunu gerçek şemada çalıştırır; mock'lu testin varsaydığı satır tipleri
+ * (para birimi, sayı, tutar) burada doğrulanır.
+ */
+@DataJpaTest
+class PendingBacklogMetricsDatabaseTest {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingBacklogMetrics metrics;
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new PendingBacklogMetrics(transactionRepository, meterRegistry);
+        metrics.registerGauges();
+
+        Customer customer = new Customer();
+        customer.setName("Backlog");
+        customer.setSurname("Test");
+        customer.setTckn("77777777777");
+        customer.setUsername("backlog");
+        customer.setPassword("secret");
+        customer.setRole(Role.CUSTOMER);
+        this.customer = customerRepository.save(customer);
+    }
+
+    @Test
+    void refresh_ShouldSumPendingTransactionsPerCurrencyFromDatabase() {
+        Wallet tryWallet = wallet(Currency.TRY);
+        Wallet usdWallet = wallet(Currency.USD);
+        transaction(tryWallet, "1500.25", TransactionStatus.PENDING);
+        transaction(tryWallet, "2000.50", TransactionStatus.PENDING);
+        transaction(tryWallet, "999.00", TransactionStatus.APPROVED);
+        transaction(usdWallet, "1200.00", TransactionStatus.PENDING);
+        transaction(usdWallet, "50.00", TransactionStatus.DENIED);
+
+        metrics.refresh();
+
+        assertEquals(new PendingBacklogMetrics.Backlog(2, new BigDecimal("3500.75")),
+                metrics.backlogOf(Currency.TRY));
+        assertEquals(new PendingBacklogMetrics.Backlog(1, new BigDecimal("1200.00")),
+                metrics.backlogOf(Currency.USD));
+        assertEquals(PendingBacklogMetrics.Backlog.EMPTY, metrics.backlogOf(Currency.EUR));
+        assertEquals(3500.75, meterRegistry.get("ledger.pending.amount").tag("currency", "TRY").gauge().value());
+    }
+
+    private Wallet wallet(Currency currency) {
+        Wallet wallet = new Wallet();
+        wallet.setCustomer(customer);
+        wallet.setWalletName(currency.name() + " Cüzdan");
+        wallet.setCurrency(currency);
+        return walletRepository.save(wallet);
+    }
+
+    private void transaction(Wallet wallet, String amount, TransactionStatus status) {
+        Transaction transaction = new Transaction();
+        transaction.setWallet(wallet);
+        transaction.setAmount(Money.of(new BigDecimal(amount), wallet.getCurrency()));
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setOppositePartyType(OppositePartyType.IBAN);
+        transaction.setOppositeParty("TR330006100519786457841326");
+        transaction.setStatus(status);
+        transaction.setCreatedAt(LocalDateTime.now());
+        transactionRepository.save(transaction);
+    }
+}
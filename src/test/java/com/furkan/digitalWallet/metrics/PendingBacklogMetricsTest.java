@@ -0,0 +1,79 @@
+package com.furkan.digitalWallet.metrics;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingBacklogMetricsTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PendingBacklogMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new PendingBacklogMetrics(transactionRepository, meterRegistry);
+        metrics.registerGauges();
+    }
+
+    @Test
+    void refresh_ShouldPublishCountAndAmountPerCurrency() {
+        when(transactionRepository.sumByCurrency(TransactionStatus.PENDING)).thenReturn(List.<Object[]>of(
+                new Object[]{Currency.TRY, 3L, new BigDecimal("4500.50")},
+                new Object[]{Currency.USD, 1L, new BigDecimal("1200.00")}));
+
+        metrics.refresh();
+
+        assertEquals(3.0, gauge("ledger.pending.count", Currency.TRY));
+        assertEquals(4500.50, gauge("ledger.pending.amount", Currency.TRY));
+        assertEquals(1.0, gauge("ledger.pending.count", Currency.USD));
+        assertEquals(0.0, gauge("ledger.pending.count", Currency.EUR));
+        assertEquals(0.0, gauge("ledger.pending.amount", Currency.EUR));
+    }
+
+    @Test
+    void refresh_ShouldKeepLastValues_WhenQueryFails() {
+        when(transactionRepository.sumByCurrency(TransactionStatus.PENDING))
+                .thenReturn(List.<Object[]>of(new Object[]{Currency.TRY, 2L, new BigDecimal("3000.00")}))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+        metrics.refresh();
+
+        assertDoesNotThrow(metrics::refresh);
+
+        assertEquals(2.0, gauge("ledger.pending.count", Currency.TRY));
+    }
+
+    @Test
+    void refresh_ShouldNotThrow_WhenRowMappingFails() {
+        // Kaçan bir istisna scheduleWithFixedDelay görevini kalıcı olarak durdurur
+        when(transactionRepository.sumByCurrency(TransactionStatus.PENDING))
+                .thenReturn(List.<Object[]>of(new Object[]{Currency.TRY, 2L, new BigDecimal("3000.00")}))
+                .thenReturn(List.<Object[]>of(new Object[]{Currency.TRY, 2L, 3000.0}));
+        metrics.refresh();
+
+        assertDoesNotThrow(metrics::refresh);
+
+        assertEquals(3000.0, gauge("ledger.pending.amount", Currency.TRY));
+    }
+
+    private double gauge(String name, Currency currency) {
+        return meterRegistry.get(name).tag("currency", currency.name()).gauge().value();
+    }
+}
@@ -0,0 +1,26 @@
+package com.furkan.digitalWallet.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MoneyConverterTest {
+
+    private final MoneyConverter converter = new MoneyConverter();
+
+    @Test
+    void convertToDatabaseColumn_ShouldReturnScaledDecimal() {
+        assertEquals(new BigDecimal("99.95"), converter.convertToDatabaseColumn(Money.ofMinor(9995)));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReturnMinorUnits() {
+        assertEquals(Money.ofMinor(9995), converter.convertToEntityAttribute(new BigDecimal("99.95")));
+        assertEquals(Money.ofMinor(1000), converter.convertToEntityAttribute(BigDecimal.TEN));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
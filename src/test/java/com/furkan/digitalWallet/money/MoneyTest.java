@@ -0,0 +1,83 @@
+package com.furkan.digitalWallet.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void of_ShouldConvertToMinorUnits() {
+        assertEquals(12345, Money.of(new BigDecimal("123.45"), Currency.TRY).minorUnits());
+        assertEquals(50000, Money.of(BigDecimal.valueOf(500), Currency.USD).minorUnits());
+        assertEquals(10, Money.of(new BigDecimal("0.100"), Currency.EUR).minorUnits());
+    }
+
+    @Test
+    void of_ShouldThrowBadRequest_WhenAmountHasTooManyFractionDigits() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> Money.of(new BigDecimal("1.005"), Currency.TRY));
+
+        assertEquals("Geçersiz tutar", exception.getMessage());
+    }
+
+    @Test
+    void of_ShouldThrowBadRequest_WhenAmountExceedsLongRange() {
+        assertThrows(BadRequestException.class, () -> Money.of(new BigDecimal("1e20"), Currency.TRY));
+    }
+
+    @Test
+    void scale_ShouldMatchFractionDigitsOfEveryCurrency() {
+        for (Currency currency : Currency.values()) {
+            assertEquals(Money.SCALE, currency.getFractionDigits(), currency.name());
+            assertEquals(new BigDecimal("1.23"), Money.of(new BigDecimal("1.23"), currency).toBigDecimal());
+        }
+    }
+
+    @Test
+    void ofMinor_ShouldReturnSharedZero() {
+        assertSame(Money.ZERO, Money.ofMinor(0));
+    }
+
+    @Test
+    void arithmetic_ShouldWorkOnMinorUnits() {
+        Money a = Money.ofMinor(1050);
+        Money b = Money.ofMinor(25);
+
+        assertEquals(Money.ofMinor(1075), a.plus(b));
+        assertEquals(Money.ofMinor(1025), a.minus(b));
+        assertEquals(Money.ofMinor(-1050), a.negate());
+        assertTrue(a.isGreaterThan(b));
+        assertTrue(b.isLessThan(a));
+        assertFalse(a.isZero());
+    }
+
+    @Test
+    void plus_ShouldThrow_WhenOverflows() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(Long.MAX_VALUE / 10));
+    }
+
+    @Test
+    void toBigDecimal_ShouldUseTwoDecimalScale() {
+        assertEquals(new BigDecimal("10.50"), Money.ofMinor(1050).toBigDecimal());
+        assertEquals("10.50", Money.ofMinor(1050).toString());
+    }
+
+    @Test
+    void json_ShouldSerializeAsDecimalNumber() throws Exception {
+        assertEquals("1000.00", new ObjectMapper().writeValueAsString(Money.ofMajor(1000)));
+    }
+}
@@ -0,0 +1,192 @@
+package com.furkan.digitalWallet.repository;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.request.BulkDecisionRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository sorgularının ürettiği SQL'i yakalayıp H2 EXPLAIN çıktısında
+ * tam tablo taraması (tableScan) olmadığını ve beklenen index'in kullanıldığını doğrular.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.furkan.digitalWallet.repository.QueryPlanTest$SqlCapture")
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.SQL.clear();
+    }
+
+    @Test
+    void findFirstPage_ShouldReadWalletIndexInOrder() {
+        String plan = plan(() -> transactionRepository.findFirstPage(1L, Limit.of(10)), 1L, 10);
+
+        assertUsesIndex(plan, "IDX_TRANSACTIONS_WALLET_CREATED_ID");
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void findPageAfter_ShouldReadWalletIndexInOrder() {
+        String plan = plan(() -> transactionRepository.findPageAfter(1L, NOW, 5L, Limit.of(10)),
+                1L, NOW, NOW, 5L, 10);
+
+        assertUsesIndex(plan, "IDX_TRANSACTIONS_WALLET_CREATED_ID");
+        assertTrue(plan.contains("CREATED_AT <= ?2"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void streamByWalletId_ShouldReadWalletIndexInOrder() {
+        String plan = plan(() -> transactionRepository.streamByWalletId(1L).close(), 1L);
+
+        assertUsesIndex(plan, "IDX_TRANSACTIONS_WALLET_CREATED_ID");
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void transactionLookupsById_ShouldUsePrimaryKey() {
+        assertUsesIndex(plan(() -> transactionRepository.findWalletIdById(1L), 1L), "PRIMARY_KEY");
+        assertUsesIndex(plan(() -> transactionRepository.findWalletIdsByIdIn(List.of(1L, 2L)), 1L, 2L),
+                "PRIMARY_KEY");
+        assertUsesIndex(plan(() -> transactionRepository.findAllWithWalletByIdIn(List.of(1L, 2L)), 1L, 2L),
+                "PRIMARY_KEY");
+    }
+
+    @Test
+    void findIdsByFilter_ShouldUseStatusIndex() {
+        BigDecimal min = new BigDecimal("1.00");
+        BigDecimal max = new BigDecimal("2.00");
+        String plan = plan(() -> transactionRepository.findIdsByFilter(TransactionStatus.PENDING, 1L, Currency.TRY,
+                        Money.ofMajor(1), Money.ofMajor(2), Limit.of(BulkDecisionRequest.MAX_IDS)),
+                "PENDING", 1L, 1L, "TRY", "TRY", min, min, max, max, BulkDecisionRequest.MAX_IDS);
+
+        assertUsesIndex(plan, "IDX_TRANSACTIONS_STATUS_CREATED");
+    }
+
+    @Test
+    void pendingQueueByAge_ShouldReadStatusCreatedIndexInOrder() {
+        String first = plan(() -> transactionRepository.findQueueByAge(TransactionStatus.PENDING, null, null, null,
+                Limit.of(10)), queueParams(10));
+        String after = plan(() -> transactionRepository.findQueueByAgeAfter(TransactionStatus.PENDING, null, null, null,
+                NOW, 5L, Limit.of(10)), queueParams(NOW, NOW, NOW, 5L, 10));
+
+        assertUsesIndex(first, "IDX_TRANSACTIONS_STATUS_CREATED");
+        assertTrue(first.contains("index sorted"), first);
+        assertUsesIndex(after, "IDX_TRANSACTIONS_STATUS_CREATED");
+        assertTrue(after.contains("CREATED_AT >= ?8"), after);
+        assertTrue(after.contains("index sorted"), after);
+    }
+
+    @Test
+    void pendingQueueByAmount_ShouldReadStatusAmountIndexInOrder() {
+        String first = plan(() -> transactionRepository.findQueueByAmount(TransactionStatus.PENDING, null, null, null,
+                Limit.of(10)), queueParams(10));
+        String after = plan(() -> transactionRepository.findQueueByAmountAfter(TransactionStatus.PENDING, null, null,
+                null, Money.ofMajor(5), 5L, Limit.of(10)), queueParams(BigDecimal.TEN, BigDecimal.TEN, BigDecimal.TEN, 5L, 10));
+
+        assertUsesIndex(first, "IDX_TRANSACTIONS_STATUS_AMOUNT");
+        assertTrue(first.contains("index sorted"), first);
+        assertUsesIndex(after, "IDX_TRANSACTIONS_STATUS_AMOUNT");
+        assertTrue(after.contains("AMOUNT <= ?8"), after);
+        assertTrue(after.contains("index sorted"), after);
+    }
+
+    @Test
+    void walletsByCustomer_ShouldUseCustomerIdIndex() {
+        String plan = plan(() -> walletRepository.findByCustomerId(1L), 1L);
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.contains("CUSTOMER_ID = ?1 */"), plan);
+        assertUsesIndex(plan(() -> walletRepository.findByCustomerIdAndCurrency(1L, Currency.TRY), 1L, "TRY"),
+                "IDX_WALLETS_CUSTOMER_CURRENCY");
+    }
+
+    @Test
+    void existsByNormalizedName_ShouldUseUniqueNameIndex() {
+        String plan = plan(() -> walletRepository.existsByCustomerIdAndWalletNameNormalized(1L, "wallet"),
+                1L, "wallet");
+
+        assertUsesIndex(plan, "UK_WALLETS_CUSTOMER_NAME");
+    }
+
+    @Test
+    void findByIdForUpdate_ShouldUsePrimaryKey() {
+        assertUsesIndex(plan(() -> walletRepository.findByIdForUpdate(1L), 1L), "PRIMARY_KEY");
+    }
+
+    @Test
+    void idempotencyAndCustomerLookups_ShouldUseUniqueIndexes() {
+        assertUsesIndex(plan(() -> idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key"),
+                1L, "key"), "UK_IDEMPOTENCY_CUSTOMER_KEY");
+        String plan = plan(() -> customerRepository.findByUsername("customer"), "customer");
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    /**
+     * Kuyruk sorgularının parametreleri: status, currency, minAmount, maxAmount (null kontrolleriyle), ardından verilenler.
+     */
+    private static Object[] queueParams(Object... rest) {
+        Object[] params = new Object[7 + rest.length];
+        params[0] = "PENDING";
+        System.arraycopy(rest, 0, params, 7, rest.length);
+        return params;
+    }
+
+    /**
+     * Sorguyu çalıştırır, Hibernate'in gönderdiği son SQL'i verilen parametrelerle EXPLAIN eder.
+     */
+    private String plan(Runnable query, Object... params) {
+        SqlCapture.SQL.clear();
+        query.run();
+        assertFalse(SqlCapture.SQL.isEmpty(), "SQL yakalanamadı");
+        String sql = SqlCapture.SQL.get(SqlCapture.SQL.size() - 1);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertFalse(plan.contains("tableScan"), plan);
+        // Kısıt index'lerinin adına H2 bir sonek ekler (PRIMARY_KEY_F, UK_..._INDEX_6)
+        assertTrue(plan.contains("PUBLIC." + index), plan);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.furkan.digitalWallet.repository;
+
+import com.furkan.digitalWallet.entity.Customer;
+import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.money.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WalletRepositoryConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletRepositoryConcurrencyTest.class);
+
+    private static final Money ONE = Money.ofMajor(1);
+    private static final int THREADS = 4;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long walletId;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer();
+        customer.setName("Stress");
+        customer.setSurname("Test");
+        customer.setTckn("99999999999");
+        customer.setUsername("stress");
+        customer.setPassword("secret");
+        customer.setRole(Role.CUSTOMER);
+        customerRepository.save(customer);
+
+        Wallet wallet = new Wallet();
+        wallet.setCustomer(customer);
+        wallet.setWalletName("Hot Wallet");
+        wallet.setCurrency(Currency.TRY);
+        walletId = walletRepository.save(wallet).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        walletRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void adjustBalances_ShouldNotLoseUpdates_WhenManyThreadsDepositToSameWallet() throws Exception {
+        TransactionTemplate tx = transactionTemplate(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        long elapsedNanos = hammer(() -> tx.executeWithoutResult(status ->
+                walletRepository.adjustBalances(walletId, ONE, ONE)), new AtomicInteger());
+
+        Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+        Money expected = Money.ofMajor((long) THREADS * OPERATIONS_PER_THREAD);
+        assertEquals(expected, wallet.getBalance());
+        assertEquals(expected, wallet.getUsableBalance());
+        log.info("Atomic deposit path: {} ops/s", opsPerSecond(THREADS * OPERATIONS_PER_THREAD, elapsedNanos));
+    }
+
+    @Test
+    void debitIfSufficient_ShouldNeverOverdraw_WhenManyThreadsWithdrawFromSameWallet() throws Exception {
+        int initial = THREADS * OPERATIONS_PER_THREAD / 2;
+        TransactionTemplate tx = transactionTemplate(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        tx.executeWithoutResult(status ->
+                walletRepository.adjustBalances(walletId, Money.ofMajor(initial), Money.ofMajor(initial)));
+        AtomicInteger succeeded = new AtomicInteger();
+
+        hammer(() -> {
+            Integer updated = tx.execute(status -> walletRepository.debitIfSufficient(walletId, ONE, ONE));
+            if (updated != null && updated == 1) {
+                succeeded.incrementAndGet();
+            }
+        }, new AtomicInteger());
+
+        Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+        assertEquals(initial, succeeded.get());
+        assertEquals(Money.ZERO, wallet.getBalance());
+        assertEquals(Money.ZERO, wallet.getUsableBalance());
+    }
+
+    @Test
+    void adjustBalances_ShouldOutperformReadModifyWrite_OnContendedWallet() throws Exception {
+        TransactionTemplate legacyTx = transactionTemplate(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        AtomicInteger legacyFailures = new AtomicInteger();
+        long legacyNanos = hammer(() -> legacyTx.executeWithoutResult(status -> {
+            Wallet w = walletRepository.findById(walletId).orElseThrow();
+            w.setBalance(w.getBalance().plus(ONE));
+            w.setUsableBalance(w.getUsableBalance().plus(ONE));
+            walletRepository.save(w);
+        }), legacyFailures);
+        long legacyApplied = walletRepository.findById(walletId).orElseThrow().getBalance().minorUnits() / 100;
+
+        TransactionTemplate atomicTx = transactionTemplate(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        AtomicInteger atomicFailures = new AtomicInteger();
+        long atomicNanos = hammer(() -> atomicTx.executeWithoutResult(status ->
+                walletRepository.adjustBalances(walletId, ONE, ONE)), atomicFailures);
+        long atomicApplied = walletRepository.findById(walletId).orElseThrow().getBalance().minorUnits() / 100 - legacyApplied;
+
+        int total = THREADS * OPERATIONS_PER_THREAD;
+        long legacyOps = opsPerSecond((int) legacyApplied, legacyNanos);
+        long atomicOps = opsPerSecond((int) atomicApplied, atomicNanos);
+        log.info("Read-modify-write: {} of {} updates applied, {} failed, {} applied ops/s",
+                legacyApplied, total, legacyFailures.get(), legacyOps);
+        log.info("Atomic update: {} of {} updates applied, {} applied ops/s", atomicApplied, total, atomicOps);
+
+        assertEquals(0, atomicFailures.get());
+        assertEquals(total, atomicApplied);
+        assertTrue(atomicOps > legacyOps);
+    }
+
+    private TransactionTemplate transactionTemplate(int isolation) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(isolation);
+        return template;
+    }
+
+    private long hammer(Runnable operation, AtomicInteger failures) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    try {
+                        operation.run();
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return elapsed;
+    }
+
+    private long opsPerSecond(int operations, long elapsedNanos) {
+        return operations * 1_000_000_000L / Math.max(1, elapsedNanos);
+    }
+}
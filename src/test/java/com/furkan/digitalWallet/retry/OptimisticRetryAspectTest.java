@@ -0,0 +1,110 @@
+package com.furkan.digitalWallet.retry;
+
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.entity.Wallet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticRetryAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "backoffMs", 1L);
+    }
+
+    @Test
+    void retry_ShouldReturnResult_WhenFirstAttemptSucceeds() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        assertEquals("ok", aspect.retry(joinPoint));
+
+        verify(joinPoint, times(1)).proceed();
+        assertNull(meterRegistry.find("wallet.optimistic.conflicts").counter());
+    }
+
+    @Test
+    void retry_ShouldRetryAndCountByEntityAndOperation_WhenConflictThenSuccess() throws Throwable {
+        stubOperation("deposit");
+        when(joinPoint.proceed())
+                .thenThrow(new ObjectOptimisticLockingFailureException(Wallet.class, 7L))
+                .thenReturn("ok");
+
+        assertEquals("ok", aspect.retry(joinPoint));
+
+        verify(joinPoint, times(2)).proceed();
+        assertEquals(1.0, meterRegistry.get("wallet.optimistic.conflicts")
+                .tags("entity", "Wallet", "operation", "deposit").counter().count());
+        assertEquals(1.0, meterRegistry.get("wallet.optimistic.retries")
+                .tags("entity", "Wallet", "operation", "deposit").counter().count());
+        // Kayıt id'si etiket olmamalı: her cüzdan için ayrı seri oluşur
+        assertTrue(meterRegistry.getMeters().stream().noneMatch(m -> m.getId().getTag("walletId") != null));
+    }
+
+    @Test
+    void retry_ShouldRethrow_WhenAttemptsExhausted() throws Throwable {
+        stubOperation("decide");
+        ObjectOptimisticLockingFailureException conflict =
+                new ObjectOptimisticLockingFailureException(Transaction.class, 7L);
+        when(joinPoint.proceed()).thenThrow(conflict);
+
+        ObjectOptimisticLockingFailureException thrown = assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> aspect.retry(joinPoint));
+
+        assertSame(conflict, thrown);
+        verify(joinPoint, times(3)).proceed();
+        assertEquals(3.0, meterRegistry.get("wallet.optimistic.conflicts")
+                .tags("entity", "Transaction", "operation", "decide").counter().count());
+        assertEquals(2.0, meterRegistry.get("wallet.optimistic.retries")
+                .tags("entity", "Transaction", "operation", "decide").counter().count());
+    }
+
+    @Test
+    void retry_ShouldNotRetry_WhenOtherExceptionThrown() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class, () -> aspect.retry(joinPoint));
+
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void backoff_ShouldStayWithinExponentialCeiling() {
+        ReflectionTestUtils.setField(aspect, "backoffMs", 10L);
+
+        for (int i = 0; i < 100; i++) {
+            long first = aspect.backoff(1);
+            long third = aspect.backoff(3);
+            assertTrue(first >= 0 && first <= 10);
+            assertTrue(third >= 0 && third <= 40);
+        }
+    }
+
+    private void stubOperation(String name) {
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getName()).thenReturn(name);
+    }
+}
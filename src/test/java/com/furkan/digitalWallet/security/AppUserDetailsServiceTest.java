@@ -73,6 +73,19 @@ class AppUserDetailsServiceTest {
         verifyNoMoreInteractions(customerRepository);
     }
 
+    @Test
+    void loadUserByUsername_CustomerExists_CarriesPrincipalForTokenIssuing() {
+
+        when(customerRepository.findByUsername("testuser")).thenReturn(Optional.of(customer));
+
+
+        UserDetails userDetails = appUserDetailsService.loadUserByUsername("testuser");
+
+
+        CustomerUserDetails details = assertInstanceOf(CustomerUserDetails.class, userDetails);
+        assertEquals(new CustomerPrincipal(1L, "testuser", Role.CUSTOMER), details.principal());
+    }
+
     @Test
     void loadUserByUsername_EmployeeExists_ReturnsUserDetailsWithEmployeeRole() {
         
@@ -0,0 +1,55 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerPrincipalArgumentResolverTest {
+
+    private final CustomerPrincipalArgumentResolver resolver = new CustomerPrincipalArgumentResolver();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void supportsParameter_ShouldMatchOnlyCustomerPrincipal() throws Exception {
+        assertTrue(resolver.supportsParameter(parameter(0)));
+        assertFalse(resolver.supportsParameter(parameter(1)));
+    }
+
+    @Test
+    void resolveArgument_ShouldReturnPrincipalFromSecurityContext() throws Exception {
+        CustomerPrincipal principal = new CustomerPrincipal(2L, "customer", Role.CUSTOMER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+
+        assertSame(principal, resolver.resolveArgument(parameter(0), null, null, null));
+        assertEquals("customer", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void resolveArgument_ShouldThrow_WhenNotAuthenticated() throws Exception {
+        assertThrows(AuthenticationCredentialsNotFoundException.class,
+                () -> resolver.resolveArgument(parameter(0), null, null, null));
+    }
+
+    private static MethodParameter parameter(int index) throws NoSuchMethodException {
+        Method method = CustomerPrincipalArgumentResolverTest.class
+                .getDeclaredMethod("handler", CustomerPrincipal.class, String.class);
+        return new MethodParameter(method, index);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(CustomerPrincipal acting, String other) {
+    }
+}
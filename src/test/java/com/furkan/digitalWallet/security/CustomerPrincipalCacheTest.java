@@ -0,0 +1,82 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerPrincipalCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerPrincipalCache principalCache;
+    private CustomerPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new CustomerPrincipalCache(customerRepository, meterRegistry);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 60L);
+        principalCache.init();
+
+        principal = new CustomerPrincipal(2L, "customer", Role.CUSTOMER);
+    }
+
+    @Test
+    void get_ShouldQueryRepositoryOnce_ForRepeatedLookups() {
+        when(customerRepository.findPrincipalByUsername("customer")).thenReturn(Optional.of(principal));
+
+        assertEquals(principal, principalCache.get("customer"));
+        assertEquals(principal, principalCache.get("customer"));
+
+        verify(customerRepository, times(1)).findPrincipalByUsername("customer");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principal").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_ShouldThrowAndNotCache_WhenUserDoesNotExist() {
+        when(customerRepository.findPrincipalByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost"));
+
+        verify(customerRepository, times(2)).findPrincipalByUsername("ghost");
+    }
+
+    @Test
+    void invalidate_ShouldReloadOnNextLookup() {
+        CustomerPrincipal promoted = new CustomerPrincipal(2L, "customer", Role.EMPLOYEE);
+        when(customerRepository.findPrincipalByUsername("customer"))
+                .thenReturn(Optional.of(principal), Optional.of(promoted));
+        principalCache.get("customer");
+
+        principalCache.invalidate("customer");
+
+        assertEquals(Role.EMPLOYEE, principalCache.get("customer").role());
+        verify(customerRepository, times(2)).findPrincipalByUsername("customer");
+    }
+
+    @Test
+    void put_ShouldServeLookupWithoutRepository() {
+        principalCache.put(principal);
+
+        assertEquals(principal, principalCache.get("customer"));
+        verifyNoInteractions(customerRepository);
+    }
+}
@@ -0,0 +1,129 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock
+    private CustomerPrincipalCache principalCache;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private JwtService jwtService;
+    private TokenRevocationRegistry revocations;
+    private JwtAuthFilter filter;
+    private CustomerPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secret", "mySecretKeyForJWTTokenGenerationThatIsLongEnoughToMeetRequirements");
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", 60L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 100L);
+        jwtService.init();
+        revocations = new TokenRevocationRegistry(customerRepository, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(revocations, "maxSize", 100L);
+        ReflectionTestUtils.setField(revocations, "ttlSeconds", 60L);
+        revocations.init();
+        filter = new JwtAuthFilter(jwtService, principalCache, revocations);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        principal = new CustomerPrincipal(2L, "customer", Role.CUSTOMER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stateless_ShouldAuthenticateFromClaimsWithoutLookup() throws Exception {
+        Authentication auth = filter(jwtService.generateToken(principal, 0L));
+
+        assertEquals(principal, auth.getPrincipal());
+        assertEquals("ROLE_CUSTOMER", auth.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(principalCache);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void stateless_ShouldFallBackToCache_ForTokensWithoutCustomerId() throws Exception {
+        when(principalCache.get("customer")).thenReturn(principal);
+
+        Authentication auth = filter(jwtService.generateToken("customer", "CUSTOMER"));
+
+        assertEquals(principal, auth.getPrincipal());
+    }
+
+    @Test
+    void statelessDisabled_ShouldUseCache() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", false);
+        when(principalCache.get("customer")).thenReturn(principal);
+
+        Authentication auth = filter(jwtService.generateToken(principal, 0L));
+
+        assertEquals(principal, auth.getPrincipal());
+        verify(principalCache).get("customer");
+    }
+
+    @Test
+    void revokedToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        when(customerRepository.findTokenVersionById(2L)).thenReturn(Optional.of(0L), Optional.of(1L));
+        when(customerRepository.incrementTokenVersion(2L)).thenReturn(1);
+        String token = jwtService.generateToken(principal, revocations.currentVersion(2L));
+        revocations.revokeAll(2L);
+
+        assertNull(filter(token));
+        assertNotNull(filter(jwtService.generateToken(principal, revocations.currentVersion(2L))));
+    }
+
+    @Test
+    void unknownUser_ShouldLeaveRequestUnauthenticated() throws Exception {
+        when(principalCache.get("ghost")).thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertNull(filter(jwtService.generateToken("ghost", "CUSTOMER")));
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void invalidToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        assertNull(filter("invalid.token.signature"));
+        verifyNoInteractions(principalCache);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
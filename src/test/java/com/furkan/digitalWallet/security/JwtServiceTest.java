@@ -1,24 +1,33 @@
 package com.furkan.digitalWallet.security;
 
+import com.furkan.digitalWallet.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private JwtService jwtService;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(meterRegistry);
         ReflectionTestUtils.setField(jwtService, "secret", "mySecretKeyForJWTTokenGenerationThatIsLongEnoughToMeetRequirements");
         ReflectionTestUtils.setField(jwtService, "expirationSeconds", 18000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 100L);
+        jwtService.init();
     }
 
     @Test
@@ -173,4 +182,67 @@ class JwtServiceTest {
         
         assertThrows(Exception.class, () -> jwtService.extractRole(invalidToken));
     }
+
+    @Test
+    void verify_ShouldExposeStatelessClaims_WhenTokenCarriesCustomerId() {
+        CustomerPrincipal principal = new CustomerPrincipal(42L, "testuser", Role.EMPLOYEE);
+        String token = jwtService.generateToken(principal, 3L);
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertNotNull(verified);
+        assertEquals("testuser", verified.username());
+        assertEquals(principal, verified.principal());
+        assertEquals(3L, verified.tokenVersion());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void verify_ShouldReturnNoPrincipal_WhenTokenHasNoCustomerId() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken("testuser", "CUSTOMER"));
+
+        assertEquals("testuser", verified.username());
+        assertNull(verified.principal());
+        assertNull(verified.tokenVersion());
+    }
+
+    @Test
+    void verify_ShouldServeRepeatedTokenFromCache() {
+        String token = jwtService.generateToken(new CustomerPrincipal(42L, "testuser", Role.CUSTOMER), 0L);
+
+        VerifiedToken first = jwtService.verify(token);
+
+        assertSame(first, jwtService.verify(token));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void verify_ShouldKeyCacheByTokenDigest() {
+        String token = jwtService.generateToken(new CustomerPrincipal(42L, "testuser", Role.CUSTOMER), 0L);
+
+        jwtService.verify(token);
+
+        Cache<?, ?> cache = (Cache<?, ?>) ReflectionTestUtils.getField(jwtService, "verified");
+        assertEquals(Set.of(JwtService.digest(token)), cache.asMap().keySet());
+        assertFalse(cache.asMap().containsKey(token));
+    }
+
+    @Test
+    void verify_ShouldReturnNull_WhenSignedWithAnotherKey() {
+        JwtService other = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(other, "secret", "anotherSecretKeyForJWTTokenGenerationThatIsLongEnoughToMeetRequirements");
+        ReflectionTestUtils.setField(other, "expirationSeconds", 18000L);
+        ReflectionTestUtils.setField(other, "verifiedCacheSize", 100L);
+        other.init();
+
+        assertNull(jwtService.verify(other.generateToken(new CustomerPrincipal(42L, "testuser", Role.CUSTOMER), 0L)));
+    }
+
+    @Test
+    void verify_ShouldReturnNull_WhenTokenExpired() {
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", -1L);
+
+        assertNull(jwtService.verify(jwtService.generateToken("testuser", "CUSTOMER")));
+    }
 }
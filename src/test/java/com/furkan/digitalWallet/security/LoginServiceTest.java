@@ -0,0 +1,103 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.enums.Role;
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginService loginService;
+    private CustomerPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginService = new LoginService(authenticationManager, meterRegistry);
+        ReflectionTestUtils.setField(loginService, "threads", 1);
+        ReflectionTestUtils.setField(loginService, "queueCapacity", 1);
+        loginService.init();
+
+        principal = new CustomerPrincipal(2L, "customer", Role.CUSTOMER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginService.shutdown();
+    }
+
+    @Test
+    void authenticate_ShouldReturnPrincipalFromUserDetails_OnLoginThread() throws Exception {
+        String[] thread = new String[1];
+        when(authenticationManager.authenticate(any())).thenAnswer(inv -> {
+            thread[0] = Thread.currentThread().getName();
+            CustomerUserDetails details = new CustomerUserDetails(principal, "hash");
+            return UsernamePasswordAuthenticationToken.authenticated(details, null, details.getAuthorities());
+        });
+
+        assertEquals(principal, loginService.authenticate("customer", "password").get(5, TimeUnit.SECONDS));
+
+        assertTrue(thread[0].startsWith("login-"), thread[0]);
+        verify(authenticationManager).authenticate(argThat(auth ->
+                auth.getPrincipal().equals("customer") && auth.getCredentials().equals("password")));
+        assertEquals(1, meterRegistry.get("login.queue.wait").timer().count());
+    }
+
+    @Test
+    void authenticate_ShouldCompleteExceptionally_WhenCredentialsAreWrong() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        CompletableFuture<CustomerPrincipal> result = loginService.authenticate("customer", "wrong");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+    }
+
+    @Test
+    void authenticate_ShouldRejectWith503_WhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            CustomerUserDetails details = new CustomerUserDetails(principal, "hash");
+            return UsernamePasswordAuthenticationToken.authenticated(details, null, details.getAuthorities());
+        });
+
+        CompletableFuture<CustomerPrincipal> running = loginService.authenticate("customer", "password");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<CustomerPrincipal> queued = loginService.authenticate("customer", "password");
+
+        assertEquals(1.0, meterRegistry.get("login.queue.size").gauge().value());
+        assertEquals(1.0, meterRegistry.get("login.active").gauge().value());
+        assertThrows(ServiceUnavailableException.class, () -> loginService.authenticate("customer", "password"));
+        assertEquals(1.0, meterRegistry.get("login.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(principal, running.get(5, TimeUnit.SECONDS));
+        assertEquals(principal, queued.get(5, TimeUnit.SECONDS));
+    }
+}
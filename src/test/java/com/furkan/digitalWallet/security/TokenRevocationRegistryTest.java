@@ -0,0 +1,81 @@
+package com.furkan.digitalWallet.security;
+
+import com.furkan.digitalWallet.event.TokenVersionChangedEvent;
+import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRegistryTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry(customerRepository, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(registry, "maxSize", 100L);
+        ReflectionTestUtils.setField(registry, "ttlSeconds", 60L);
+        registry.init();
+    }
+
+    @Test
+    void isRevoked_ShouldAcceptAnyToken_WhenCustomerNeverRevoked() {
+        when(customerRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        assertEquals(0L, registry.currentVersion(1L));
+        assertFalse(registry.isRevoked(1L, 0L));
+        assertFalse(registry.isRevoked(1L, null));
+        // Versiyon cache'lenir; her istekte sorgu atılmaz
+        verify(customerRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void isRevoked_ShouldUsePersistedVersion_AfterRestart() {
+        when(customerRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2L));
+
+        assertTrue(registry.isRevoked(1L, 1L));
+        assertTrue(registry.isRevoked(1L, null));
+        assertFalse(registry.isRevoked(1L, 2L));
+    }
+
+    @Test
+    void revokeAll_ShouldPersistAndRejectOlderAndUnversionedTokens() {
+        when(customerRepository.incrementTokenVersion(1L)).thenReturn(1);
+        when(customerRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1L));
+
+        long next = registry.revokeAll(1L);
+
+        assertEquals(1L, next);
+        assertEquals(1L, registry.currentVersion(1L));
+        assertTrue(registry.isRevoked(1L, 0L));
+        assertTrue(registry.isRevoked(1L, null));
+        assertFalse(registry.isRevoked(1L, 1L));
+        verify(eventPublisher).publishEvent(new TokenVersionChangedEvent(1L, 1L));
+    }
+
+    @Test
+    void revokeAll_ShouldThrowNotFound_WhenCustomerDoesNotExist() {
+        when(customerRepository.incrementTokenVersion(9L)).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> registry.revokeAll(9L));
+        verifyNoInteractions(eventPublisher);
+    }
+}
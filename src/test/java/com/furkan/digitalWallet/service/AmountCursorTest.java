@@ -0,0 +1,38 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AmountCursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        AmountCursor cursor = new AmountCursor(Currency.EUR, Money.ofMinor(123_456), 42L);
+
+        assertEquals(cursor, AmountCursor.decode(cursor.encode(), Currency.EUR));
+    }
+
+    @Test
+    void decode_ShouldThrowBadRequest_WhenCursorBelongsToOtherCurrency() {
+        String cursor = new AmountCursor(Currency.EUR, Money.ofMinor(123_456), 42L).encode();
+
+        assertThrows(BadRequestException.class, () -> AmountCursor.decode(cursor, Currency.TRY));
+    }
+
+    @Test
+    void decode_ShouldThrowBadRequest_WhenCursorBelongsToAgeOrder() {
+        String ageCursor = new TransactionCursor(LocalDateTime.of(2025, 1, 2, 3, 4), 42L).encode();
+
+        assertThrows(BadRequestException.class, () -> AmountCursor.decode(ageCursor, Currency.TRY));
+        assertThrows(BadRequestException.class,
+                () -> TransactionCursor.decode(new AmountCursor(Currency.TRY, Money.ZERO, 1L).encode()));
+        assertThrows(BadRequestException.class, () -> AmountCursor.decode("%%%", Currency.TRY));
+    }
+}
@@ -0,0 +1,115 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.request.BulkDecisionRequest;
+import com.furkan.digitalWallet.response.BulkDecisionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDecisionServiceTest {
+
+    @Mock
+    private LedgerOperations ledgerOperations;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private BulkDecisionService bulkDecisionService;
+
+    private BulkDecisionRequest request;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkDecisionService, "chunkSize", 2);
+        request = new BulkDecisionRequest();
+        request.setStatus(TransactionStatus.APPROVED);
+    }
+
+    @Test
+    void decide_ShouldSplitDistinctIdsIntoChunks() {
+        request.setTransactionIds(List.of(1L, 2L, 2L, 3L));
+        when(ledgerOperations.decideAll(List.of(1L, 2L), TransactionStatus.APPROVED)).thenReturn(Map.of());
+        when(ledgerOperations.decideAll(List.of(3L), TransactionStatus.APPROVED))
+                .thenReturn(Map.of(3L, "İşlem bulunamadı"));
+
+        BulkDecisionResponse response = bulkDecisionService.decide(request);
+
+        assertEquals(2, response.getDecided());
+        assertEquals(1, response.getFailed());
+        assertEquals(3L, response.getFailures().get(0).getTransactionId());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void decide_ShouldResolvePendingIdsFromFilter_WhenNoIdsGiven() {
+        request.setWalletId(1L);
+        request.setCurrency(Currency.TRY);
+        request.setMinAmount(new BigDecimal("1000.50"));
+        when(transactionRepository.findIdsByFilter(TransactionStatus.PENDING, 1L, Currency.TRY,
+                Money.ofMinor(100050), null, Limit.of(BulkDecisionRequest.MAX_IDS))).thenReturn(List.of(5L));
+        when(ledgerOperations.decideAll(List.of(5L), TransactionStatus.APPROVED)).thenReturn(Map.of());
+
+        BulkDecisionResponse response = bulkDecisionService.decide(request);
+
+        assertEquals(1, response.getDecided());
+        assertEquals(0, response.getFailed());
+    }
+
+    @Test
+    void decide_ShouldRejectRequest_WhenNeitherIdsNorFilterGiven() {
+        request.setTransactionIds(List.of());
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bulkDecisionService.decide(request));
+
+        assertEquals("İşlem id'leri ya da en az bir filtre verilmelidir", exception.getMessage());
+        verifyNoInteractions(transactionRepository, ledgerOperations);
+    }
+
+    @Test
+    void decide_ShouldRejectAmountFilter_WhenCurrencyIsMissing() {
+        request.setWalletId(1L);
+        request.setMaxAmount(new BigDecimal("1000"));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> bulkDecisionService.decide(request));
+
+        assertEquals("Tutar filtresi için para birimi verilmelidir", exception.getMessage());
+        verifyNoInteractions(transactionRepository, ledgerOperations);
+    }
+
+    @Test
+    void decide_ShouldFailWholeChunk_WhenChunkTransactionFails() {
+        request.setTransactionIds(List.of(1L, 2L, 3L));
+        when(ledgerOperations.decideAll(List.of(1L, 2L), TransactionStatus.APPROVED))
+                .thenThrow(new OptimisticLockingFailureException("conflict"));
+        when(ledgerOperations.decideAll(List.of(3L), TransactionStatus.APPROVED)).thenReturn(Map.of());
+
+        BulkDecisionResponse response = bulkDecisionService.decide(request);
+
+        assertEquals(1, response.getDecided());
+        assertEquals(2, response.getFailed());
+        assertEquals("Beklenmeyen hata", response.getFailures().get(0).getError());
+    }
+}
@@ -0,0 +1,52 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyRecordPurgerTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyRecordPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        purger = new IdempotencyRecordPurger(idempotencyRecordRepository);
+        ReflectionTestUtils.setField(purger, "retentionMinutes", 60L);
+    }
+
+    @Test
+    void purge_ShouldDeleteRecordsOlderThanRetention() {
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(idempotencyRecordRepository.deleteCreatedBefore(cutoff.capture())).thenReturn(3);
+
+        purger.purge();
+
+        Duration age = Duration.between(cutoff.getValue(), LocalDateTime.now());
+        assertTrue(age.compareTo(Duration.ofMinutes(59)) > 0 && age.compareTo(Duration.ofMinutes(61)) < 0,
+                age.toString());
+    }
+
+    @Test
+    void purge_ShouldNotThrow_WhenDeleteFails() {
+        when(idempotencyRecordRepository.deleteCreatedBefore(any()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertDoesNotThrow(() -> purger.purge());
+    }
+}
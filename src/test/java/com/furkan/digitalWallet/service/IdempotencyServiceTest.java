@@ -0,0 +1,259 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.entity.IdempotencyRecord;
+import com.furkan.digitalWallet.entity.Transaction;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.ConflictException;
+import com.furkan.digitalWallet.exception.ServiceUnavailableException;
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyService idempotencyService;
+    private Transaction transaction;
+    private static final String HASH = IdempotencyService.requestHash(5L, new BigDecimal("1500"), OppositePartyType.IBAN,
+            "TR1");
+
+    private AtomicInteger calls;
+    private Long reservationId;
+    private Function<Long, Transaction> operation;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, transactionRepository, meterRegistry);
+        ReflectionTestUtils.setField(idempotencyService, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(idempotencyService, "ttlMinutes", 60L);
+        idempotencyService.init();
+
+        transaction = new Transaction();
+        transaction.setId(10L);
+        transaction.setType(TransactionType.DEPOSIT);
+        calls = new AtomicInteger();
+        operation = id -> {
+            calls.incrementAndGet();
+            reservationId = id;
+            return transaction;
+        };
+    }
+
+    @Test
+    void execute_ShouldRunOperationDirectly_WhenNoKey() {
+        assertSame(transaction, idempotencyService.execute(1L, null, TransactionType.DEPOSIT, HASH, operation));
+
+        assertEquals(1, calls.get());
+        assertNull(reservationId);
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void execute_ShouldAnswerDuplicateFromCache_WithoutRunningOperationAgain() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(inv -> withId(inv.getArgument(0)));
+
+        idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation);
+        Transaction replayed = idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation);
+
+        assertSame(transaction, replayed);
+        assertEquals(1, calls.get());
+        // Rezervasyon işlemin kendi transaction'ında tamamlanır
+        assertEquals(1L, reservationId);
+        verify(idempotencyRecordRepository, never()).complete(any(), any());
+        verify(idempotencyRecordRepository, times(1)).findByCustomerIdAndIdempotencyKey(1L, "key-1");
+        assertEquals(1.0, meterRegistry.counter("idempotency.requests", "result", "cache").count());
+        assertEquals(1.0, meterRegistry.counter("idempotency.requests", "result", "miss").count());
+        // Ağırlık, Caffeine'in asenkron bakımında güncellenir
+        ((Cache<?, ?>) ReflectionTestUtils.getField(idempotencyService, "cache")).cleanUp();
+        assertEquals(IdempotencyService.ENTRY_OVERHEAD_BYTES + 2 * ("key-1".length() + HASH.length()),
+                meterRegistry.get("idempotency.cache.estimated.size").gauge().value());
+    }
+
+    @Test
+    void execute_ShouldAnswerFromDatabase_WhenKeyNotCached() {
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(record(10L)));
+        when(transactionRepository.findById(10L)).thenReturn(Optional.of(transaction));
+
+        assertSame(transaction, idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation));
+
+        assertEquals(0, calls.get());
+        assertEquals(1.0, meterRegistry.counter("idempotency.requests", "result", "database").count());
+    }
+
+    @Test
+    void execute_ShouldThrowConflict_WhenKeyIsReusedForDifferentRequest() {
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(record(10L)));
+        String otherAmount = IdempotencyService.requestHash(5L, new BigDecimal("1"), OppositePartyType.IBAN, "TR1");
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, otherAmount, operation));
+
+        assertEquals("Idempotency-Key farklı bir istek için kullanılmış", exception.getMessage());
+        assertEquals(0, calls.get());
+        verify(transactionRepository, never()).findById(any());
+    }
+
+    @Test
+    void execute_ShouldThrowConflict_WhenCachedKeyIsReusedForDifferentRequest() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(inv -> withId(inv.getArgument(0)));
+        idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation);
+        String otherWallet = IdempotencyService.requestHash(6L, new BigDecimal("1500"), OppositePartyType.IBAN, "TR1");
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, otherWallet, operation));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_ShouldReplay_WhenLegacyRecordHasNoRequestHash() {
+        IdempotencyRecord legacy = record(10L);
+        legacy.setRequestHash(null);
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(legacy));
+        when(transactionRepository.findById(10L)).thenReturn(Optional.of(transaction));
+
+        assertSame(transaction, idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation));
+    }
+
+    @Test
+    void requestHash_ShouldIgnoreAmountScale() {
+        assertEquals(HASH, IdempotencyService.requestHash(5L, new BigDecimal("1500.00"), OppositePartyType.IBAN, "TR1"));
+        assertNotEquals(HASH, IdempotencyService.requestHash(5L, new BigDecimal("1500"), OppositePartyType.IBAN, "TR2"));
+    }
+
+    @Test
+    void execute_ShouldThrowConflict_WhenSameKeyIsStillInProgress() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_customer_key"));
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.empty(), Optional.of(record(null)));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation));
+
+        assertEquals("Bu Idempotency-Key ile işlem devam ediyor", exception.getMessage());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void execute_ShouldReleaseKey_WhenOperationFails() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(inv -> withId(inv.getArgument(0)));
+
+        assertThrows(BadRequestException.class, () -> idempotencyService.execute(1L, "key-1",
+                TransactionType.WITHDRAW, HASH, id -> {
+                    throw new BadRequestException("Yetersiz kullanılabilir bakiye");
+                }));
+
+        verify(idempotencyRecordRepository).deleteById(1L);
+        verify(idempotencyRecordRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    void execute_ShouldKeepReservation_WhenOutcomeIsUnknown() {
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(inv -> withId(inv.getArgument(0)));
+
+        // Ledger zaman aşımında komut kuyrukta kalmış olabilir; anahtar serbest kalırsa tekrar iki kez uygulanır
+        assertThrows(ServiceUnavailableException.class, () -> idempotencyService.execute(1L, "key-1",
+                TransactionType.DEPOSIT, HASH, id -> {
+                    throw new ServiceUnavailableException("Ledger işlemi zaman aşımına uğradı");
+                }));
+
+        verify(idempotencyRecordRepository, never()).deleteById(any());
+        verify(idempotencyRecordRepository, never()).complete(any(), any());
+    }
+
+    @Test
+    void execute_ShouldTakeOverReservation_WhenItIsStale() {
+        ReflectionTestUtils.setField(idempotencyService, "reservationTimeoutSeconds", 600L);
+        IdempotencyRecord stale = record(null);
+        stale.setCreatedAt(LocalDateTime.now().minusMinutes(11));
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(stale));
+        when(idempotencyRecordRepository.deleteStaleReservation(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(inv -> withId(inv.getArgument(0)));
+
+        assertSame(transaction, idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation));
+
+        assertEquals(1, calls.get());
+        assertEquals(1L, reservationId);
+    }
+
+    @Test
+    void execute_ShouldThrowConflict_WhenReservationIsNotStaleYet() {
+        ReflectionTestUtils.setField(idempotencyService, "reservationTimeoutSeconds", 600L);
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(record(null)));
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute(1L, "key-1", TransactionType.DEPOSIT, HASH, operation));
+
+        assertEquals(0, calls.get());
+        verify(idempotencyRecordRepository, never()).deleteStaleReservation(any(), any());
+    }
+
+    @Test
+    void execute_ShouldRejectKeyReusedForOtherOperation() {
+        when(idempotencyRecordRepository.findByCustomerIdAndIdempotencyKey(1L, "key-1"))
+                .thenReturn(Optional.of(record(10L)));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute(1L, "key-1", TransactionType.WITHDRAW, HASH, operation));
+
+        assertEquals("Idempotency-Key başka bir işlem için kullanılmış", exception.getMessage());
+    }
+
+    @Test
+    void execute_ShouldRejectTooLongKey() {
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        assertThrows(BadRequestException.class,
+                () -> idempotencyService.execute(1L, key, TransactionType.DEPOSIT, HASH, operation));
+        assertEquals(0, calls.get());
+    }
+
+    private static IdempotencyRecord withId(IdempotencyRecord r) {
+        r.setId(1L);
+        return r;
+    }
+
+    private static IdempotencyRecord record(Long transactionId) {
+        return new IdempotencyRecord(1L, 1L, "key-1", TransactionType.DEPOSIT, HASH, transactionId,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,34 @@
+package com.furkan.digitalWallet.service;
+
+import com.furkan.digitalWallet.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionCursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"));
+        assertEquals(cursor, TransactionCursor.decode(encoded));
+    }
+
+    @Test
+    void decode_ShouldThrowBadRequest_WhenMalformed() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2025-01-02T03:04:05".getBytes());
+        String badId = Base64.getUrlEncoder().encodeToString("2025-01-02T03:04:05|x".getBytes());
+
+        assertThrows(BadRequestException.class, () -> TransactionCursor.decode("%%%"));
+        assertThrows(BadRequestException.class, () -> TransactionCursor.decode(noSeparator));
+        assertThrows(BadRequestException.class, () -> TransactionCursor.decode(badId));
+    }
+}
@@ -0,0 +1,92 @@
+package com.furkan.digitalWallet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.furkan.digitalWallet.enums.ExportFormat;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.TransactionStatus;
+import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.response.TransactionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private TransactionExportService exportService;
+    private TransactionView first;
+    private TransactionView second;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new TransactionExportService(transactionRepository, objectMapper);
+
+        first = transaction(1L, "TR1", TransactionType.DEPOSIT, Money.ofMinor(1050));
+        second = transaction(2L, "Market, \"A\"", TransactionType.WITHDRAW, Money.ofMajor(20));
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonObjectPerLine_AndCloseStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(transactionRepository.streamByWalletId(1L))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(1L, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"amount\":10.50,"));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void export_ShouldWriteCsvWithHeaderAndQuotedFields() throws Exception {
+        when(transactionRepository.streamByWalletId(1L)).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(1L, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(TransactionExportService.CSV_HEADER, lines[0]);
+        assertEquals("1,2025-01-02T03:04:05,,DEPOSIT,APPROVED,10.50,IBAN,TR1", lines[1]);
+        assertEquals("2,2025-01-02T03:04:05,,WITHDRAW,APPROVED,20.00,IBAN,\"Market, \"\"A\"\"\"", lines[2]);
+    }
+
+    @Test
+    void export_ShouldWriteNothing_WhenWalletHasNoHistory() throws Exception {
+        when(transactionRepository.streamByWalletId(1L)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, exportService.export(1L, ExportFormat.NDJSON, out));
+        assertEquals(0, out.size());
+    }
+
+    private static TransactionView transaction(Long id, String oppositeParty, TransactionType type, Money amount) {
+        return new TransactionView(id, amount, type, OppositePartyType.IBAN, oppositeParty, TransactionStatus.APPROVED,
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5), null);
+    }
+}
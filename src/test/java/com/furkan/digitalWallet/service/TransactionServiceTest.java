@@ -1,27 +1,43 @@
 package com.furkan.digitalWallet.service;
 
-import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Transaction;
 import com.furkan.digitalWallet.entity.Wallet;
+import com.furkan.digitalWallet.enums.Currency;
+import com.furkan.digitalWallet.enums.OppositePartyType;
+import com.furkan.digitalWallet.enums.PendingSort;
+import com.furkan.digitalWallet.enums.Role;
 import com.furkan.digitalWallet.enums.TransactionStatus;
 import com.furkan.digitalWallet.enums.TransactionType;
+import com.furkan.digitalWallet.event.TransactionSavedEvent;
 import com.furkan.digitalWallet.exception.BadRequestException;
+import com.furkan.digitalWallet.exception.ConflictException;
 import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.money.Money;
+import com.furkan.digitalWallet.repository.IdempotencyRecordRepository;
 import com.furkan.digitalWallet.repository.TransactionRepository;
+import com.furkan.digitalWallet.request.BatchTransactionItem;
 import com.furkan.digitalWallet.request.DepositRequest;
 import com.furkan.digitalWallet.request.TransactionDecisionRequest;
 import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.response.BatchItemResult;
+import com.furkan.digitalWallet.response.TransactionPage;
+import com.furkan.digitalWallet.response.TransactionView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,37 +46,47 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
 
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
     @Mock
     private WalletService walletService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private TransactionService transactionService;
 
     private Transaction transaction;
     private Wallet wallet;
-    private Customer customer;
+    private CustomerPrincipal customer;
     private TransactionDecisionRequest decisionRequest;
     private DepositRequest depositRequest;
     private WithdrawRequest withdrawRequest;
 
     @BeforeEach
     void setUp() {
-        customer = new Customer();
-        customer.setId(1L);
-        customer.setUsername("testuser");
+        customer = new CustomerPrincipal(1L, "testuser", Role.CUSTOMER);
 
         wallet = new Wallet();
         wallet.setId(1L);
-        wallet.setBalance(BigDecimal.valueOf(1000));
-        wallet.setUsableBalance(BigDecimal.valueOf(800));
+        wallet.setCurrency(Currency.TRY);
+        wallet.setBalance(Money.ofMajor(1000));
+        wallet.setUsableBalance(Money.ofMajor(800));
 
         transaction = new Transaction();
         transaction.setId(1L);
         transaction.setWallet(wallet);
-        transaction.setAmount(BigDecimal.valueOf(500));
+        transaction.setAmount(Money.ofMajor(500));
         transaction.setStatus(TransactionStatus.PENDING);
         transaction.setCreatedAt(LocalDateTime.now());
 
@@ -189,11 +215,37 @@ class TransactionServiceTest {
         when(walletService.processDeposit(depositRequest, customer)).thenReturn(wallet);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
-        Transaction result = transactionService.deposit(depositRequest, customer);
+        Transaction result = transactionService.deposit(depositRequest, customer, null);
 
         assertNotNull(result);
         verify(walletService).processDeposit(depositRequest, customer);
         verify(transactionRepository).save(any(Transaction.class));
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void deposit_ShouldCompleteIdempotencyKeyInSameTransaction_WhenReservationGiven() {
+        depositRequest.setAmount(BigDecimal.ONE);
+        transaction.setId(10L);
+        when(walletService.processDeposit(depositRequest, customer)).thenReturn(wallet);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+        when(idempotencyRecordRepository.complete(5L, 10L)).thenReturn(1);
+
+        assertSame(transaction, transactionService.deposit(depositRequest, customer, 5L));
+
+        verify(idempotencyRecordRepository).complete(5L, 10L);
+    }
+
+    @Test
+    void withdraw_ShouldThrowConflict_WhenReservationWasTakenOver() {
+        withdrawRequest.setAmount(BigDecimal.ONE);
+        transaction.setId(10L);
+        when(walletService.processWithdraw(withdrawRequest, customer)).thenReturn(wallet);
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+        when(idempotencyRecordRepository.complete(5L, 10L)).thenReturn(0);
+
+        // Transaction geri alınır; rezervasyonu devralan istek işlemi kendisi oluşturur
+        assertThrows(ConflictException.class, () -> transactionService.withdraw(withdrawRequest, customer, 5L));
     }
 
     @Test
@@ -202,7 +254,7 @@ class TransactionServiceTest {
         when(walletService.processWithdraw(withdrawRequest, customer)).thenReturn(wallet);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
-        Transaction result = transactionService.withdraw(withdrawRequest, customer);
+        Transaction result = transactionService.withdraw(withdrawRequest, customer, null);
 
         assertNotNull(result);
         verify(walletService).processWithdraw(withdrawRequest, customer);
@@ -210,16 +262,212 @@ class TransactionServiceTest {
     }
 
     @Test
-    void listTransactions_ShouldReturnTransactions_WhenValidWalletId() {
-        List<Transaction> transactions = Collections.singletonList(transaction);
+    void batch_ShouldApplyNetChangePerWalletAndReportItemFailures() {
+        when(walletService.lockWalletForAccess(1L, customer)).thenReturn(wallet);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        List<BatchTransactionItem> items = List.of(
+                batchItem(TransactionType.DEPOSIT, 1L, "100"),
+                batchItem(TransactionType.WITHDRAW, 1L, "2000"),
+                batchItem(TransactionType.WITHDRAW, 1L, "50"));
+
+        List<BatchItemResult> results = transactionService.batch(items, customer);
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Yetersiz kullanılabilir bakiye", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(TransactionType.WITHDRAW, results.get(2).getTransaction().getType());
+        verify(walletService).applyBalanceChange(wallet, Money.ofMajor(50), Money.ofMajor(50));
+        verify(transactionRepository).saveAll(argThat(rows -> ((List<Transaction>) rows).size() == 2));
+    }
+
+    @Test
+    void batch_ShouldFailOnlyAffectedWalletGroup_WhenWalletIsNotAccessible() {
+        when(walletService.lockWalletForAccess(1L, customer)).thenReturn(wallet);
+        when(walletService.lockWalletForAccess(2L, customer))
+                .thenThrow(new BadRequestException("Bu cüzdana erişim yetkiniz yok"));
+        when(transactionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        List<BatchTransactionItem> items = List.of(
+                batchItem(TransactionType.DEPOSIT, 2L, "10"),
+                batchItem(TransactionType.DEPOSIT, 1L, "1500"),
+                batchItem(TransactionType.WITHDRAW, 2L, "10"));
+
+        List<BatchItemResult> results = transactionService.batch(items, customer);
+
+        assertEquals("Bu cüzdana erişim yetkiniz yok", results.get(0).getError());
+        assertEquals("Bu cüzdana erişim yetkiniz yok", results.get(2).getError());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(TransactionStatus.PENDING, results.get(1).getTransaction().getStatus());
+        verify(walletService).applyBalanceChange(wallet, Money.ofMajor(1500), Money.ZERO);
+    }
+
+    @Test
+    void decideAll_ShouldApplyOneBalanceChangePerWallet_AndReportSkippedIds() {
+        transaction.setType(TransactionType.DEPOSIT);
+        Transaction second = new Transaction();
+        second.setId(2L);
+        second.setWallet(wallet);
+        second.setType(TransactionType.WITHDRAW);
+        second.setAmount(Money.ofMajor(1200));
+        second.setStatus(TransactionStatus.PENDING);
+        Transaction approved = new Transaction();
+        approved.setId(3L);
+        approved.setWallet(wallet);
+        approved.setStatus(TransactionStatus.APPROVED);
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        when(transactionRepository.findAllWithWalletByIdIn(ids)).thenReturn(List.of(transaction, second, approved));
+
+        Map<Long, String> failures = transactionService.decideAll(ids, TransactionStatus.APPROVED);
+
+        assertEquals(Map.of(3L, "Sadece bekleyen işlemler onay/ret edilebilir", 4L, "İşlem bulunamadı"), failures);
+        assertEquals(TransactionStatus.APPROVED, transaction.getStatus());
+        assertEquals(TransactionStatus.APPROVED, second.getStatus());
+        assertNotNull(second.getUpdatedAt());
+        verify(walletService).applyDecisions(wallet, List.of(transaction, second), TransactionStatus.APPROVED);
+        verify(eventPublisher, times(2)).publishEvent(any(TransactionSavedEvent.class));
+    }
+
+    @Test
+    void decideAll_ShouldThrowBadRequestException_WhenStatusIsPending() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> transactionService.decideAll(List.of(1L), TransactionStatus.PENDING));
+
+        assertEquals("Geçersiz durum", exception.getMessage());
+        verifyNoInteractions(transactionRepository, walletService);
+    }
+
+    @Test
+    void listTransactions_ShouldReturnLastPageWithoutCursor_WhenFewerRowsThanLimit() {
+        List<TransactionView> transactions = Collections.singletonList(view(1L, NOW, Money.ofMajor(100)));
         when(walletService.getWalletForAccess(1L, customer)).thenReturn(wallet);
-        when(transactionRepository.findByWalletOrderByCreatedAtDesc(wallet)).thenReturn(transactions);
+        when(transactionRepository.findFirstPage(1L, Limit.of(3))).thenReturn(transactions);
 
-        List<Transaction> result = transactionService.listTransactions(1L, customer);
+        TransactionPage result = transactionService.listTransactions(1L, null, 2, customer);
 
-        assertEquals(transactions, result);
+        assertEquals(transactions, result.getItems());
+        assertNull(result.getNextCursor());
         verify(walletService).getWalletForAccess(1L, customer);
-        verify(transactionRepository).findByWalletOrderByCreatedAtDesc(wallet);
+    }
+
+    @Test
+    void listTransactions_ShouldReturnCursorOfLastItem_AndContinueFromIt() {
+        TransactionView newest = view(1L, NOW, Money.ofMajor(100));
+        TransactionView older = view(2L, NOW.minusSeconds(1), Money.ofMajor(100));
+        when(walletService.getWalletForAccess(1L, customer)).thenReturn(wallet);
+        when(transactionRepository.findFirstPage(1L, Limit.of(2))).thenReturn(List.of(newest, older));
+
+        TransactionPage first = transactionService.listTransactions(1L, null, 1, customer);
+
+        assertEquals(List.of(newest), first.getItems());
+        assertNotNull(first.getNextCursor());
+
+        when(transactionRepository.findPageAfter(1L, NOW, 1L, Limit.of(2)))
+                .thenReturn(List.of(older));
+
+        TransactionPage second = transactionService.listTransactions(1L, first.getNextCursor(), 1, customer);
+
+        assertEquals(List.of(older), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void listTransactions_ShouldThrowBadRequestException_WhenCursorIsInvalid() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> transactionService.listTransactions(1L, "not-a-cursor", 10, customer));
+
+        assertEquals("Geçersiz cursor", exception.getMessage());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void listTransactions_ShouldThrowBadRequestException_WhenLimitOutOfRange() {
+        assertThrows(BadRequestException.class,
+                () -> transactionService.listTransactions(1L, null, TransactionService.MAX_PAGE_SIZE + 1, customer));
+        assertThrows(BadRequestException.class, () -> transactionService.listTransactions(1L, null, 0, customer));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void listPending_ShouldPageOldestFirst_AndContinueFromCursor() {
+        TransactionView oldest = view(1L, NOW, Money.ofMajor(1500));
+        TransactionView newer = view(2L, NOW.plusSeconds(1), Money.ofMajor(1500));
+        Money min = Money.ofMajor(1000);
+        when(transactionRepository.findQueueByAge(TransactionStatus.PENDING, Currency.TRY, min, null, Limit.of(2)))
+                .thenReturn(List.of(oldest, newer));
+
+        TransactionPage first = transactionService.listPending(Currency.TRY, new BigDecimal("1000"), null,
+                PendingSort.AGE, null, 1);
+
+        assertEquals(List.of(oldest), first.getItems());
+        assertNotNull(first.getNextCursor());
+
+        when(transactionRepository.findQueueByAgeAfter(TransactionStatus.PENDING, Currency.TRY, min, null,
+                NOW, 1L, Limit.of(2))).thenReturn(List.of(newer));
+
+        TransactionPage second = transactionService.listPending(Currency.TRY, new BigDecimal("1000"), null,
+                PendingSort.AGE, first.getNextCursor(), 1);
+
+        assertEquals(List.of(newer), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void listPending_ShouldPageLargestAmountFirst_AndContinueFromCursor() {
+        TransactionView largest = view(1L, NOW, Money.ofMajor(5000));
+        TransactionView smaller = view(2L, NOW, Money.ofMajor(2000));
+        when(transactionRepository.findQueueByAmount(TransactionStatus.PENDING, Currency.USD, null, null, Limit.of(2)))
+                .thenReturn(List.of(largest, smaller));
+
+        TransactionPage first = transactionService.listPending(Currency.USD, null, null, PendingSort.AMOUNT, null, 1);
+
+        assertEquals(List.of(largest), first.getItems());
+
+        when(transactionRepository.findQueueByAmountAfter(TransactionStatus.PENDING, Currency.USD, null, null,
+                Money.ofMajor(5000), 1L, Limit.of(2))).thenReturn(List.of(smaller));
+
+        TransactionPage second = transactionService.listPending(Currency.USD, null, null, PendingSort.AMOUNT,
+                first.getNextCursor(), 1);
+
+        assertEquals(List.of(smaller), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void listPending_ShouldThrowBadRequestException_WhenAmountBandIsInverted() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> transactionService.listPending(Currency.TRY, BigDecimal.TEN, BigDecimal.ONE, PendingSort.AGE,
+                        null, 10));
+
+        assertEquals("Geçersiz tutar aralığı", exception.getMessage());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void listPending_ShouldThrowBadRequestException_WhenAmountIsUsedWithoutCurrency() {
+        assertThrows(BadRequestException.class,
+                () -> transactionService.listPending(null, BigDecimal.TEN, null, PendingSort.AGE, null, 10));
+        assertThrows(BadRequestException.class,
+                () -> transactionService.listPending(null, null, null, PendingSort.AMOUNT, null, 10));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void listPending_ShouldThrowBadRequestException_WhenCursorBelongsToOtherSort() {
+        String ageCursor = TransactionCursor.of(view(1L, NOW, Money.ofMajor(1500))).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> transactionService.listPending(Currency.TRY, null, null, PendingSort.AMOUNT, ageCursor, 10));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void listPending_ShouldThrowBadRequestException_WhenAmountCursorBelongsToOtherCurrency() {
+        String usdCursor = AmountCursor.of(Currency.USD, view(1L, NOW, Money.ofMajor(1500))).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> transactionService.listPending(Currency.TRY, null, null, PendingSort.AMOUNT, usdCursor, 10));
+        verifyNoInteractions(transactionRepository);
     }
 
     @Test
@@ -242,4 +490,19 @@ class TransactionServiceTest {
         assertEquals("İşlem bulunamadı", exception.getMessage());
         verify(transactionRepository).findById(1L);
     }
+
+    private BatchTransactionItem batchItem(TransactionType type, Long walletId, String amount) {
+        BatchTransactionItem item = new BatchTransactionItem();
+        item.setType(type);
+        item.setWalletId(walletId);
+        item.setAmount(new BigDecimal(amount));
+        item.setOppositePartyType(OppositePartyType.IBAN);
+        item.setOppositeParty("TR123");
+        return item;
+    }
+
+    private static TransactionView view(Long id, LocalDateTime createdAt, Money amount) {
+        return new TransactionView(id, amount, TransactionType.DEPOSIT, OppositePartyType.IBAN, "TR1",
+                TransactionStatus.PENDING, createdAt, null);
+    }
 }
@@ -4,14 +4,20 @@ import com.furkan.digitalWallet.entity.Customer;
 import com.furkan.digitalWallet.entity.Transaction;
 import com.furkan.digitalWallet.entity.Wallet;
 import com.furkan.digitalWallet.enums.*;
+import com.furkan.digitalWallet.event.BalanceChangedEvent;
 import com.furkan.digitalWallet.exception.BadRequestException;
 import com.furkan.digitalWallet.exception.NotFoundException;
+import com.furkan.digitalWallet.exception.RejectionReason;
+import com.furkan.digitalWallet.money.Money;
 import com.furkan.digitalWallet.repository.CustomerRepository;
 import com.furkan.digitalWallet.repository.WalletRepository;
 import com.furkan.digitalWallet.request.DepositRequest;
 import com.furkan.digitalWallet.request.WalletCreateRequest;
 import com.furkan.digitalWallet.request.WithdrawRequest;
+import com.furkan.digitalWallet.response.WalletView;
+import com.furkan.digitalWallet.security.CustomerPrincipal;
 import com.furkan.digitalWallet.security.SecurityUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,9 +25,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,11 +44,18 @@ class WalletServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private WalletService walletService;
 
     private Customer customer;
-    private Customer employee;
+    private CustomerPrincipal acting;
+    private CustomerPrincipal employee;
     private Wallet wallet;
     private WalletCreateRequest walletCreateRequest;
     private DepositRequest depositRequest;
@@ -55,18 +69,16 @@ class WalletServiceTest {
         customer.setUsername("customer");
         customer.setRole(Role.CUSTOMER);
 
-        employee = new Customer();
-        employee.setId(2L);
-        employee.setUsername("employee");
-        employee.setRole(Role.EMPLOYEE);
+        acting = new CustomerPrincipal(1L, "customer", Role.CUSTOMER);
+        employee = new CustomerPrincipal(2L, "employee", Role.EMPLOYEE);
 
         wallet = new Wallet();
         wallet.setId(1L);
         wallet.setCustomer(customer);
         wallet.setWalletName("Main Wallet");
         wallet.setCurrency(Currency.TRY);
-        wallet.setBalance(BigDecimal.valueOf(1000));
-        wallet.setUsableBalance(BigDecimal.valueOf(1000));
+        wallet.setBalance(Money.ofMajor(1000));
+        wallet.setUsableBalance(Money.ofMajor(1000));
         wallet.setActiveForShopping(true);
         wallet.setActiveForWithdraw(true);
 
@@ -91,7 +103,7 @@ class WalletServiceTest {
         transaction = new Transaction();
         transaction.setId(1L);
         transaction.setWallet(wallet);
-        transaction.setAmount(BigDecimal.valueOf(500));
+        transaction.setAmount(Money.ofMajor(500));
         transaction.setType(TransactionType.DEPOSIT);
         transaction.setStatus(TransactionStatus.PENDING);
     }
@@ -99,19 +111,19 @@ class WalletServiceTest {
     @Test
     void createWallet_ShouldCreateWallet_WhenValidRequest() {
         when(customerRepository.existsById(1L)).thenReturn(true);
-        when(walletRepository.existsByCustomerIdAndWalletNameIgnoreCase(1L, "Test Wallet")).thenReturn(false);
+        when(walletRepository.existsByCustomerIdAndWalletNameNormalized(1L, "test wallet")).thenReturn(false);
         when(customerRepository.getReferenceById(1L)).thenReturn(customer);
-        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+        when(walletRepository.saveAndFlush(any(Wallet.class))).thenReturn(wallet);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            Wallet result = walletService.createWallet(walletCreateRequest, customer);
+            Wallet result = walletService.createWallet(walletCreateRequest, acting);
 
             assertNotNull(result);
             verify(customerRepository).existsById(1L);
-            verify(walletRepository).existsByCustomerIdAndWalletNameIgnoreCase(1L, "Test Wallet");
-            verify(walletRepository).save(any(Wallet.class));
+            verify(walletRepository).existsByCustomerIdAndWalletNameNormalized(1L, "test wallet");
+            verify(walletRepository).saveAndFlush(any(Wallet.class));
         }
     }
 
@@ -119,9 +131,9 @@ class WalletServiceTest {
     void createWallet_ShouldCreateWalletForSpecificCustomer_WhenEmployeeRequest() {
         walletCreateRequest.setCustomerId(1L);
         when(customerRepository.existsById(1L)).thenReturn(true);
-        when(walletRepository.existsByCustomerIdAndWalletNameIgnoreCase(1L, "Test Wallet")).thenReturn(false);
+        when(walletRepository.existsByCustomerIdAndWalletNameNormalized(1L, "test wallet")).thenReturn(false);
         when(customerRepository.getReferenceById(1L)).thenReturn(customer);
-        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+        when(walletRepository.saveAndFlush(any(Wallet.class))).thenReturn(wallet);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(true);
@@ -130,7 +142,7 @@ class WalletServiceTest {
 
             assertNotNull(result);
             verify(customerRepository).existsById(1L);
-            verify(walletRepository).save(any(Wallet.class));
+            verify(walletRepository).saveAndFlush(any(Wallet.class));
         }
     }
 
@@ -142,7 +154,7 @@ class WalletServiceTest {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
             NotFoundException exception = assertThrows(NotFoundException.class,
-                    () -> walletService.createWallet(walletCreateRequest, customer));
+                    () -> walletService.createWallet(walletCreateRequest, acting));
 
             assertEquals("Müşteri bulunamadı: 1", exception.getMessage());
         }
@@ -151,27 +163,44 @@ class WalletServiceTest {
     @Test
     void createWallet_ShouldThrowBadRequestException_WhenWalletNameExists() {
         when(customerRepository.existsById(1L)).thenReturn(true);
-        when(walletRepository.existsByCustomerIdAndWalletNameIgnoreCase(1L, "Test Wallet")).thenReturn(true);
+        when(walletRepository.existsByCustomerIdAndWalletNameNormalized(1L, "test wallet")).thenReturn(true);
+
+        try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
+            securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
+
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                    () -> walletService.createWallet(walletCreateRequest, acting));
+
+            assertEquals("Aynı isimde cüzdan mevcut", exception.getMessage());
+        }
+    }
+
+    @Test
+    void createWallet_ShouldThrowBadRequestException_WhenSameNameInsertedConcurrently() {
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(walletRepository.saveAndFlush(any(Wallet.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_wallets_customer_name"));
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
             BadRequestException exception = assertThrows(BadRequestException.class,
-                    () -> walletService.createWallet(walletCreateRequest, customer));
+                    () -> walletService.createWallet(walletCreateRequest, acting));
 
             assertEquals("Aynı isimde cüzdan mevcut", exception.getMessage());
+            verifyNoInteractions(eventPublisher);
         }
     }
 
     @Test
     void listWallets_ShouldReturnWallets_WhenNoFilters() {
-        List<Wallet> wallets = Arrays.asList(wallet);
+        List<WalletView> wallets = List.of(view(wallet));
         when(walletRepository.findByCustomerId(1L)).thenReturn(wallets);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            List<Wallet> result = walletService.listWallets(null, null, customer);
+            List<WalletView> result = walletService.listWallets(null, null, acting);
 
             assertNotNull(result);
             assertEquals(1, result.size());
@@ -181,13 +210,13 @@ class WalletServiceTest {
 
     @Test
     void listWallets_ShouldReturnFilteredWallets_WhenCurrencyProvided() {
-        List<Wallet> wallets = Arrays.asList(wallet);
+        List<WalletView> wallets = List.of(view(wallet));
         when(walletRepository.findByCustomerIdAndCurrency(1L, Currency.TRY)).thenReturn(wallets);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            List<Wallet> result = walletService.listWallets(null, Currency.TRY, customer);
+            List<WalletView> result = walletService.listWallets(null, Currency.TRY, acting);
 
             assertNotNull(result);
             assertEquals(1, result.size());
@@ -197,13 +226,13 @@ class WalletServiceTest {
 
     @Test
     void listWallets_ShouldReturnWalletsForSpecificCustomer_WhenEmployeeRequest() {
-        List<Wallet> wallets = Arrays.asList(wallet);
+        List<WalletView> wallets = List.of(view(wallet));
         when(walletRepository.findByCustomerId(1L)).thenReturn(wallets);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(true);
 
-            List<Wallet> result = walletService.listWallets(1L, null, employee);
+            List<WalletView> result = walletService.listWallets(1L, null, employee);
 
             assertNotNull(result);
             assertEquals(1, result.size());
@@ -214,16 +243,19 @@ class WalletServiceTest {
     @Test
     void processDeposit_ShouldUpdateWalletBalance_WhenAmountUnder1000() {
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
-        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+        when(walletRepository.adjustBalances(1L, Money.ofMajor(500), Money.ofMajor(500))).thenReturn(1);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            Wallet result = walletService.processDeposit(depositRequest, customer);
+            Wallet result = walletService.processDeposit(depositRequest, acting);
 
-            assertNotNull(result);
+            assertSame(wallet, result);
             verify(walletRepository).findById(1L);
-            verify(walletRepository).save(wallet);
+            verify(walletRepository).adjustBalances(1L, Money.ofMajor(500), Money.ofMajor(500));
+            verify(walletRepository, never()).save(any(Wallet.class));
+            // UPDATE sonrası bakiye ve versiyon veritabanından okunur
+            verify(entityManager).refresh(wallet);
         }
     }
 
@@ -231,30 +263,90 @@ class WalletServiceTest {
     void processDeposit_ShouldUpdateOnlyBalance_WhenAmountOver1000() {
         depositRequest.setAmount(BigDecimal.valueOf(1500));
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
-        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+        when(walletRepository.adjustBalances(1L, Money.ofMajor(1500), Money.ZERO)).thenReturn(1);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            Wallet result = walletService.processDeposit(depositRequest, customer);
+            Wallet result = walletService.processDeposit(depositRequest, acting);
 
             assertNotNull(result);
-            verify(walletRepository).save(wallet);
+            verify(walletRepository).adjustBalances(1L, Money.ofMajor(1500), Money.ZERO);
         }
     }
 
+    @Test
+    void processDeposit_ShouldThrowBadRequestException_WhenAmountHasTooManyFractionDigits() {
+        depositRequest.setAmount(new BigDecimal("10.005"));
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+
+        try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
+            securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
+
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                    () -> walletService.processDeposit(depositRequest, acting));
+
+            assertEquals("Geçersiz tutar", exception.getMessage());
+            verify(walletRepository, never()).adjustBalances(any(), any(), any());
+        }
+    }
+
+    @Test
+    void lockWalletForAccess_ShouldThrowBadRequestException_WhenNotOwner() {
+        CustomerPrincipal other = new CustomerPrincipal(2L, "other", Role.CUSTOMER);
+        when(walletRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(wallet));
+
+        try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
+            securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
+
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                    () -> walletService.lockWalletForAccess(1L, other));
+
+            assertEquals("Bu cüzdana erişim yetkiniz yok", exception.getMessage());
+        }
+    }
+
+    @Test
+    void applyBalanceChange_ShouldAddNetChangeToLockedWallet() {
+        when(walletRepository.save(wallet)).thenReturn(wallet);
+
+        walletService.applyBalanceChange(wallet, Money.ofMajor(50), Money.ofMajor(-20));
+
+        assertEquals(Money.ofMajor(1050), wallet.getBalance());
+        assertEquals(Money.ofMajor(980), wallet.getUsableBalance());
+        verify(walletRepository).save(wallet);
+    }
+
     @Test
     void processWithdraw_ShouldUpdateWalletBalance_WhenValidRequest() {
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
-        when(walletRepository.save(any(Wallet.class))).thenReturn(wallet);
+        when(walletRepository.debitIfSufficient(1L, Money.ofMajor(300), Money.ofMajor(300))).thenReturn(1);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            Wallet result = walletService.processWithdraw(withdrawRequest, customer);
+            Wallet result = walletService.processWithdraw(withdrawRequest, acting);
+
+            assertSame(wallet, result);
+            verify(walletRepository).debitIfSufficient(1L, Money.ofMajor(300), Money.ofMajor(300));
+            verify(walletRepository, never()).save(any(Wallet.class));
+            verify(entityManager).refresh(wallet);
+        }
+    }
+
+    @Test
+    void processWithdraw_ShouldDebitOnlyUsableBalance_WhenAmountOver1000() {
+        withdrawRequest.setAmount(BigDecimal.valueOf(1200));
+        when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.debitIfSufficient(1L, Money.ofMajor(1200), Money.ZERO)).thenReturn(1);
+
+        try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
+            securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
+
+            Wallet result = walletService.processWithdraw(withdrawRequest, acting);
 
             assertNotNull(result);
-            verify(walletRepository).save(wallet);
+            verify(walletRepository).debitIfSufficient(1L, Money.ofMajor(1200), Money.ZERO);
         }
     }
 
@@ -262,14 +354,16 @@ class WalletServiceTest {
     void processWithdraw_ShouldThrowBadRequestException_WhenInsufficientBalance() {
         withdrawRequest.setAmount(BigDecimal.valueOf(1500));
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
+        when(walletRepository.debitIfSufficient(1L, Money.ofMajor(1500), Money.ZERO)).thenReturn(0);
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
             BadRequestException exception = assertThrows(BadRequestException.class,
-                    () -> walletService.processWithdraw(withdrawRequest, customer));
+                    () -> walletService.processWithdraw(withdrawRequest, acting));
 
             assertEquals("Yetersiz kullanılabilir bakiye", exception.getMessage());
+            assertEquals(RejectionReason.INSUFFICIENT_BALANCE, exception.getReason());
         }
     }
 
@@ -283,9 +377,10 @@ class WalletServiceTest {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
             BadRequestException exception = assertThrows(BadRequestException.class,
-                    () -> walletService.processWithdraw(withdrawRequest, customer));
+                    () -> walletService.processWithdraw(withdrawRequest, acting));
 
             assertEquals("Cüzdan alışverişe kapalı", exception.getMessage());
+            assertEquals(RejectionReason.SHOPPING_CLOSED, exception.getReason());
         }
     }
 
@@ -309,6 +404,28 @@ class WalletServiceTest {
         verify(walletRepository).save(wallet);
     }
 
+    @Test
+    void applyDecisions_ShouldApplyNetChangeOfAllDecisions() {
+        transaction.setType(TransactionType.DEPOSIT);
+        transaction.setAmount(Money.ofMajor(1500));
+        Transaction withdraw = new Transaction();
+        withdraw.setWallet(wallet);
+        withdraw.setType(TransactionType.WITHDRAW);
+        withdraw.setAmount(Money.ofMajor(1200));
+        Money balance = wallet.getBalance();
+        Money usableBalance = wallet.getUsableBalance();
+        when(walletRepository.save(wallet)).thenReturn(wallet);
+
+        walletService.applyDecisions(wallet, List.of(transaction, withdraw), TransactionStatus.DENIED);
+
+        // Deposit red: balance -1500, withdraw red: usable +1200
+        assertEquals(balance.minus(Money.ofMajor(1500)), wallet.getBalance());
+        assertEquals(usableBalance.plus(Money.ofMajor(1200)), wallet.getUsableBalance());
+        verify(walletRepository).save(wallet);
+        verify(eventPublisher).publishEvent(
+                new BalanceChangedEvent(wallet.getId(), Money.ofMajor(-1500), Money.ofMajor(1200)));
+    }
+
     @Test
     void getWalletForAccess_ShouldReturnWallet_WhenOwnerAccess() {
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
@@ -316,7 +433,7 @@ class WalletServiceTest {
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
             securityUtil.when(() -> SecurityUtil.hasRole("EMPLOYEE")).thenReturn(false);
 
-            Wallet result = walletService.getWalletForAccess(1L, customer);
+            Wallet result = walletService.getWalletForAccess(1L, acting);
 
             assertEquals(wallet, result);
             verify(walletRepository).findById(1L);
@@ -339,8 +456,7 @@ class WalletServiceTest {
 
     @Test
     void getWalletForAccess_ShouldThrowBadRequestException_WhenUnauthorizedAccess() {
-        Customer anotherCustomer = new Customer();
-        anotherCustomer.setId(999L);
+        CustomerPrincipal anotherCustomer = new CustomerPrincipal(999L, "another", Role.CUSTOMER);
         when(walletRepository.findById(1L)).thenReturn(Optional.of(wallet));
 
         try (MockedStatic<SecurityUtil> securityUtil = mockStatic(SecurityUtil.class)) {
@@ -358,9 +474,14 @@ class WalletServiceTest {
         when(walletRepository.findById(1L)).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
-                () -> walletService.getWalletForAccess(1L, customer));
+                () -> walletService.getWalletForAccess(1L, acting));
 
         assertEquals("Cüzdan bulunamadı", exception.getMessage());
         verify(walletRepository).findById(1L);
     }
+
+    private static WalletView view(Wallet w) {
+        return new WalletView(w.getId(), w.getWalletName(), w.getCurrency(), w.getActiveForShopping(),
+                w.getActiveForWithdraw(), w.getBalance(), w.getUsableBalance(), w.getCreatedAt());
+    }
 }